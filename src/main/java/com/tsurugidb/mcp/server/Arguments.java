@@ -16,6 +16,7 @@
 package com.tsurugidb.mcp.server;
 
 import java.net.URI;
+import java.nio.file.Path;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -28,9 +29,19 @@ import com.beust.jcommander.ParameterException;
 
 public class Arguments {
 
-    private URI connectionUri;
+    public static final String READ_BALANCE_ROUND_ROBIN = "round-robin";
+    public static final String READ_BALANCE_LEAST_LOADED = "least-loaded";
+
+    private List<URI> connectionUriList;
     private String connectionLabel = TsurugiMcpServer.SERVER_NAME;
     private long connectionTimeout = 30;
+    private String readBalance = READ_BALANCE_ROUND_ROBIN;
+    private int poolMaxSize = 16;
+    private long poolAcquireTimeout = 30;
+    private int poolMinIdle = 0;
+    private long poolMaxIdleTime = 600;
+    private long poolMaintenanceInterval = 30;
+    private int statementCacheSize = 32;
     private String user;
     private String password;
     private String authToken;
@@ -39,7 +50,22 @@ public class Arguments {
     private List<String> enableToolList = TsurugiMcpTool.toolNames();
     private List<String> disableToolList = new ArrayList<>();
     private boolean resourceEnable = true;
+    private long metadataCacheTtl = 60;
+    private int metadataCacheSize = 1000;
+    private long schemaIndexTtl = 300;
     private boolean promptEnable = true;
+    private long cursorIdleTimeout = 300;
+    private int cursorMaxOpen = 8;
+    private boolean queryPrefetch = false;
+    private long lobIdleTimeout = 300;
+    private long transactionIdleTimeout = 300;
+    private long sqlTimeout = 300;
+    private int retryMaxAttempts = 3;
+    private long retryInitialBackoff = 20;
+    private long retryMaxBackoff = 1000;
+    private boolean retryLtxEscalation = false;
+    private Path exportDir;
+    private Path importDir;
     private int responseLimistSize = 10 * 1024;
     private boolean printHelp;
 
@@ -48,15 +74,34 @@ public class Arguments {
     @Parameter(order = 10, //
             names = { "-c", "--connection" }, //
             arity = 1, //
-            description = "Tsurugi server endpoint URI.", //
+            description = "Tsurugi server endpoint URI. Multiple endpoints can be specified by comma separated (the first one is primary).", //
             required = true)
+    public void setConnection(String value) {
+        Objects.requireNonNull(value);
+        var list = new ArrayList<URI>();
+        for (String s : value.split(",")) {
+            String uri = s.trim();
+            if (!uri.isEmpty()) {
+                list.add(URI.create(uri));
+            }
+        }
+        if (list.isEmpty()) {
+            throw new IllegalArgumentException(MessageFormat.format("endpoint is not specified (specified: {0})", value));
+        }
+        this.connectionUriList = List.copyOf(list);
+    }
+
     public void setConnectionUri(URI uri) {
         Objects.requireNonNull(uri);
-        this.connectionUri = uri;
+        this.connectionUriList = List.of(uri);
     }
 
     public URI getConnectionUri() {
-        return connectionUri;
+        return (connectionUriList != null) ? connectionUriList.getFirst() : null;
+    }
+
+    public List<URI> getConnectionUriList() {
+        return connectionUriList;
     }
 
     @Parameter(order = 11, //
@@ -88,6 +133,123 @@ public class Arguments {
         return connectionTimeout;
     }
 
+    @Parameter(order = 13, //
+            names = { "--read-balance" }, //
+            arity = 1, //
+            description = "How to distribute RTX queries to multiple endpoints. `round-robin` or `least-loaded`.", //
+            required = false)
+    public void setReadBalance(String value) {
+        switch (value) {
+        case READ_BALANCE_ROUND_ROBIN, READ_BALANCE_LEAST_LOADED:
+            break;
+        default:
+            throw new IllegalArgumentException(MessageFormat.format("read-balance must be {0} or {1} (specified: {2})", READ_BALANCE_ROUND_ROBIN, READ_BALANCE_LEAST_LOADED, value));
+        }
+        this.readBalance = value;
+    }
+
+    public String getReadBalance() {
+        return readBalance;
+    }
+
+    // Session pool
+
+    @Parameter(order = 15, //
+            names = { "--pool-max-size" }, //
+            arity = 1, //
+            description = "Maximum number of sessions in the session pool.", //
+            required = false)
+    public void setPoolMaxSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format("pool-max-size must be > 0 (specified: {0})", size));
+        }
+        this.poolMaxSize = size;
+    }
+
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    @Parameter(order = 16, //
+            names = { "--pool-acquire-timeout" }, //
+            arity = 1, //
+            description = "Timeout to wait for a free session when all sessions are in use (in seconds).", //
+            required = false)
+    public void setPoolAcquireTimeout(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("timeout must be >= 0 (specified: {0})", value));
+        }
+        this.poolAcquireTimeout = value;
+    }
+
+    public long getPoolAcquireTimeout() {
+        return poolAcquireTimeout;
+    }
+
+    @Parameter(order = 17, //
+            names = { "--pool-min-idle" }, //
+            arity = 1, //
+            description = "Minimum number of idle sessions. These sessions are opened in parallel at startup.", //
+            required = false)
+    public void setPoolMinIdle(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("pool-min-idle must be >= 0 (specified: {0})", size));
+        }
+        this.poolMinIdle = size;
+    }
+
+    public int getPoolMinIdle() {
+        return poolMinIdle;
+    }
+
+    @Parameter(order = 18, //
+            names = { "--pool-max-idle-time" }, //
+            arity = 1, //
+            description = "Idle sessions exceeding pool-min-idle are closed after this time (in seconds). 0: never closed.", //
+            required = false)
+    public void setPoolMaxIdleTime(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("time must be >= 0 (specified: {0})", value));
+        }
+        this.poolMaxIdleTime = value;
+    }
+
+    public long getPoolMaxIdleTime() {
+        return poolMaxIdleTime;
+    }
+
+    @Parameter(order = 19, //
+            names = { "--pool-maintenance-interval" }, //
+            arity = 1, //
+            description = "Interval of the background check of idle sessions (in seconds). 0: no background check.", //
+            required = false)
+    public void setPoolMaintenanceInterval(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("interval must be >= 0 (specified: {0})", value));
+        }
+        this.poolMaintenanceInterval = value;
+    }
+
+    public long getPoolMaintenanceInterval() {
+        return poolMaintenanceInterval;
+    }
+
+    @Parameter(order = 20, //
+            names = { "--statement-cache-size" }, //
+            arity = 1, //
+            description = "Maximum number of prepared statements cached per session. 0: not cached.", //
+            required = false)
+    public void setStatementCacheSize(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("statement-cache-size must be >= 0 (specified: {0})", size));
+        }
+        this.statementCacheSize = size;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
     // Credential
 
     @Parameter(order = 21, //
@@ -224,6 +386,56 @@ public class Arguments {
         return this.resourceEnable;
     }
 
+    // Metadata
+
+    @Parameter(order = 45, //
+            names = { "--metadata-cache-ttl" }, //
+            arity = 1, //
+            description = "table names and table metadata are cached for this time (in seconds). 0: no cache.", //
+            required = false)
+    public void setMetadataCacheTtl(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("metadata-cache-ttl must be >= 0 (specified: {0})", value));
+        }
+        this.metadataCacheTtl = value;
+    }
+
+    public long getMetadataCacheTtl() {
+        return this.metadataCacheTtl;
+    }
+
+    @Parameter(order = 46, //
+            names = { "--metadata-cache-size" }, //
+            arity = 1, //
+            description = "maximum number of table metadata in the cache", //
+            required = false)
+    public void setMetadataCacheSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format("metadata-cache-size must be > 0 (specified: {0})", size));
+        }
+        this.metadataCacheSize = size;
+    }
+
+    public int getMetadataCacheSize() {
+        return this.metadataCacheSize;
+    }
+
+    @Parameter(order = 47, //
+            names = { "--schema-index-ttl" }, //
+            arity = 1, //
+            description = "the search index of searchSchema is rebuilt in background after this time (in seconds). 0: rebuilt only after DDL.", //
+            required = false)
+    public void setSchemaIndexTtl(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("schema-index-ttl must be >= 0 (specified: {0})", value));
+        }
+        this.schemaIndexTtl = value;
+    }
+
+    public long getSchemaIndexTtl() {
+        return this.schemaIndexTtl;
+    }
+
     // Prompt
 
     @Parameter(order = 51, //
@@ -239,6 +451,192 @@ public class Arguments {
         return this.promptEnable;
     }
 
+    // Query
+
+    @Parameter(order = 61, //
+            names = { "--cursor-idle-timeout" }, //
+            arity = 1, //
+            description = "Ongoing query (cursor) not continued within this time is closed (in seconds). 0: never closed.", //
+            required = false)
+    public void setCursorIdleTimeout(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("timeout must be >= 0 (specified: {0})", value));
+        }
+        this.cursorIdleTimeout = value;
+    }
+
+    public long getCursorIdleTimeout() {
+        return this.cursorIdleTimeout;
+    }
+
+    @Parameter(order = 62, //
+            names = { "--cursor-max-open" }, //
+            arity = 1, //
+            description = "Maximum number of ongoing queries (cursors). The least recently used one is closed when exceeded.", //
+            required = false)
+    public void setCursorMaxOpen(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format("cursor-max-open must be > 0 (specified: {0})", size));
+        }
+        this.cursorMaxOpen = size;
+    }
+
+    public int getCursorMaxOpen() {
+        return this.cursorMaxOpen;
+    }
+
+    @Parameter(order = 63, //
+            names = { "--query-prefetch" }, //
+            arity = 1, //
+            description = "true: Read the next page of a query in background while the client is processing the current page", //
+            required = false)
+    public void setQueryPrefetch(boolean enable) {
+        this.queryPrefetch = enable;
+    }
+
+    public boolean isQueryPrefetch() {
+        return this.queryPrefetch;
+    }
+
+    @Parameter(order = 64, //
+            names = { "--lob-idle-timeout" }, //
+            arity = 1, //
+            description = "LOB value (lob_handle) not read within this time is deleted (in seconds). 0: deleted at shutdown only.", //
+            required = false)
+    public void setLobIdleTimeout(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("timeout must be >= 0 (specified: {0})", value));
+        }
+        this.lobIdleTimeout = value;
+    }
+
+    public long getLobIdleTimeout() {
+        return this.lobIdleTimeout;
+    }
+
+    // Transaction
+
+    @Parameter(order = 70, //
+            names = { "--sql-timeout" }, //
+            arity = 1, //
+            description = "Timeout of a tool call and of each request to Tsurugi (in seconds). 0: no timeout.", //
+            required = false)
+    public void setSqlTimeout(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("timeout must be >= 0 (specified: {0})", value));
+        }
+        this.sqlTimeout = value;
+    }
+
+    public long getSqlTimeout() {
+        return this.sqlTimeout;
+    }
+
+    @Parameter(order = 71, //
+            names = { "--transaction-idle-timeout" }, //
+            arity = 1, //
+            description = "Transaction started by beginTransaction and not used within this time is rolled back (in seconds). 0: never rolled back.", //
+            required = false)
+    public void setTransactionIdleTimeout(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("timeout must be >= 0 (specified: {0})", value));
+        }
+        this.transactionIdleTimeout = value;
+    }
+
+    public long getTransactionIdleTimeout() {
+        return this.transactionIdleTimeout;
+    }
+
+    @Parameter(order = 72, //
+            names = { "--retry-max-attempts" }, //
+            arity = 1, //
+            description = "Maximum number of attempts of a transaction which fails by serialization failure. 1: no retry.", //
+            required = false)
+    public void setRetryMaxAttempts(int value) {
+        if (value <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format("retry-max-attempts must be > 0 (specified: {0})", value));
+        }
+        this.retryMaxAttempts = value;
+    }
+
+    public int getRetryMaxAttempts() {
+        return this.retryMaxAttempts;
+    }
+
+    @Parameter(order = 73, //
+            names = { "--retry-initial-backoff" }, //
+            arity = 1, //
+            description = "Backoff before the first retry (in milliseconds). It is doubled for each retry, with jitter.", //
+            required = false)
+    public void setRetryInitialBackoff(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("retry-initial-backoff must be >= 0 (specified: {0})", value));
+        }
+        this.retryInitialBackoff = value;
+    }
+
+    public long getRetryInitialBackoff() {
+        return this.retryInitialBackoff;
+    }
+
+    @Parameter(order = 74, //
+            names = { "--retry-max-backoff" }, //
+            arity = 1, //
+            description = "Maximum backoff between retries (in milliseconds).", //
+            required = false)
+    public void setRetryMaxBackoff(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(MessageFormat.format("retry-max-backoff must be >= 0 (specified: {0})", value));
+        }
+        this.retryMaxBackoff = value;
+    }
+
+    public long getRetryMaxBackoff() {
+        return this.retryMaxBackoff;
+    }
+
+    @Parameter(order = 75, //
+            names = { "--retry-ltx-escalation" }, //
+            arity = 1, //
+            description = "true: Retry OCC as LTX (query, or update with write_preserve)", //
+            required = false)
+    public void setRetryLtxEscalation(boolean enable) {
+        this.retryLtxEscalation = enable;
+    }
+
+    public boolean isRetryLtxEscalation() {
+        return this.retryLtxEscalation;
+    }
+
+    // File
+
+    @Parameter(order = 80, //
+            names = { "--export-dir" }, //
+            arity = 1, //
+            description = "Directory where exportQuery writes files. exportQuery is disabled if not specified.", //
+            required = false)
+    public void setExportDir(String dir) {
+        this.exportDir = Path.of(dir);
+    }
+
+    public Path getExportDir() {
+        return this.exportDir;
+    }
+
+    @Parameter(order = 81, //
+            names = { "--import-dir" }, //
+            arity = 1, //
+            description = "Directory where importFile reads files. importFile is disabled if not specified.", //
+            required = false)
+    public void setImportDir(String dir) {
+        this.importDir = Path.of(dir);
+    }
+
+    public Path getImportDir() {
+        return this.importDir;
+    }
+
     // Response
 
     @Parameter(order = 90, //
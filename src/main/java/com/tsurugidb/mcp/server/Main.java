@@ -19,7 +19,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.beust.jcommander.JCommander;
-import com.tsurugidb.mcp.server.dao.SessionPool;
 import com.tsurugidb.mcp.server.util.JsonUtil;
 
 import io.modelcontextprotocol.server.McpSyncServer;
@@ -46,10 +45,10 @@ public class Main {
 
     public void main(Arguments arguments) {
         var jsonMapper = JsonUtil.createJsonMapper();
-        var pool = SessionPool.create(arguments);
+        var context = TsurugiMcpContext.create(arguments);
 
-        var transportProvider = new TsurugiMcpServerTransportProvider(jsonMapper, pool);
-        McpSyncServer server = TsurugiMcpServer.syncServer(transportProvider, jsonMapper, arguments, pool);
+        var transportProvider = new TsurugiMcpServerTransportProvider(jsonMapper, context);
+        McpSyncServer server = TsurugiMcpServer.syncServer(transportProvider, jsonMapper, arguments, context);
         LOG.info("serverInfo={}", server.getServerInfo());
     }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.mcp.server.dao.CallRegistry;
+import com.tsurugidb.mcp.server.dao.LobStore;
+import com.tsurugidb.mcp.server.dao.MetadataCache;
+import com.tsurugidb.mcp.server.dao.SessionPool;
+import com.tsurugidb.mcp.server.dao.TransactionRegistry;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
+
+/**
+ * session pool and the services shared by the tools and the resources.
+ */
+public class TsurugiMcpContext implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(TsurugiMcpContext.class);
+
+    public static TsurugiMcpContext create(Arguments arguments) {
+        var pool = SessionPool.create(arguments);
+        TsurugiMcpContext context;
+        try {
+            context = new TsurugiMcpContext(arguments, pool);
+        } catch (RuntimeException e) {
+            pool.close();
+            throw e;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            LOG.debug("shutdownHook start");
+            context.close();
+            LOG.debug("shutdownHook end");
+        }));
+        return context;
+    }
+
+    private final SessionPool pool;
+    private final TaskScheduler scheduler = new TaskScheduler();
+    private final LobStore lobStore;
+    private final TransactionRegistry transactionRegistry;
+    private final CallRegistry callRegistry;
+    private final MetadataCache metadataCache;
+    private final CompletableFuture<Void> clientInitialized = new CompletableFuture<>();
+    /** notifications/resources/list_changed are dropped while the resources are updated in a batch */
+    private volatile boolean resourceBatch = false;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    public TsurugiMcpContext(Arguments arguments, SessionPool pool) {
+        this.pool = pool;
+        this.lobStore = new LobStore(arguments, scheduler);
+        this.transactionRegistry = new TransactionRegistry(arguments, scheduler);
+        this.callRegistry = new CallRegistry(arguments, scheduler);
+        this.metadataCache = new MetadataCache(arguments, pool, scheduler);
+    }
+
+    public SessionPool getPool() {
+        return this.pool;
+    }
+
+    /**
+     * get the timers and background tasks.
+     */
+    public TaskScheduler getScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * get the store of LOB values which are shared by the tools.
+     */
+    public LobStore getLobStore() {
+        return this.lobStore;
+    }
+
+    /**
+     * get the transactions which continue over multiple tool calls.
+     */
+    public TransactionRegistry getTransactionRegistry() {
+        return this.transactionRegistry;
+    }
+
+    /**
+     * get the tool calls in progress.
+     */
+    public CallRegistry getCallRegistry() {
+        return this.callRegistry;
+    }
+
+    /**
+     * get the cache of table names and table metadata.
+     */
+    public MetadataCache getMetadataCache() {
+        return this.metadataCache;
+    }
+
+    /**
+     * run the action after the client is initialized ({@code notifications/initialized}). the action runs at once if already initialized.
+     */
+    public void onClientInitialized(Runnable action) {
+        clientInitialized.thenRun(action);
+    }
+
+    void clientInitialized() {
+        clientInitialized.complete(null);
+    }
+
+    /**
+     * run the action which adds and removes resources, without the notification of each change. the caller notifies the change once after the action.
+     */
+    <T> T runResourceBatch(Supplier<T> action) {
+        this.resourceBatch = true;
+        try {
+            return action.get();
+        } finally {
+            this.resourceBatch = false;
+        }
+    }
+
+    boolean isResourceBatch() {
+        return this.resourceBatch;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.close();
+        transactionRegistry.close();
+        lobStore.close();
+        pool.close();
+    }
+}
@@ -18,18 +18,21 @@ package com.tsurugidb.mcp.server;
 import java.io.IOException;
 import java.net.URI;
 import java.text.MessageFormat;
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.tsurugidb.iceaxe.session.TsurugiSession;
-import com.tsurugidb.mcp.server.dao.SessionPool;
 import com.tsurugidb.mcp.server.entity.TableMetadata;
+import com.tsurugidb.mcp.server.util.SingleFlight;
 
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.server.McpServerFeatures.SyncResourceSpecification;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncResourceTemplateSpecification;
+import io.modelcontextprotocol.server.McpSyncServer;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.ReadResourceRequest;
@@ -41,41 +44,176 @@ public class TsurugiMcpResource {
 
     private final McpJsonMapper jsonMapper;
     private final Arguments arguments;
-    private final SessionPool pool;
+    private final TsurugiMcpContext context;
+    /** concurrent reads of the same URI share one lookup */
+    private final SingleFlight<String, ReadResourceResult> singleFlight = new SingleFlight<>();
+    private ResourceRegistry registry;
+    /** table names registered as resources */
+    private final Set<String> registeredTableSet = new HashSet<>();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
 
-    public TsurugiMcpResource(McpJsonMapper jsonMapper, Arguments arguments, SessionPool pool) {
+    public TsurugiMcpResource(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
         this.jsonMapper = jsonMapper;
         this.arguments = arguments;
-        this.pool = pool;
+        this.context = context;
     }
 
-    protected TsurugiSession getSession() throws IOException {
-        return pool.getSession();
+    /**
+     * get the resources available at startup. the table schema resources are added by {@link #start(McpSyncServer)}.
+     */
+    public List<SyncResourceSpecification> syncResources() {
+        if (!arguments.isResource()) {
+            return List.of();
+        }
+
+        return List.of(poolResource());
     }
 
-    public List<SyncResourceSpecification> syncResources() {
+    static final String TABLE_SCHEMA_URI_TEMPLATE = "tsurugidb://{table}/schema";
+
+    /**
+     * get the resource templates. the schema of any table can be read by the template, before the table is listed.
+     */
+    public List<SyncResourceTemplateSpecification> syncResourceTemplates() {
         if (!arguments.isResource()) {
             return List.of();
         }
 
-        try (var session = getSession()) {
-            List<String> tableNames = session.getTableNameList();
+        var template = McpSchema.ResourceTemplate.builder() //
+                .uriTemplate(TABLE_SCHEMA_URI_TEMPLATE) //
+                .name("table schema") //
+                .description("table schema in Tsurugi database") //
+                .mimeType("application/json") //
+                .build();
+        return List.of(new SyncResourceTemplateSpecification(template, this::tableSchema));
+    }
+
+    /**
+     * destination of the table schema resources.
+     */
+    interface ResourceRegistry {
+        void addResource(SyncResourceSpecification resource);
+
+        void removeResource(String uri);
+
+        void notifyListChanged();
+    }
+
+    /**
+     * list the tables as resources in background after the client is initialized, and again whenever the schema is changed by DDL.
+     * <p>
+     * The startup does not wait for the database. When the list changes, the server sends one {@code notifications/resources/list_changed} per refresh (the
+     * notification of each added or removed resource is dropped by the transport).
+     * </p>
+     *
+     * @param server MCP server
+     */
+    public void start(McpSyncServer server) {
+        start(new ResourceRegistry() {
+            @Override
+            public void addResource(SyncResourceSpecification resource) {
+                server.addResource(resource);
+            }
+
+            @Override
+            public void removeResource(String uri) {
+                server.removeResource(uri);
+            }
+
+            @Override
+            public void notifyListChanged() {
+                server.notifyResourcesListChanged();
+            }
+        });
+    }
+
+    void start(ResourceRegistry registry) {
+        if (!arguments.isResource()) {
+            return;
+        }
+
+        this.registry = registry;
+        // notifications before initialization are not allowed
+        context.onClientInitialized(() -> {
+            context.getMetadataCache().addInvalidationListener(this::requestRefresh);
+            requestRefresh();
+        });
+    }
+
+    private void requestRefresh() {
+        if (refreshPending.compareAndSet(false, true)) {
+            context.getScheduler().execute(this::refreshTableResources);
+        }
+    }
+
+    synchronized void refreshTableResources() {
+        refreshPending.set(false); // a DDL after this point requests the next refresh
+        try {
+            List<String> tableNames = context.getMetadataCache().getTableNameList();
+            boolean changed = context.runResourceBatch(() -> updateTableResources(tableNames));
+            if (changed) {
+                registry.notifyListChanged();
+            }
+        } catch (Exception e) {
+            LOG.warn("table resource listing error", e);
+        }
+    }
 
-            var list = new ArrayList<SyncResourceSpecification>(tableNames.size());
-            for (String tableName : tableNames) {
-                list.add(tableSchemaResource(tableName));
+    /**
+     * add and remove the resources of the difference from the registered tables.
+     *
+     * @return true if changed
+     */
+    private boolean updateTableResources(List<String> tableNames) {
+        boolean changed = false;
+        var tableSet = new HashSet<>(tableNames);
+        for (var i = registeredTableSet.iterator(); i.hasNext();) {
+            String tableName = i.next();
+            if (!tableSet.contains(tableName)) {
+                registry.removeResource(tableSchemaUri(tableName));
+                i.remove();
+                changed = true;
+            }
+        }
+        for (String tableName : tableNames) {
+            if (registeredTableSet.add(tableName)) {
+                registry.addResource(tableSchemaResource(tableName));
+                changed = true;
             }
-            return list;
+        }
+        LOG.debug("table resources updated. tables={}, changed={}", registeredTableSet.size(), changed);
+        return changed;
+    }
+
+    static final String POOL_URI = "tsurugidb://server/pool";
+
+    private SyncResourceSpecification poolResource() {
+        var resource = McpSchema.Resource.builder() //
+                .uri(POOL_URI) //
+                .name("session pool statistics") //
+                .description("statistics of the Tsurugi session pool (sessions, acquire latency)") //
+                .mimeType("application/json") //
+                .build();
+        return new SyncResourceSpecification(resource, this::poolStatistics);
+    }
+
+    private ReadResourceResult poolStatistics(McpSyncServerExchange exchange, ReadResourceRequest request) {
+        try {
+            String text = jsonMapper.writeValueAsString(context.getPool().getMetrics());
+            var content = new TextResourceContents(request.uri(), "application/json", text);
+            return new ReadResourceResult(List.of(content));
         } catch (RuntimeException e) {
+            LOG.warn("runtime exception", e);
             throw e;
         } catch (Exception e) {
+            LOG.warn("exception", e);
             throw new RuntimeException(e);
         }
     }
 
     private SyncResourceSpecification tableSchemaResource(String tableName) {
         var resource = McpSchema.Resource.builder() //
-                .uri("tsurugidb://%s/schema".formatted(tableName)) //
+                .uri(tableSchemaUri(tableName)) //
                 .name("%s table schema".formatted(tableName)) //
                 .description("'%s' table schema in Tsurugi database".formatted(tableName)) //
                 .mimeType("application/json") //
@@ -83,14 +221,20 @@ public class TsurugiMcpResource {
         return new SyncResourceSpecification(resource, this::tableSchema);
     }
 
+    private static String tableSchemaUri(String tableName) {
+        return "tsurugidb://%s/schema".formatted(tableName);
+    }
+
     private ReadResourceResult tableSchema(McpSyncServerExchange exchange, ReadResourceRequest request) {
         try {
             String uri = request.uri();
-            var metadata = tableSchemaMain(uri);
+            return singleFlight.execute(uri, () -> {
+                var metadata = tableSchemaMain(uri);
 
-            String text = jsonMapper.writeValueAsString(metadata);
-            var content = new TextResourceContents(request.uri(), "application/json", text);
-            return new ReadResourceResult(List.of(content));
+                String text = jsonMapper.writeValueAsString(metadata);
+                var content = new TextResourceContents(uri, "application/json", text);
+                return new ReadResourceResult(List.of(content));
+            }, result -> true);
         } catch (RuntimeException e) {
             LOG.warn("runtime exception", e);
             throw e;
@@ -107,13 +251,11 @@ public class TsurugiMcpResource {
             throw new RuntimeException("tableName is null");
         }
 
-        try (var session = getSession()) {
-            var opt = session.findTableMetadata(tableName);
-            if (opt.isEmpty()) {
-                throw new RuntimeException(MessageFormat.format("table not found. tableName={0}", tableName));
-            }
-
-            return TableMetadata.of(opt.get());
+        var opt = context.getMetadataCache().findTableMetadata(tableName);
+        if (opt.isEmpty()) {
+            throw new RuntimeException(MessageFormat.format("table not found. tableName={0}", tableName));
         }
+
+        return opt.get();
     }
 }
@@ -15,8 +15,6 @@
  */
 package com.tsurugidb.mcp.server;
 
-import com.tsurugidb.mcp.server.dao.SessionPool;
-
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.server.McpServer;
 import io.modelcontextprotocol.server.McpSyncServer;
@@ -28,9 +26,11 @@ public class TsurugiMcpServer {
     public static final String SERVER_NAME = "tsurugi-mcp-server";
     public static final String SERVER_VERSION = "0.8.0-SNAPSHOT";
 
-    public static McpSyncServer syncServer(McpServerTransportProvider transportProvider, McpJsonMapper jsonMapper, Arguments arguments, SessionPool pool) {
-        var tools = TsurugiMcpTool.syncTools(jsonMapper, arguments, pool);
-        var resources = new TsurugiMcpResource(jsonMapper, arguments, pool).syncResources();
+    public static McpSyncServer syncServer(McpServerTransportProvider transportProvider, McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
+        var tools = TsurugiMcpTool.syncTools(jsonMapper, arguments, context);
+        var resource = new TsurugiMcpResource(jsonMapper, arguments, context);
+        var resources = resource.syncResources();
+        var resourceTemplates = resource.syncResourceTemplates();
         var prompts = new TsurugiMcpPrompt(arguments).syncPrompts();
 
         var capabilities = ServerCapabilities.builder();
@@ -38,7 +38,7 @@ public class TsurugiMcpServer {
             capabilities.tools(false);
         }
         if (!resources.isEmpty()) {
-            capabilities.resources(false, false);
+            capabilities.resources(false, true);
         }
         if (!prompts.isEmpty()) {
             capabilities.prompts(false);
@@ -50,8 +50,10 @@ public class TsurugiMcpServer {
                 .capabilities(capabilities.build()) //
                 .tools(tools) //
                 .resources(resources) //
+                .resourceTemplates(resourceTemplates) //
                 .prompts(prompts) //
                 .build();
+        resource.start(server);
         return server;
     }
 }
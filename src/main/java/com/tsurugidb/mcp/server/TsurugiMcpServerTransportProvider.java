@@ -15,23 +15,126 @@
  */
 package com.tsurugidb.mcp.server;
 
-import com.tsurugidb.mcp.server.dao.SessionPool;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.tsurugidb.mcp.server.dao.CallRegistry;
+import com.tsurugidb.mcp.server.tool.AbstractTool;
 
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.json.TypeRef;
 import io.modelcontextprotocol.server.transport.StdioServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCNotification;
 import io.modelcontextprotocol.spec.McpServerSession;
 import io.modelcontextprotocol.spec.McpServerTransport;
 import reactor.core.publisher.Mono;
 
 public class TsurugiMcpServerTransportProvider extends StdioServerTransportProvider {
 
-    private final SessionPool pool;
+    private final TsurugiMcpContext context;
+
+    public TsurugiMcpServerTransportProvider(McpJsonMapper jsonMapper, TsurugiMcpContext context) {
+        super(new InboundJsonMapper(jsonMapper, context.getCallRegistry(), context::clientInitialized));
+        this.context = context;
+    }
+
+    /**
+     * JSON mapper which looks at the messages from the client.
+     * <p>
+     * The MCP SDK does not pass the JSON-RPC request id to tools, and ignores notifications/cancelled. So the request id of tools/call is copied into {@code _meta}, and notifications/cancelled aborts the
+     * call in progress. notifications/initialized is reported to start the work which sends notifications.
+     * </p>
+     */
+    static class InboundJsonMapper implements McpJsonMapper {
+        private final McpJsonMapper delegate;
+        private final CallRegistry callRegistry;
+        private final Runnable initializedListener;
+
+        InboundJsonMapper(McpJsonMapper delegate, CallRegistry callRegistry, Runnable initializedListener) {
+            this.delegate = delegate;
+            this.callRegistry = callRegistry;
+            this.initializedListener = initializedListener;
+        }
+
+        @Override
+        public <T> T readValue(String content, Class<T> type) throws IOException {
+            return inspect(delegate.readValue(content, type));
+        }
+
+        @Override
+        public <T> T readValue(byte[] content, Class<T> type) throws IOException {
+            return inspect(delegate.readValue(content, type));
+        }
+
+        @Override
+        public <T> T readValue(String content, TypeRef<T> type) throws IOException {
+            return inspect(delegate.readValue(content, type));
+        }
+
+        @Override
+        public <T> T readValue(byte[] content, TypeRef<T> type) throws IOException {
+            return inspect(delegate.readValue(content, type));
+        }
+
+        @Override
+        public <T> T convertValue(Object fromValue, Class<T> type) {
+            return delegate.convertValue(fromValue, type);
+        }
+
+        @Override
+        public <T> T convertValue(Object fromValue, TypeRef<T> type) {
+            return delegate.convertValue(fromValue, type);
+        }
 
-    public TsurugiMcpServerTransportProvider(McpJsonMapper jsonMapper, SessionPool pool) {
-        super(jsonMapper);
-        this.pool = pool;
+        @Override
+        public String writeValueAsString(Object value) throws IOException {
+            return delegate.writeValueAsString(value);
+        }
+
+        @Override
+        public byte[] writeValueAsBytes(Object value) throws IOException {
+            return delegate.writeValueAsBytes(value);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T inspect(T value) {
+            if (!(value instanceof Map<?, ?> message) || !message.containsKey("jsonrpc")) {
+                return value;
+            }
+
+            Object method = message.get("method");
+            if ("notifications/initialized".equals(method)) {
+                initializedListener.run();
+                return value;
+            }
+            if (!(message.get("params") instanceof Map<?, ?> params)) {
+                return value;
+            }
+
+            if ("tools/call".equals(method)) {
+                Object id = message.get("id");
+                if (id != null) {
+                    Object meta = params.get("_meta");
+                    if (meta == null) {
+                        meta = new LinkedHashMap<String, Object>();
+                        ((Map<String, Object>) params).put("_meta", meta);
+                    }
+                    if (meta instanceof Map<?, ?> metaMap) {
+                        ((Map<String, Object>) metaMap).put(AbstractTool.META_REQUEST_ID, id.toString());
+                    }
+                }
+            } else if ("notifications/cancelled".equals(method)) {
+                Object id = params.get("requestId");
+                if (id != null) {
+                    Object reason = params.get("reason");
+                    callRegistry.cancel(id.toString(), (reason != null) ? reason.toString() : null);
+                }
+            }
+            return value;
+        }
     }
 
     @Override
@@ -43,6 +146,10 @@ public class TsurugiMcpServerTransportProvider extends StdioServerTransportProvi
 
                     @Override
                     public Mono<Void> sendMessage(JSONRPCMessage message) {
+                        if (message instanceof JSONRPCNotification notification && McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED.equals(notification.method())
+                                && context.isResourceBatch()) {
+                            return Mono.empty(); // notified once after the batch
+                        }
                         return sessionTransport.sendMessage(message);
                     }
 
@@ -53,13 +160,13 @@ public class TsurugiMcpServerTransportProvider extends StdioServerTransportProvi
 
                     @Override
                     public Mono<Void> closeGracefully() {
-                        pool.close();
+                        context.close();
                         return sessionTransport.closeGracefully();
                     }
 
                     @Override
                     public void close() {
-                        pool.close();
+                        context.close();
                         sessionTransport.close();
                     }
                 };
@@ -21,12 +21,20 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.tsurugidb.mcp.server.dao.SessionPool;
 import com.tsurugidb.mcp.server.tool.AbstractTool;
+import com.tsurugidb.mcp.server.tool.BatchUpdateTool;
+import com.tsurugidb.mcp.server.tool.BeginTransactionTool;
+import com.tsurugidb.mcp.server.tool.CommitTool;
 import com.tsurugidb.mcp.server.tool.DdlTool;
+import com.tsurugidb.mcp.server.tool.ExportQueryTool;
+import com.tsurugidb.mcp.server.tool.ImportFileTool;
 import com.tsurugidb.mcp.server.tool.QueryTool;
+import com.tsurugidb.mcp.server.tool.ReadLobTool;
+import com.tsurugidb.mcp.server.tool.RollbackTool;
+import com.tsurugidb.mcp.server.tool.SearchSchemaTool;
 import com.tsurugidb.mcp.server.tool.TableMetadataTool;
 import com.tsurugidb.mcp.server.tool.TableNamesTool;
+import com.tsurugidb.mcp.server.tool.TablesMetadataTool;
 import com.tsurugidb.mcp.server.tool.UpdateTool;
 
 import io.modelcontextprotocol.json.McpJsonMapper;
@@ -38,8 +46,17 @@ public class TsurugiMcpTool {
     private static final List<AbstractTool> TOOLS = List.of( //
             new TableNamesTool(), //
             new TableMetadataTool(), //
+            new TablesMetadataTool(), //
+            new SearchSchemaTool(), //
             new QueryTool(), //
+            new ReadLobTool(), //
+            new ExportQueryTool(), //
             new UpdateTool(), //
+            new BatchUpdateTool(), //
+            new ImportFileTool(), //
+            new BeginTransactionTool(), //
+            new CommitTool(), //
+            new RollbackTool(), //
             new DdlTool() //
     );
 
@@ -47,7 +64,7 @@ public class TsurugiMcpTool {
         return TOOLS.stream().map(AbstractTool::toolName).toList();
     }
 
-    public static List<SyncToolSpecification> syncTools(McpJsonMapper jsonMapper, Arguments arguments, SessionPool pool) {
+    public static List<SyncToolSpecification> syncTools(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
         var set = new HashSet<>(arguments.getEnableToolList());
         for (String name : arguments.getDisableToolList()) {
             set.remove(name);
@@ -56,7 +73,8 @@ public class TsurugiMcpTool {
 
         return TOOLS.stream() //
                 .filter(t -> set.contains(t.toolName())) //
-                .peek(t -> t.initialize(jsonMapper, arguments, pool)) //
+                .filter(t -> t.isAvailable(arguments)) //
+                .peek(t -> t.initialize(jsonMapper, arguments, context)) //
                 .map(AbstractTool::syncTool) //
                 .toList();
     }
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.text.MessageFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
+
+/**
+ * tool calls in progress, to abort them by timeout or by cancellation from the client.
+ * <p>
+ * Aborting interrupts the thread of the call, so that the waiting for the server fails and the transaction and the session are closed by the caller.
+ * </p>
+ */
+public class CallRegistry {
+    private static final Logger LOG = LoggerFactory.getLogger(CallRegistry.class);
+
+    private final TaskScheduler scheduler;
+    private final long defaultTimeout;
+    private final AtomicLong anonymousId = new AtomicLong();
+    private final ConcurrentHashMap<String, CallContext> callMap = new ConcurrentHashMap<>();
+
+    public CallRegistry(Arguments arguments, TaskScheduler scheduler) {
+        this.scheduler = scheduler;
+        this.defaultTimeout = arguments.getSqlTimeout();
+    }
+
+    /**
+     * start a call on the current thread.
+     *
+     * @param requestId JSON-RPC request id (null if unknown)
+     * @param timeout   timeout in seconds (0 or less to use sql-timeout)
+     * @return call
+     */
+    public CallContext start(String requestId, long timeout) {
+        String key = (requestId != null) ? requestId : "anonymous" + anonymousId.getAndIncrement();
+        var context = new CallContext(key, Thread.currentThread());
+        callMap.put(key, context);
+
+        long seconds = (timeout > 0) ? timeout : defaultTimeout;
+        if (seconds > 0) {
+            context.timer = scheduler.schedule(() -> context.abort(MessageFormat.format("timeout ({0}s)", seconds)), seconds, TimeUnit.SECONDS);
+        }
+        return context;
+    }
+
+    /**
+     * abort a call by notifications/cancelled.
+     *
+     * @param requestId JSON-RPC request id
+     * @param reason    reason from the client
+     */
+    public void cancel(String requestId, String reason) {
+        var context = callMap.get(requestId);
+        if (context == null) {
+            LOG.debug("cancel target not found. requestId={}", requestId);
+            return;
+        }
+        context.abort((reason != null) ? "cancelled: " + reason : "cancelled");
+    }
+
+    int getCount() {
+        return callMap.size();
+    }
+
+    /**
+     * call in progress.
+     */
+    public class CallContext implements AutoCloseable {
+        private final String key;
+        private final Thread thread;
+        private ScheduledFuture<?> timer;
+        private boolean done = false;
+        private volatile String abortReason;
+
+        CallContext(String key, Thread thread) {
+            this.key = key;
+            this.thread = thread;
+        }
+
+        synchronized void abort(String reason) {
+            if (done || this.abortReason != null) {
+                return;
+            }
+            LOG.debug("call aborted. requestId={}, reason={}", key, reason);
+            this.abortReason = reason;
+            thread.interrupt();
+        }
+
+        public boolean isAborted() {
+            return this.abortReason != null;
+        }
+
+        /**
+         * get the reason of abort.
+         *
+         * @return reason (null if not aborted)
+         */
+        public String getAbortReason() {
+            return this.abortReason;
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                this.done = true;
+            }
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            callMap.remove(key, this);
+            if (abortReason != null) {
+                Thread.interrupted(); // clear the interruption which was not handled
+            }
+        }
+    }
+}
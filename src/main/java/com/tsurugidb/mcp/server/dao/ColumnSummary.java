@@ -0,0 +1,292 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * statistics of a column, computed in one pass with constant memory.
+ * <ul>
+ * <li>count, nulls, min and max are exact</li>
+ * <li>distinct is estimated by HyperLogLog</li>
+ * <li>histogram (numeric columns) is computed from a reservoir sample of {@link #SAMPLE_SIZE} values, scaled to the count</li>
+ * <li>top is computed by Space-Saving with {@link #TOP_CAPACITY} counters. counts are upper bounds</li>
+ * </ul>
+ */
+class ColumnSummary {
+
+    static final int HISTOGRAM_BINS = 10;
+    static final int SAMPLE_SIZE = 1024;
+    static final int TOP_K = 10;
+    static final int TOP_CAPACITY = 64;
+    /** longer values are truncated for top */
+    static final int MAX_KEY_LENGTH = 100;
+    private static final int HLL_BITS = 12;
+    private static final int HLL_SIZE = 1 << HLL_BITS;
+
+    private final String name;
+    private final String type;
+    private long count = 0;
+    private long nullCount = 0;
+    private Comparable<Object> min;
+    private Comparable<Object> max;
+    private boolean comparable = true;
+
+    private byte[] registers;
+
+    private double[] sample;
+    private long numericCount = 0;
+    private final SplittableRandom random = new SplittableRandom(0);
+
+    private final HashMap<String, long[]> topMap = new HashMap<>();
+
+    ColumnSummary(String name, String type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    @SuppressWarnings("unchecked")
+    void add(Object value) {
+        if (value == null) {
+            nullCount++;
+            return;
+        }
+        count++;
+
+        String key = toKey(value);
+        if (key == null) { // LOB
+            return;
+        }
+
+        if (comparable && value instanceof Comparable<?> c) {
+            var v = (Comparable<Object>) c;
+            try {
+                if (min == null || v.compareTo(min) < 0) {
+                    this.min = v;
+                }
+                if (max == null || v.compareTo(max) > 0) {
+                    this.max = v;
+                }
+            } catch (ClassCastException e) {
+                this.comparable = false;
+                this.min = null;
+                this.max = null;
+            }
+        }
+
+        addDistinct(hash(key));
+        if (value instanceof Number n) {
+            addSample(n.doubleValue());
+        }
+        addTop(key);
+    }
+
+    private static String toKey(Object value) {
+        String key;
+        if (value instanceof BigDecimal d) {
+            key = (d.signum() == 0) ? "0" : d.stripTrailingZeros().toPlainString();
+        } else if (value instanceof byte[] b) {
+            key = Base64.getEncoder().encodeToString(b);
+        } else if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Temporal) {
+            key = value.toString();
+        } else {
+            return null;
+        }
+        return key;
+    }
+
+    /**
+     * 64bit FNV-1a, finished by the mixer of MurmurHash3.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private void addDistinct(long hash) {
+        if (registers == null) {
+            this.registers = new byte[HLL_SIZE];
+        }
+        int index = (int) (hash >>> (64 - HLL_BITS));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << HLL_BITS) | (1L << (HLL_BITS - 1))) + 1);
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+    long estimateDistinct() {
+        if (registers == null) {
+            return 0;
+        }
+        double sum = 0;
+        int zeros = 0;
+        for (byte r : registers) {
+            sum += 1.0 / (1L << r);
+            if (r == 0) {
+                zeros++;
+            }
+        }
+        double m = HLL_SIZE;
+        double estimate = 0.7213 / (1 + 1.079 / m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log(m / zeros); // linear counting for small cardinality
+        }
+        return Math.min(Math.round(estimate), count);
+    }
+
+    private void addSample(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+        if (sample == null) {
+            this.sample = new double[SAMPLE_SIZE];
+        }
+        long n = numericCount++;
+        if (n < SAMPLE_SIZE) {
+            sample[(int) n] = value;
+        } else {
+            long r = random.nextLong(n + 1);
+            if (r < SAMPLE_SIZE) {
+                sample[(int) r] = value;
+            }
+        }
+    }
+
+    private void addTop(String key) {
+        if (key.length() > MAX_KEY_LENGTH) {
+            key = key.substring(0, MAX_KEY_LENGTH);
+        }
+        var counter = topMap.get(key);
+        if (counter != null) {
+            counter[0]++;
+            return;
+        }
+        if (topMap.size() < TOP_CAPACITY) {
+            topMap.put(key, new long[] { 1 });
+            return;
+        }
+
+        // replace the minimum counter
+        Map.Entry<String, long[]> minEntry = null;
+        for (var entry : topMap.entrySet()) {
+            if (minEntry == null || entry.getValue()[0] < minEntry.getValue()[0]) {
+                minEntry = entry;
+            }
+        }
+        long minCount = minEntry.getValue()[0];
+        topMap.remove(minEntry.getKey());
+        topMap.put(key, new long[] { minCount + 1 });
+    }
+
+    /**
+     * write the statistics.
+     *
+     * @param generator generator
+     * @param detail    {@code false} if histogram and top are omitted
+     * @throws IOException if an I/O error occurs
+     */
+    void write(JsonGenerator generator, boolean detail) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", name);
+        generator.writeStringField("type", type);
+        generator.writeNumberField("count", count);
+        generator.writeNumberField("nulls", nullCount);
+        long total = count + nullCount;
+        generator.writeNumberField("nullRatio", (total == 0) ? 0.0 : (double) nullCount / total);
+        if (min != null) {
+            generator.writeFieldName("min");
+            generator.writeObject(min);
+            generator.writeFieldName("max");
+            generator.writeObject(max);
+        }
+        if (registers != null) {
+            generator.writeNumberField("distinct", estimateDistinct());
+        }
+        boolean hasHistogram = sample != null && min instanceof Number && max instanceof Number;
+        if (!detail) {
+            if (hasHistogram || !topMap.isEmpty()) {
+                generator.writeBooleanField("detailOmitted", true);
+            }
+        } else {
+            if (hasHistogram) {
+                writeHistogram(generator, ((Number) min).doubleValue(), ((Number) max).doubleValue());
+            }
+            if (!topMap.isEmpty()) {
+                writeTop(generator);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeHistogram(JsonGenerator generator, double low, double high) throws IOException {
+        int size = (int) Math.min(numericCount, SAMPLE_SIZE);
+        var bins = new long[(low == high) ? 1 : HISTOGRAM_BINS];
+        double width = (high - low) / bins.length;
+        for (int i = 0; i < size; i++) {
+            int bin = (width == 0) ? 0 : (int) ((sample[i] - low) / width);
+            bins[Math.min(Math.max(bin, 0), bins.length - 1)]++;
+        }
+        double scale = (double) numericCount / size;
+
+        generator.writeArrayFieldStart("histogram");
+        for (int i = 0; i < bins.length; i++) {
+            generator.writeStartObject();
+            generator.writeNumberField("from", low + width * i);
+            generator.writeNumberField("to", (i == bins.length - 1) ? high : low + width * (i + 1));
+            generator.writeNumberField("count", Math.round(bins[i] * scale));
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        if (numericCount > SAMPLE_SIZE) {
+            generator.writeBooleanField("histogramSampled", true);
+        }
+    }
+
+    private void writeTop(JsonGenerator generator) throws IOException {
+        var list = new ArrayList<>(topMap.entrySet());
+        list.sort(Comparator.comparingLong((Map.Entry<String, long[]> e) -> e.getValue()[0]).reversed().thenComparing(Map.Entry::getKey));
+
+        generator.writeArrayFieldStart("top");
+        for (int i = 0; i < Math.min(TOP_K, list.size()); i++) {
+            var entry = list.get(i);
+            generator.writeStartObject();
+            generator.writeStringField("value", entry.getKey());
+            generator.writeNumberField("count", entry.getValue()[0]);
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+}
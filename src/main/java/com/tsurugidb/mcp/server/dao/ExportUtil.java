@@ -0,0 +1,400 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsurugidb.iceaxe.session.TsurugiSession;
+import com.tsurugidb.iceaxe.sql.parameter.TgBindParameters;
+import com.tsurugidb.iceaxe.sql.result.TgResultMapping;
+import com.tsurugidb.iceaxe.sql.result.TsurugiQueryResult;
+import com.tsurugidb.iceaxe.sql.result.TsurugiResultRecord;
+import com.tsurugidb.iceaxe.sql.type.TgBlobReference;
+import com.tsurugidb.iceaxe.sql.type.TgClobReference;
+import com.tsurugidb.iceaxe.transaction.TgCommitType;
+import com.tsurugidb.iceaxe.transaction.TsurugiTransaction;
+import com.tsurugidb.iceaxe.transaction.exception.TsurugiTransactionException;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOptionRtx;
+import com.tsurugidb.iceaxe.util.InterruptedRuntimeException;
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.dao.ParameterUtil.ParameterDefinition;
+import com.tsurugidb.mcp.server.util.JsonUtil;
+
+/**
+ * export the result of a query to a file in export-dir.
+ * <p>
+ * Rows are streamed to the file through a buffered {@link FileChannel}, so the memory does not depend on the number of rows. The file is written as a temporary file, and renamed when the query
+ * succeeds. The session is returned to the pool as soon as the scan finishes.
+ * </p>
+ */
+public class ExportUtil {
+    private static final Logger LOG = LoggerFactory.getLogger(ExportUtil.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final AtomicInteger FILE_ID = new AtomicInteger();
+    private static final DateTimeFormatter FILE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * format of the file.
+     */
+    public enum ExportFormat {
+        /** comma separated values (RFC 4180) with a header line */
+        CSV("csv"),
+        /** one JSON object per line */
+        NDJSON("ndjson");
+
+        private final String extension;
+
+        ExportFormat(String extension) {
+            this.extension = extension;
+        }
+
+        public String extension() {
+            return this.extension;
+        }
+    }
+
+    /**
+     * result of export.
+     *
+     * @param path       path of the file
+     * @param format     format
+     * @param rowCount   number of rows
+     * @param byteSize   size of the file
+     * @param retryCount number of retries by serialization failure
+     */
+    public record ExportResult(Path path, ExportFormat format, long rowCount, long byteSize, int retryCount) {
+    }
+
+    private final ObjectMapper objectMapper = JsonUtil.createObjectMapper();
+    private final SessionPool pool;
+    private final Path exportDir;
+    private final RetryPolicy retryPolicy;
+
+    public ExportUtil(Arguments arguments, SessionPool pool) {
+        this.pool = pool;
+        this.exportDir = arguments.getExportDir();
+        this.retryPolicy = new RetryPolicy(arguments);
+    }
+
+    /**
+     * resolve the file to write.
+     *
+     * @param fileName file name (null to generate)
+     * @param format   format
+     * @return path in export-dir
+     */
+    public Path resolve(String fileName, ExportFormat format) {
+        if (fileName == null || fileName.isBlank()) {
+            fileName = MessageFormat.format("export-{0}-{1}.{2}", LocalDateTime.now().format(FILE_TIME_FORMAT), Integer.toString(FILE_ID.getAndIncrement()), format.extension());
+        }
+        var dir = exportDir.toAbsolutePath().normalize();
+        var path = dir.resolve(fileName).normalize();
+        if (!dir.equals(path.getParent()) || fileName.startsWith(".")) {
+            throw new IllegalArgumentException(MessageFormat.format("illegal file name. file_name={0} (a file name in export-dir is required)", fileName));
+        }
+        return path;
+    }
+
+    /**
+     * execute a query and write the result to the file.
+     *
+     * @param sql        SQL
+     * @param definition placeholders (null if no parameter)
+     * @param parameters parameters (null if no parameter)
+     * @param txOption   transaction option
+     * @param path       path of the file (resolved by {@link #resolve(String, ExportFormat)})
+     * @param format     format
+     * @param progress   progress listener
+     * @return result
+     */
+    public ExportResult export(String sql, ParameterDefinition definition, TgBindParameters parameters, TgTxOption txOption, Path path, ExportFormat format, ProgressListener progress) {
+        if (Files.exists(path)) {
+            throw new UncheckedIOException(new FileAlreadyExistsException(path.toString()));
+        }
+
+        Path temp = null;
+        try {
+            Files.createDirectories(path.getParent());
+            temp = Files.createTempFile(path.getParent(), "." + path.getFileName() + ".", ".tmp"); // unique for concurrent exports of the same name
+            try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                long[] rowCount = { 0 };
+                int[] retry = { 0 };
+                try (var session = (txOption instanceof TgTxOptionRtx) ? pool.getReadSession() : pool.getSession()) {
+                    retryPolicy.execute(txOption, List.of(), (option, retryCount) -> {
+                        progress.phase((retryCount == 0) ? "executing" : "executing (retry " + retryCount + ")");
+                        channel.truncate(0);
+                        channel.position(0);
+                        rowCount[0] = scan(session, sql, definition, parameters, option, channel, format, progress);
+                        retry[0] = retryCount;
+                        return null;
+                    });
+                } // the session is returned here
+                channel.force(false);
+                long byteSize = channel.size();
+
+                publish(temp, path);
+                LOG.debug("exported. path={}, rows={}, bytes={}", path, rowCount[0], byteSize);
+                return new ExportResult(path, format, rowCount[0], byteSize, retry[0]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            throw new InterruptedRuntimeException(e);
+        } catch (TsurugiTransactionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    LOG.warn("delete error. path={}", temp, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * make the written file visible under its name. an existing file (e.g. created by a concurrent export) is never replaced.
+     * <p>
+     * A hard link is created atomically and fails if the name exists. If the file system does not support hard links, the file is moved without replacing.
+     * </p>
+     */
+    private static void publish(Path temp, Path path) throws IOException {
+        try {
+            Files.createLink(path, temp); // the temporary file is deleted by the caller
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            LOG.debug("hard link not supported. path={}", path, e);
+            Files.move(temp, path);
+        }
+    }
+
+    private long scan(TsurugiSession session, String sql, ParameterDefinition definition, TgBindParameters parameters, TgTxOption txOption, FileChannel channel, ExportFormat format,
+            ProgressListener progress) throws IOException, InterruptedException, TsurugiTransactionException {
+        if (definition == null) {
+            try (var ps = session.createQuery(sql, TgResultMapping.of(record -> record))) {
+                return scan(session, txOption, transaction -> transaction.executeQuery(ps), channel, format, progress);
+            }
+        }
+
+        return pool.getStatementCache(session).executeQuery(sql, definition, //
+                ps -> scan(session, txOption, transaction -> transaction.executeQuery(ps, parameters), channel, format, progress));
+    }
+
+    @FunctionalInterface
+    private interface QueryExecutor {
+        TsurugiQueryResult<TsurugiResultRecord> execute(TsurugiTransaction transaction) throws IOException, InterruptedException, TsurugiTransactionException;
+    }
+
+    private long scan(TsurugiSession session, TgTxOption txOption, QueryExecutor executor, FileChannel channel, ExportFormat format, ProgressListener progress)
+            throws IOException, InterruptedException, TsurugiTransactionException {
+        try (var transaction = session.createTransaction(txOption)) {
+            var out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE); // not closed, to keep the channel open
+            long rowCount;
+            try (var queryResult = executor.execute(transaction)) {
+                progress.phase("reading");
+                var writer = (format == ExportFormat.CSV) ? new CsvRowWriter(out) : new NdjsonRowWriter(objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8));
+                rowCount = writer.write(queryResult, channel, progress);
+            }
+
+            progress.phase("committing");
+            transaction.commit(TgCommitType.DEFAULT);
+            return rowCount;
+        }
+    }
+
+    private abstract static class RowWriter {
+
+        long write(TsurugiQueryResult<TsurugiResultRecord> queryResult, FileChannel channel, ProgressListener progress)
+                throws IOException, InterruptedException, TsurugiTransactionException {
+            var nameList = queryResult.getNameList();
+            writeHeader(nameList);
+
+            long rowCount = 0;
+            for (;;) {
+                var recordOpt = queryResult.findRecord();
+                if (recordOpt.isEmpty()) {
+                    break;
+                }
+                writeRow(nameList, recordOpt.get());
+                if ((++rowCount & 0xff) == 0) {
+                    progress.rows(rowCount, channel.position());
+                }
+            }
+            flush();
+            return rowCount;
+        }
+
+        abstract void writeHeader(List<String> nameList) throws IOException;
+
+        abstract void writeRow(List<String> nameList, TsurugiResultRecord record) throws IOException, InterruptedException, TsurugiTransactionException;
+
+        abstract void flush() throws IOException;
+    }
+
+    private static class CsvRowWriter extends RowWriter {
+        private final Writer out;
+
+        CsvRowWriter(OutputStream out) {
+            this.out = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        void writeHeader(List<String> nameList) throws IOException {
+            for (int j = 0; j < nameList.size(); j++) {
+                if (j != 0) {
+                    out.write(',');
+                }
+                writeText(nameList.get(j));
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        void writeRow(List<String> nameList, TsurugiResultRecord record) throws IOException, InterruptedException, TsurugiTransactionException {
+            int size = nameList.size();
+            for (int j = 0; j < size; j++) {
+                if (j != 0) {
+                    out.write(',');
+                }
+                Object value = record.getValueOrNull(j);
+                if (value == null) {
+                    continue;
+                }
+                if (value instanceof TgBlobReference blob) {
+                    try (var in = blob.openInputStream()) {
+                        var encoder = Base64.getEncoder();
+                        for (byte[] chunk; (chunk = in.readNBytes(3 * 4096)).length > 0;) { // multiple of 3 except the last
+                            out.write(encoder.encodeToString(chunk));
+                        }
+                    }
+                } else if (value instanceof TgClobReference clob) {
+                    out.write('"');
+                    try (var reader = new BufferedReader(clob.openReader())) {
+                        for (int c; (c = reader.read()) >= 0;) {
+                            if (c == '"') {
+                                out.write('"');
+                            }
+                            out.write(c);
+                        }
+                    }
+                    out.write('"');
+                } else if (value instanceof byte[] bytes) {
+                    out.write(Base64.getEncoder().encodeToString(bytes));
+                } else if (value instanceof BigDecimal d) {
+                    out.write(d.toPlainString());
+                } else {
+                    writeText(value.toString());
+                }
+            }
+            out.write("\r\n");
+        }
+
+        private void writeText(String s) throws IOException {
+            if (s.isEmpty()) {
+                out.write("\"\""); // distinguished from null
+                return;
+            }
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                    out.write('"');
+                    out.write(s.replace("\"", "\"\""));
+                    out.write('"');
+                    return;
+                }
+            }
+            out.write(s);
+        }
+
+        @Override
+        void flush() throws IOException {
+            out.flush();
+        }
+    }
+
+    private static class NdjsonRowWriter extends RowWriter {
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(JsonGenerator generator) {
+            this.generator = generator;
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        void writeHeader(List<String> nameList) {
+            // no header
+        }
+
+        @Override
+        void writeRow(List<String> nameList, TsurugiResultRecord record) throws IOException, InterruptedException, TsurugiTransactionException {
+            int size = nameList.size();
+            generator.writeStartObject();
+            for (int j = 0; j < size; j++) {
+                generator.writeFieldName(nameList.get(j));
+                Object value = record.getValueOrNull(j);
+                if (value instanceof TgBlobReference blob) {
+                    try (var in = blob.openInputStream()) {
+                        generator.writeBinary(in, -1);
+                    }
+                } else if (value instanceof TgClobReference clob) {
+                    try (var reader = clob.openReader()) {
+                        generator.writeString(reader, -1);
+                    }
+                } else {
+                    generator.writeObject(value);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
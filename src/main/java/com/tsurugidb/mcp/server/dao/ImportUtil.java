@@ -0,0 +1,612 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsurugidb.iceaxe.sql.parameter.TgBindParameters;
+import com.tsurugidb.iceaxe.transaction.TgCommitType;
+import com.tsurugidb.iceaxe.transaction.exception.TsurugiTransactionException;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.iceaxe.util.InterruptedRuntimeException;
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.dao.ParameterUtil.ParameterDefinition;
+import com.tsurugidb.mcp.server.dao.ParameterUtil.ParameterType;
+import com.tsurugidb.mcp.server.entity.SqlColumn;
+import com.tsurugidb.mcp.server.entity.TableMetadata;
+import com.tsurugidb.mcp.server.util.JsonUtil;
+
+/**
+ * load a file in import-dir into a table.
+ * <p>
+ * The file is read by one thread and split into batches, and the batches are inserted by several sessions in parallel. Each batch is committed in its own transaction, so the rows of the committed
+ * batches remain if the load fails.
+ * </p>
+ */
+public class ImportUtil {
+    private static final Logger LOG = LoggerFactory.getLogger(ImportUtil.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** end of batches */
+    private static final List<TgBindParameters> END = List.of();
+
+    /**
+     * format of the file.
+     */
+    public enum ImportFormat {
+        /** comma separated values (RFC 4180). the first line is the column names */
+        CSV,
+        /** one JSON object per line */
+        NDJSON;
+
+        /**
+         * get the format from the file name.
+         *
+         * @param fileName file name
+         * @return format
+         */
+        public static ImportFormat ofFileName(String fileName) {
+            String name = fileName.toLowerCase();
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            return CSV;
+        }
+    }
+
+    /**
+     * result of import.
+     *
+     * @param tableName     table name
+     * @param rowCount      number of inserted rows
+     * @param batchCount    number of committed batches
+     * @param elapsedMillis elapsed time
+     * @param retryCount    number of retries by serialization failure (total of all batches)
+     */
+    public record ImportResult(String tableName, long rowCount, long batchCount, long elapsedMillis, int retryCount) {
+
+        public long rowsPerSecond() {
+            return (elapsedMillis == 0) ? rowCount : rowCount * 1000 / elapsedMillis;
+        }
+    }
+
+    /** mapper for NDJSON. decimal values are read as BigDecimal, so that DECIMAL columns do not lose the precision */
+    private final ObjectMapper objectMapper = JsonUtil.createObjectMapper().enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private final SessionPool pool;
+    private final MetadataCache metadataCache;
+    private final Path importDir;
+    private final RetryPolicy retryPolicy;
+
+    public ImportUtil(Arguments arguments, SessionPool pool, MetadataCache metadataCache) {
+        this.pool = pool;
+        this.metadataCache = metadataCache;
+        this.importDir = arguments.getImportDir();
+        this.retryPolicy = new RetryPolicy(arguments);
+    }
+
+    /**
+     * resolve the file to read.
+     *
+     * @param fileName file name
+     * @return path in import-dir
+     */
+    public Path resolve(String fileName) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new IllegalArgumentException("file_name not specified");
+        }
+        var dir = importDir.toAbsolutePath().normalize();
+        var path = dir.resolve(fileName).normalize();
+        if (!dir.equals(path.getParent()) || fileName.startsWith(".")) {
+            throw new IllegalArgumentException(MessageFormat.format("illegal file name. file_name={0} (a file name in import-dir is required)", fileName));
+        }
+        return path;
+    }
+
+    /**
+     * insert the rows of the file into the table.
+     *
+     * @param tableName   table name
+     * @param path        path of the file (resolved by {@link #resolve(String)})
+     * @param format      format
+     * @param ltx         true: LTX with write preserve of the table, false: OCC
+     * @param batchSize   number of rows per transaction
+     * @param parallelism number of sessions (capped at the free sessions of the pool)
+     * @param progress    progress listener
+     * @return result
+     */
+    public ImportResult importFile(String tableName, Path path, ImportFormat format, boolean ltx, int batchSize, int parallelism, ProgressListener progress) {
+        long start = System.nanoTime();
+        progress.phase("preparing");
+        var metadata = findTableMetadata(tableName);
+        var txOption = ltx ? TgTxOption.ofLTX(metadata.tableName()) : TgTxOption.ofOCC();
+
+        var counter = new ImportCounter();
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ); //
+                var reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            var source = (format == ImportFormat.CSV) ? new CsvSource(reader) : new NdjsonSource(reader, objectMapper);
+            var columnList = source.readColumns(metadata);
+            var insert = new InsertStatement(metadata.tableName(), columnList);
+
+            // the workers hold their sessions until the end, so they must not wait for each other's sessions
+            int free = pool.getFreeCount();
+            int workers = Math.max(Math.min(parallelism, free), 1);
+            if (workers < parallelism) {
+                LOG.debug("import parallelism is capped at the free sessions. parallelism={}, free={}", parallelism, free);
+            }
+            var queue = new ArrayBlockingQueue<List<TgBindParameters>>(workers * 2);
+            var error = new AtomicReference<Throwable>();
+            Exception readError = null;
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                var futureList = new ArrayList<Future<?>>(workers);
+                for (int i = 0; i < workers; i++) {
+                    futureList.add(executor.submit(() -> {
+                        try {
+                            insert(insert, txOption, List.of(metadata.tableName()), queue, counter);
+                        } catch (Throwable e) {
+                            error.compareAndSet(null, e);
+                        }
+                        return null;
+                    }));
+                }
+
+                try {
+                    progress.phase("loading");
+                    var batch = new ArrayList<TgBindParameters>(batchSize);
+                    for (;;) {
+                        var valueMap = source.next();
+                        if (valueMap == null) {
+                            break;
+                        }
+                        try {
+                            batch.add(insert.definition().toParameters(valueMap));
+                        } catch (IllegalArgumentException e) {
+                            throw new IllegalArgumentException(MessageFormat.format("{0} (line {1})", e.getMessage(), source.getLineNumber()), e);
+                        }
+                        if (batch.size() >= batchSize) {
+                            if (!put(queue, batch, error)) {
+                                executor.shutdownNow(); // stop the other workers waiting for batches
+                                break;
+                            }
+                            batch = new ArrayList<>(batchSize);
+                            progress.rows(counter.rowCount.get(), channel.position());
+                        }
+                    }
+                    if (error.get() == null && !batch.isEmpty()) {
+                        put(queue, batch, error);
+                    }
+                    for (int i = 0; i < workers; i++) {
+                        if (!put(queue, END, error)) {
+                            executor.shutdownNow(); // stop the other workers waiting for batches
+                            break;
+                        }
+                    }
+                    for (var future : futureList) {
+                        future.get();
+                    }
+                } catch (Exception e) {
+                    executor.shutdownNow();
+                    readError = e;
+                }
+            } // the workers are finished here, so committed_rows is fixed
+
+            if (readError != null) {
+                throw importFailed(readError, counter);
+            }
+            var e = error.get();
+            if (e != null) {
+                throw importFailed(e, counter);
+            }
+        } catch (IOException e) {
+            throw importFailed(e, counter);
+        } catch (InterruptedException e) {
+            throw new InterruptedRuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        var result = new ImportResult(metadata.tableName(), counter.rowCount.get(), counter.batchCount.get(), elapsed, counter.retryCount.get());
+        LOG.debug("imported. table={}, rows={}, elapsed={}ms", result.tableName(), result.rowCount(), elapsed);
+        return result;
+    }
+
+    /**
+     * create the exception of a failed import, which reports the number of committed rows. the type of the cause is kept for the caller.
+     */
+    private static RuntimeException importFailed(Throwable e, ImportCounter counter) {
+        if (e instanceof InterruptedException ie) {
+            return new InterruptedRuntimeException(ie);
+        }
+        String message = MessageFormat.format("import failed. committed_rows={0}: {1}", counter.rowCount.get(), e.getMessage());
+        if (e instanceof IllegalArgumentException) {
+            return new IllegalArgumentException(message, e);
+        }
+        if (e instanceof IOException ioe) {
+            return new UncheckedIOException(message, ioe);
+        }
+        return new RuntimeException(message, e);
+    }
+
+    private TableMetadata findTableMetadata(String tableName) {
+        try {
+            var opt = metadataCache.findTableMetadata(tableName);
+            if (opt.isEmpty()) {
+                throw new IllegalArgumentException(MessageFormat.format("table not found. specified table name: {0}", tableName));
+            }
+            return opt.get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            throw new InterruptedRuntimeException(e);
+        }
+    }
+
+    /**
+     * put a batch. returns false if a worker failed.
+     */
+    private static boolean put(BlockingQueue<List<TgBindParameters>> queue, List<TgBindParameters> batch, AtomicReference<Throwable> error) throws InterruptedException {
+        while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+            if (error.get() != null) {
+                return false;
+            }
+        }
+        return error.get() == null;
+    }
+
+    private static class ImportCounter {
+        final AtomicLong rowCount = new AtomicLong();
+        final AtomicLong batchCount = new AtomicLong();
+        final AtomicInteger retryCount = new AtomicInteger();
+    }
+
+    /**
+     * insert statement of the columns in the file. the table and the columns are taken from the metadata, and written as delimited identifiers. placeholders are
+     * named by position, because column names may not be valid as placeholder names.
+     */
+    private record InsertStatement(String sql, ParameterDefinition definition) {
+
+        InsertStatement(String tableName, List<SqlColumn> columnList) {
+            this(createSql(tableName, columnList), createDefinition(columnList));
+        }
+
+        private static String createSql(String tableName, List<SqlColumn> columnList) {
+            var names = new StringBuilder();
+            var values = new StringBuilder();
+            for (int i = 0; i < columnList.size(); i++) {
+                if (i != 0) {
+                    names.append(", ");
+                    values.append(", ");
+                }
+                names.append(quote(columnList.get(i).columnName()));
+                values.append(":p").append(i);
+            }
+            return "insert into " + quote(tableName) + " (" + names + ") values (" + values + ")";
+        }
+
+        private static String quote(String identifier) {
+            return "\"" + identifier.replace("\"", "\"\"") + "\"";
+        }
+
+        private static ParameterDefinition createDefinition(List<SqlColumn> columnList) {
+            var typeMap = new LinkedHashMap<String, Object>(columnList.size());
+            for (int i = 0; i < columnList.size(); i++) {
+                typeMap.put("p" + i, columnList.get(i).columnType());
+            }
+            return ParameterUtil.of(typeMap);
+        }
+    }
+
+    /**
+     * insert batches until the end (worker).
+     */
+    private void insert(InsertStatement insert, TgTxOption txOption, List<String> writePreserve, BlockingQueue<List<TgBindParameters>> queue, ImportCounter counter)
+            throws IOException, InterruptedException, TsurugiTransactionException {
+        try (var session = pool.getSession()) {
+            pool.getStatementCache(session).executeStatement(insert.sql(), insert.definition(), ps -> {
+                for (;;) {
+                    var batch = queue.take();
+                    if (batch == END) {
+                        break;
+                    }
+
+                    int[] retry = { 0 };
+                    long rows = retryPolicy.execute(txOption, writePreserve, (option, retryCount) -> {
+                        retry[0] = retryCount;
+                        try (var transaction = session.createTransaction(option)) {
+                            var count = transaction.executeAndGetCountDetail(ps, batch);
+                            transaction.commit(TgCommitType.DEFAULT);
+                            return count.getLowCounterMap().values().stream().mapToLong(Long::longValue).sum();
+                        }
+                    });
+                    counter.rowCount.addAndGet(rows);
+                    counter.batchCount.incrementAndGet();
+                    counter.retryCount.addAndGet(retry[0]);
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * rows in the file.
+     */
+    private abstract static class RowSource {
+
+        /**
+         * read the column names, and decide the target columns.
+         */
+        abstract List<SqlColumn> readColumns(TableMetadata metadata) throws IOException;
+
+        /**
+         * read the next row.
+         *
+         * @return values of placeholders (null if end of file)
+         */
+        abstract Map<String, Object> next() throws IOException;
+
+        abstract long getLineNumber();
+
+        static List<SqlColumn> toColumns(TableMetadata metadata, List<String> nameList) {
+            var columnMap = new HashMap<String, SqlColumn>();
+            for (var column : metadata.columns()) {
+                columnMap.put(column.columnName().toLowerCase(), column);
+            }
+
+            var list = new ArrayList<SqlColumn>(nameList.size());
+            for (String name : nameList) {
+                var column = columnMap.get((name == null) ? "" : name.trim().toLowerCase());
+                if (column == null) {
+                    throw new IllegalArgumentException(MessageFormat.format("column not found. table={0}, column={1}", metadata.tableName(), name));
+                }
+                checkType(metadata, column);
+                list.add(column);
+            }
+            if (list.isEmpty()) {
+                throw new IllegalArgumentException("no column in the file");
+            }
+            return list;
+        }
+
+        private static void checkType(TableMetadata metadata, SqlColumn column) {
+            String type = column.columnType().trim().toUpperCase();
+            if (type.startsWith("BLOB") || type.startsWith("CLOB") || type.contains("LARGE OBJECT")) {
+                throw new IllegalArgumentException(
+                        MessageFormat.format("BLOB and CLOB columns cannot be imported. table={0}, column={1}, type={2}", metadata.tableName(), column.columnName(), column.columnType()));
+            }
+            try {
+                ParameterType.of(type);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        MessageFormat.format("column type not supported. table={0}, column={1}, type={2}", metadata.tableName(), column.columnName(), column.columnType()), e);
+            }
+        }
+    }
+
+    private static class CsvSource extends RowSource {
+        private final BufferedReader reader;
+        private int columnSize;
+        private long lineNumber = 1;
+        private long recordLineNumber;
+
+        CsvSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        List<SqlColumn> readColumns(TableMetadata metadata) throws IOException {
+            reader.mark(1);
+            if (reader.read() != '\uFEFF') { // BOM
+                reader.reset();
+            }
+            var header = readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("no header line in the file");
+            }
+            var list = toColumns(metadata, header);
+            this.columnSize = list.size();
+            return list;
+        }
+
+        @Override
+        Map<String, Object> next() throws IOException {
+            for (;;) {
+                var record = readRecord();
+                if (record == null) {
+                    return null;
+                }
+                if (record.size() == 1 && record.get(0) == null && columnSize > 1) { // empty line (a null value if there is only one column)
+                    continue;
+                }
+                if (record.size() != columnSize) {
+                    throw new IllegalArgumentException(MessageFormat.format("number of fields is {0} (expected {1}) (line {2})", record.size(), columnSize, recordLineNumber));
+                }
+                var map = new HashMap<String, Object>(columnSize * 2);
+                for (int i = 0; i < columnSize; i++) {
+                    map.put("p" + i, record.get(i));
+                }
+                return map;
+            }
+        }
+
+        @Override
+        long getLineNumber() {
+            return this.recordLineNumber;
+        }
+
+        /**
+         * read a record (RFC 4180). an empty field without quotes is null.
+         */
+        private List<String> readRecord() throws IOException {
+            this.recordLineNumber = lineNumber;
+            int c = reader.read();
+            if (c < 0) {
+                return null;
+            }
+
+            var list = new ArrayList<String>();
+            var sb = new StringBuilder();
+            boolean quoted = false;
+            for (;;) {
+                if (c == '"' && sb.length() == 0 && !quoted) {
+                    quoted = true;
+                    for (;;) { // quoted field
+                        c = reader.read();
+                        if (c < 0) {
+                            throw new IllegalArgumentException(MessageFormat.format("unterminated quote (line {0})", recordLineNumber));
+                        }
+                        if (c == '"') {
+                            c = reader.read();
+                            if (c != '"') {
+                                break;
+                            }
+                        } else if (c == '\n') {
+                            lineNumber++;
+                        }
+                        sb.append((char) c);
+                    }
+                    continue;
+                }
+                if (c == ',' || c == '\n' || c == '\r' || c < 0) {
+                    list.add((sb.length() == 0 && !quoted) ? null : sb.toString());
+                    sb.setLength(0);
+                    quoted = false;
+                    if (c == ',') {
+                        c = reader.read();
+                        continue;
+                    }
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (c >= 0) {
+                        lineNumber++;
+                    }
+                    return list;
+                }
+                sb.append((char) c);
+                c = reader.read();
+            }
+        }
+    }
+
+    private static class NdjsonSource extends RowSource {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private final Map<String, String> placeholderMap = new HashMap<>();
+        private Map<String, Object> firstRow;
+        private long lineNumber = 0;
+
+        NdjsonSource(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        List<SqlColumn> readColumns(TableMetadata metadata) throws IOException {
+            var row = readRow();
+            if (row == null) {
+                throw new IllegalArgumentException("no row in the file");
+            }
+            var nameList = new ArrayList<>(row.keySet());
+            var list = toColumns(metadata, nameList);
+            for (int i = 0; i < nameList.size(); i++) {
+                placeholderMap.put(nameList.get(i), "p" + i);
+            }
+            this.firstRow = row;
+            return list;
+        }
+
+        @Override
+        Map<String, Object> next() throws IOException {
+            Map<String, Object> row;
+            if (firstRow != null) {
+                row = firstRow;
+                this.firstRow = null;
+            } else {
+                row = readRow();
+                if (row == null) {
+                    return null;
+                }
+            }
+
+            var map = new HashMap<String, Object>(placeholderMap.size() * 2);
+            for (var placeholder : placeholderMap.values()) {
+                map.put(placeholder, null); // missing key is null
+            }
+            for (var entry : row.entrySet()) {
+                String placeholder = placeholderMap.get(entry.getKey());
+                if (placeholder == null) {
+                    throw new IllegalArgumentException(MessageFormat.format("unexpected column {0} (line {1})", entry.getKey(), lineNumber));
+                }
+                map.put(placeholder, entry.getValue());
+            }
+            return map;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map<String, Object> readRow() throws IOException {
+            for (;;) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    return objectMapper.readValue(line, LinkedHashMap.class);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException(MessageFormat.format("illegal JSON (line {0}): {1}", lineNumber, e.getMessage()), e);
+                }
+            }
+        }
+
+        @Override
+        long getLineNumber() {
+            return this.lineNumber;
+        }
+    }
+}
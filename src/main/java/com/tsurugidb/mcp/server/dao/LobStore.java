@@ -0,0 +1,308 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.iceaxe.sql.type.TgBlobReference;
+import com.tsurugidb.iceaxe.sql.type.TgClobReference;
+import com.tsurugidb.iceaxe.transaction.exception.TsurugiTransactionException;
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
+
+/**
+ * store of LOB values returned by queries.
+ * <p>
+ * A LOB reference is valid only in its transaction, so the value is copied to a temporary file by the server-side transfer (not via heap), and a handle is
+ * returned in the query result instead of the value. The client reads the value by byte range with {@link #read(String, long, int)}.
+ * </p>
+ */
+public class LobStore implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(LobStore.class);
+
+    public static final String TYPE_BLOB = "BLOB";
+    public static final String TYPE_CLOB = "CLOB";
+
+    /** maximum length of a UTF-8 character [byte] */
+    private static final int UTF8_MAX_LENGTH = 4;
+
+    private final AtomicInteger lobId = new AtomicInteger();
+    private final long idleNanos;
+    private final ConcurrentHashMap<String, LobEntry> lobMap = new ConcurrentHashMap<>();
+    private Path directory;
+    private volatile boolean closed = false;
+
+    public LobStore(Arguments arguments, TaskScheduler scheduler) {
+        long idleTimeout = arguments.getLobIdleTimeout();
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleTimeout);
+        if (idleTimeout > 0) {
+            long interval = Math.max(1, Math.min(idleTimeout / 2, 30));
+            scheduler.scheduleWithFixedDelay(this::sweep, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * handle of a LOB value in a query result.
+     *
+     * @param lobHandle handle to read the value
+     * @param type      {@code BLOB} or {@code CLOB}
+     * @param size      size of the value [byte] (CLOB is UTF-8)
+     */
+    public record LobHandle(String lobHandle, String type, long size) {
+    }
+
+    /**
+     * chunk of a LOB value.
+     *
+     * @param lobHandle  handle of the value
+     * @param type       {@code BLOB} or {@code CLOB}
+     * @param size       size of the value [byte]
+     * @param offset     start position of the chunk [byte]
+     * @param length     length of the chunk [byte]
+     * @param hasMore    whether there are bytes after the chunk
+     * @param nextOffset offset to read the next chunk
+     * @param data       Base64 for BLOB, text for CLOB
+     */
+    public record LobChunk(String lobHandle, String type, long size, long offset, int length, boolean hasMore, long nextOffset, String data) {
+    }
+
+    private static class LobEntry {
+        final String type;
+        final Path path;
+        final long size;
+        volatile long lastAccessTime = System.nanoTime();
+
+        LobEntry(String type, Path path, long size) {
+            this.type = type;
+            this.path = path;
+            this.size = size;
+        }
+    }
+
+    public LobHandle put(TgBlobReference blob) throws IOException, InterruptedException, TsurugiTransactionException {
+        String handle = createHandle();
+        var path = createFile(handle);
+        blob.copyTo(path);
+        return register(handle, TYPE_BLOB, path);
+    }
+
+    public LobHandle put(TgClobReference clob) throws IOException, InterruptedException, TsurugiTransactionException {
+        String handle = createHandle();
+        var path = createFile(handle);
+        clob.copyTo(path);
+        return register(handle, TYPE_CLOB, path);
+    }
+
+    private String createHandle() {
+        return "lob" + lobId.getAndIncrement();
+    }
+
+    private synchronized Path createFile(String handle) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("LobStore already closed");
+        }
+        if (this.directory == null) {
+            this.directory = Files.createTempDirectory("tsurugi-mcp-lob");
+        }
+        return directory.resolve(handle);
+    }
+
+    private LobHandle register(String handle, String type, Path path) throws IOException {
+        long size = Files.size(path);
+        lobMap.put(handle, new LobEntry(type, path, size));
+        return new LobHandle(handle, type, size);
+    }
+
+    /**
+     * read a chunk.
+     * <p>
+     * For CLOB, the chunk is shortened so that it does not end in the middle of a UTF-8 character, and so that the text escaped as a JSON string is not longer than
+     * maxTextLength. If the length is shorter than the first character, the chunk is extended to the whole character.
+     * </p>
+     *
+     * @param handle        LOB handle
+     * @param offset        start position [byte]
+     * @param maxLength     maximum length of the chunk [byte]
+     * @param maxTextLength maximum length of CLOB text escaped as a JSON string [byte]
+     * @return chunk
+     */
+    public LobChunk read(String handle, long offset, int maxLength, int maxTextLength) {
+        var entry = lobMap.get(handle);
+        if (entry == null) {
+            throw new IllegalArgumentException(MessageFormat.format("not found LOB. lob_handle={0} (closed by timeout)", handle));
+        }
+        entry.lastAccessTime = System.nanoTime();
+        if (offset < 0 || offset > entry.size) {
+            throw new IllegalArgumentException(MessageFormat.format("offset out of range. offset={0}, size={1}", offset, entry.size));
+        }
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException(MessageFormat.format("length must be > 0 (specified: {0})", maxLength));
+        }
+
+        boolean clob = TYPE_CLOB.equals(entry.type);
+        int readLength = clob ? Math.max(maxLength, UTF8_MAX_LENGTH) : maxLength;
+        int length = (int) Math.min(readLength, entry.size - offset);
+        byte[] bytes;
+        try (var channel = FileChannel.open(entry.path, StandardOpenOption.READ)) {
+            var buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, offset + buffer.position());
+                if (n < 0) {
+                    break;
+                }
+            }
+            bytes = (buffer.position() == length) ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        }
+
+        if (bytes.length == 0) { // empty LOB or the end
+            return new LobChunk(handle, entry.type, entry.size, offset, 0, false, offset, "");
+        }
+
+        String data;
+        if (clob) {
+            if ((bytes[0] & 0xc0) == 0x80) {
+                throw new IllegalArgumentException(MessageFormat.format("offset is in the middle of a character. offset={0}", offset));
+            }
+            int limit = Math.min(maxLength, bytes.length);
+            int end = utf8Boundary(bytes, limit, offset + limit >= entry.size);
+            if (end == 0) { // length is shorter than the first character
+                end = Math.min(utf8Length(bytes[0]), bytes.length);
+            }
+            end = escapedBoundary(bytes, end, maxTextLength);
+            data = new String(bytes, 0, end, StandardCharsets.UTF_8);
+            length = end;
+        } else {
+            data = Base64.getEncoder().encodeToString(bytes);
+            length = bytes.length;
+        }
+
+        long nextOffset = offset + length;
+        return new LobChunk(handle, entry.type, entry.size, offset, length, nextOffset < entry.size, nextOffset, data);
+    }
+
+    static int utf8Boundary(byte[] bytes, int end, boolean last) {
+        if (last) {
+            return end;
+        }
+        // back to the start of the last character
+        int i = end;
+        while (i > 0 && (bytes[i - 1] & 0xc0) == 0x80) {
+            i--;
+        }
+        if (i == 0) {
+            return end;
+        }
+        if (end - (i - 1) < utf8Length(bytes[i - 1])) {
+            return i - 1; // the last character is incomplete
+        }
+        return end;
+    }
+
+    /**
+     * shorten the text so that it is not longer than maxTextLength when escaped as a JSON string. at least one character is returned.
+     */
+    static int escapedBoundary(byte[] bytes, int end, int maxTextLength) {
+        int textLength = 0;
+        int i = 0;
+        while (i < end) {
+            int b = bytes[i] & 0xff;
+            int n = Math.min(utf8Length(bytes[i]), end - i);
+            textLength += (b < 0x80) ? escapedLength(b) : (n == 1) ? 3 /* U+FFFD */ : n;
+            if (textLength > maxTextLength) {
+                return (i == 0) ? n : i;
+            }
+            i += n;
+        }
+        return end;
+    }
+
+    private static int escapedLength(int c) {
+        return switch (c) {
+        case '"', '\\', '\b', '\f', '\n', '\r', '\t' -> 2;
+        default -> (c < 0x20) ? 6 : 1; // other control characters are escaped in 6 bytes
+        };
+    }
+
+    private static int utf8Length(byte leadByte) {
+        int lead = leadByte & 0xff;
+        return (lead >= 0xf0) ? 4 : (lead >= 0xe0) ? 3 : (lead >= 0xc0) ? 2 : 1;
+    }
+
+    public void release(String handle) {
+        var entry = lobMap.remove(handle);
+        if (entry != null) {
+            delete(entry);
+        }
+    }
+
+    int getCount() {
+        return lobMap.size();
+    }
+
+    /**
+     * delete LOB values which are not read within lob-idle-timeout.
+     */
+    void sweep() {
+        long now = System.nanoTime();
+        for (var i = lobMap.values().iterator(); i.hasNext();) {
+            var entry = i.next();
+            if (now - entry.lastAccessTime > idleNanos) {
+                i.remove();
+                delete(entry);
+            }
+        }
+    }
+
+    private void delete(LobEntry entry) {
+        try {
+            Files.deleteIfExists(entry.path);
+        } catch (IOException e) {
+            LOG.warn("LOB file delete error. path={}", entry.path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        lobMap.values().forEach(this::delete);
+        lobMap.clear();
+        if (this.directory != null) {
+            try {
+                Files.deleteIfExists(directory);
+            } catch (IOException e) {
+                LOG.warn("LOB directory delete error. path={}", directory, e);
+            }
+        }
+    }
+}
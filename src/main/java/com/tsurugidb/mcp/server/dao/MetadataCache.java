@@ -0,0 +1,237 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.entity.TableMetadata;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
+
+/**
+ * cache of table names and table metadata.
+ * <p>
+ * Entries expire after metadata-cache-ttl, and the oldest entries are evicted when the number of tables exceeds metadata-cache-size. {@link #invalidate()}
+ * discards all entries, including those being loaded at that time. A table which is not found is not cached.
+ * </p>
+ */
+public class MetadataCache {
+    private static final Logger LOG = LoggerFactory.getLogger(MetadataCache.class);
+
+    private final SessionPool pool;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Entry<List<String>> tableNames = null;
+    private final ConcurrentHashMap<String, Entry<TableMetadata>> tableMap = new ConcurrentHashMap<>();
+    private final List<Runnable> invalidationListenerList = new CopyOnWriteArrayList<>();
+
+    private record Entry<T>(T value, long generation, long expireTime) {
+    }
+
+    public MetadataCache(Arguments arguments, SessionPool pool, TaskScheduler scheduler) {
+        this.pool = pool;
+        long ttl = arguments.getMetadataCacheTtl();
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttl);
+        this.maxSize = arguments.getMetadataCacheSize();
+        if (ttl > 0) {
+            long interval = Math.max(1, Math.min(ttl, 60));
+            scheduler.scheduleWithFixedDelay(this::sweep, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * get table names.
+     *
+     * @return table names
+     */
+    public List<String> getTableNameList() throws IOException, InterruptedException {
+        var entry = this.tableNames;
+        if (isValid(entry, System.nanoTime())) {
+            return entry.value();
+        }
+
+        long gen = generation.get();
+        List<String> list;
+        try (var session = pool.getSession()) {
+            list = List.copyOf(session.getTableNameList());
+        }
+        if (ttlNanos > 0) {
+            this.tableNames = new Entry<>(list, gen, System.nanoTime() + ttlNanos);
+        }
+        return list;
+    }
+
+    /**
+     * find table metadata.
+     *
+     * @param tableName table name
+     * @return table metadata, empty if the table is not found
+     */
+    public Optional<TableMetadata> findTableMetadata(String tableName) throws IOException, InterruptedException {
+        var entry = tableMap.get(tableName);
+        if (isValid(entry, System.nanoTime())) {
+            return Optional.of(entry.value());
+        }
+
+        long gen = generation.get();
+        TableMetadata metadata;
+        try (var session = pool.getSession()) {
+            var opt = session.findTableMetadata(tableName);
+            if (opt.isEmpty()) {
+                tableMap.remove(tableName);
+                return Optional.empty();
+            }
+            metadata = TableMetadata.of(opt.get());
+        }
+        if (ttlNanos > 0) {
+            tableMap.put(tableName, new Entry<>(metadata, gen, System.nanoTime() + ttlNanos));
+            if (tableMap.size() > maxSize) {
+                evict();
+            }
+        }
+        return Optional.of(metadata);
+    }
+
+    /**
+     * find table metadata of the tables in parallel.
+     * <p>
+     * The tables not in the cache are fetched by at most {@code parallelism} sessions at a time.
+     * </p>
+     *
+     * @param tableNames  table names
+     * @param parallelism maximum number of concurrent fetches
+     * @return table metadata in the order of the names, null for the table not found
+     */
+    public List<TableMetadata> findTableMetadataList(List<String> tableNames, int parallelism) throws IOException, InterruptedException {
+        int size = tableNames.size();
+        var result = new TableMetadata[size];
+        int workers = Math.min(parallelism, size);
+        if (workers <= 1) {
+            for (int i = 0; i < size; i++) {
+                result[i] = findTableMetadata(tableNames.get(i)).orElse(null);
+            }
+            return Arrays.asList(result);
+        }
+
+        var index = new AtomicInteger();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futureList = new ArrayList<Future<?>>(workers);
+            for (int w = 0; w < workers; w++) {
+                futureList.add(executor.submit(() -> {
+                    for (int i = index.getAndIncrement(); i < size; i = index.getAndIncrement()) {
+                        result[i] = findTableMetadata(tableNames.get(i)).orElse(null);
+                    }
+                    return null;
+                }));
+            }
+            try {
+                for (var future : futureList) {
+                    future.get();
+                }
+            } catch (ExecutionException e) {
+                executor.shutdownNow();
+                var cause = e.getCause();
+                if (cause instanceof IOException ioe) {
+                    throw ioe;
+                }
+                if (cause instanceof RuntimeException re) {
+                    throw re;
+                }
+                if (cause instanceof InterruptedException ie) {
+                    throw ie;
+                }
+                throw new RuntimeException(cause);
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+        return Arrays.asList(result);
+    }
+
+    private boolean isValid(Entry<?> entry, long now) {
+        return entry != null && entry.generation() == generation.get() && now - entry.expireTime() < 0;
+    }
+
+    private void evict() {
+        sweep();
+        while (tableMap.size() > maxSize) {
+            var oldest = tableMap.entrySet().stream() //
+                    .min((e1, e2) -> Long.compare(e1.getValue().expireTime() - e2.getValue().expireTime(), 0)) //
+                    .map(Map.Entry::getKey);
+            if (oldest.isEmpty()) {
+                break;
+            }
+            tableMap.remove(oldest.get());
+        }
+    }
+
+    /**
+     * add a listener called when the schema is changed by DDL.
+     *
+     * @param listener listener (called on the thread of the DDL)
+     */
+    public void addInvalidationListener(Runnable listener) {
+        invalidationListenerList.add(listener);
+    }
+
+    /**
+     * discard all entries. called when the schema is changed by DDL.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        this.tableNames = null;
+        tableMap.clear();
+        LOG.debug("metadata cache invalidated");
+
+        for (var listener : invalidationListenerList) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                LOG.warn("invalidation listener error", e);
+            }
+        }
+    }
+
+    /**
+     * remove expired entries.
+     */
+    void sweep() {
+        long now = System.nanoTime();
+        tableMap.values().removeIf(entry -> !isValid(entry, now));
+    }
+
+    int size() {
+        return tableMap.size();
+    }
+}
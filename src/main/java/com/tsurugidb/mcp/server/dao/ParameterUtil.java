@@ -0,0 +1,212 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.tsurugidb.iceaxe.sql.parameter.TgBindParameters;
+import com.tsurugidb.iceaxe.sql.parameter.TgBindVariables;
+
+/**
+ * conversion of typed placeholders and JSON values.
+ */
+public class ParameterUtil {
+
+    public enum ParameterType {
+        BOOLEAN, INT, BIGINT, REAL, DOUBLE, DECIMAL, VARCHAR, VARBINARY, DATE, TIME, TIMESTAMP, TIME_WITH_TIME_ZONE, TIMESTAMP_WITH_TIME_ZONE;
+
+        public static ParameterType of(String type) {
+            String s = type.trim().toUpperCase();
+            int n = s.indexOf('(');
+            if (n >= 0) { // VARCHAR(20), DECIMAL(10, 2)
+                int m = s.indexOf(')', n);
+                s = (s.substring(0, n) + ((m >= 0) ? s.substring(m + 1) : "")).trim();
+            }
+            s = s.replaceAll("\\s+", " ");
+
+            return switch (s) {
+            case "BOOLEAN" -> BOOLEAN;
+            case "INT", "INTEGER", "INT4" -> INT;
+            case "BIGINT", "INT8", "LONG" -> BIGINT;
+            case "REAL", "FLOAT", "FLOAT4" -> REAL;
+            case "DOUBLE", "DOUBLE PRECISION", "FLOAT8" -> DOUBLE;
+            case "DECIMAL", "NUMERIC" -> DECIMAL;
+            case "CHAR", "CHARACTER", "VARCHAR", "CHAR VARYING", "CHARACTER VARYING", "STRING" -> VARCHAR;
+            case "BINARY", "VARBINARY", "BINARY VARYING" -> VARBINARY;
+            case "DATE" -> DATE;
+            case "TIME" -> TIME;
+            case "TIMESTAMP" -> TIMESTAMP;
+            case "TIME WITH TIME ZONE" -> TIME_WITH_TIME_ZONE;
+            case "TIMESTAMP WITH TIME ZONE" -> TIMESTAMP_WITH_TIME_ZONE;
+            default -> throw new IllegalArgumentException("Unexpected parameter type: " + type);
+            };
+        }
+    }
+
+    /**
+     * create placeholder definitions.
+     *
+     * @param typeMap name and SQL type of placeholders
+     * @return definitions
+     */
+    public static ParameterDefinition of(Map<String, Object> typeMap) {
+        var map = new LinkedHashMap<String, ParameterType>(typeMap.size());
+        var variables = TgBindVariables.of();
+        var signature = new StringBuilder();
+        for (var entry : typeMap.entrySet()) {
+            String name = entry.getKey();
+            if (entry.getValue() == null) {
+                throw new IllegalArgumentException(MessageFormat.format("parameter type not specified. name={0}", name));
+            }
+            var type = ParameterType.of(entry.getValue().toString());
+            map.put(name, type);
+            addVariable(variables, name, type);
+
+            if (signature.length() != 0) {
+                signature.append(',');
+            }
+            signature.append(name).append(':').append(type);
+        }
+        return new ParameterDefinition(map, variables, signature.toString());
+    }
+
+    private static void addVariable(TgBindVariables variables, String name, ParameterType type) {
+        switch (type) {
+        case BOOLEAN -> variables.addBoolean(name);
+        case INT -> variables.addInt(name);
+        case BIGINT -> variables.addLong(name);
+        case REAL -> variables.addFloat(name);
+        case DOUBLE -> variables.addDouble(name);
+        case DECIMAL -> variables.addDecimal(name);
+        case VARCHAR -> variables.addString(name);
+        case VARBINARY -> variables.addBytes(name);
+        case DATE -> variables.addDate(name);
+        case TIME -> variables.addTime(name);
+        case TIMESTAMP -> variables.addDateTime(name);
+        case TIME_WITH_TIME_ZONE -> variables.addOffsetTime(name);
+        case TIMESTAMP_WITH_TIME_ZONE -> variables.addOffsetDateTime(name);
+        }
+    }
+
+    /**
+     * placeholder definitions.
+     */
+    public static class ParameterDefinition {
+        private final Map<String, ParameterType> typeMap;
+        private final TgBindVariables variables;
+        private final String signature;
+
+        ParameterDefinition(Map<String, ParameterType> typeMap, TgBindVariables variables, String signature) {
+            this.typeMap = typeMap;
+            this.variables = variables;
+            this.signature = signature;
+        }
+
+        public TgBindVariables getVariables() {
+            return this.variables;
+        }
+
+        /**
+         * get names and types (key of prepared statement cache).
+         */
+        public String getSignature() {
+            return this.signature;
+        }
+
+        /**
+         * convert values to parameters.
+         *
+         * @param valueMap name and value (JSON) of placeholders
+         * @return parameters
+         */
+        public TgBindParameters toParameters(Map<String, Object> valueMap) {
+            for (String name : valueMap.keySet()) {
+                if (!typeMap.containsKey(name)) {
+                    throw new IllegalArgumentException(MessageFormat.format("parameter type not specified. name={0}", name));
+                }
+            }
+
+            var parameters = TgBindParameters.of();
+            for (var entry : typeMap.entrySet()) {
+                String name = entry.getKey();
+                if (!valueMap.containsKey(name)) {
+                    throw new IllegalArgumentException(MessageFormat.format("parameter value not specified. name={0}", name));
+                }
+                var type = entry.getValue();
+                Object value = valueMap.get(name);
+                try {
+                    addParameter(parameters, name, type, value);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException(MessageFormat.format("illegal parameter value. name={0}, type={1}, value={2}", name, type, value), e);
+                }
+            }
+            return parameters;
+        }
+    }
+
+    private static void addParameter(TgBindParameters parameters, String name, ParameterType type, Object value) {
+        switch (type) {
+        case BOOLEAN -> parameters.add(name, (value == null) ? null : toBoolean(value));
+        case INT -> parameters.add(name, (value == null) ? null : (Integer) toDecimal(value).intValueExact());
+        case BIGINT -> parameters.add(name, (value == null) ? null : (Long) toDecimal(value).longValueExact());
+        case REAL -> parameters.add(name, (value == null) ? null : (Float) toDecimal(value).floatValue());
+        case DOUBLE -> parameters.add(name, (value == null) ? null : (Double) toDecimal(value).doubleValue());
+        case DECIMAL -> parameters.add(name, (value == null) ? null : toDecimal(value));
+        case VARCHAR -> parameters.add(name, (value == null) ? null : value.toString());
+        case VARBINARY -> parameters.add(name, (value == null) ? null : Base64.getDecoder().decode(value.toString()));
+        case DATE -> parameters.add(name, (value == null) ? null : LocalDate.parse(value.toString()));
+        case TIME -> parameters.add(name, (value == null) ? null : LocalTime.parse(value.toString()));
+        case TIMESTAMP -> parameters.add(name, (value == null) ? null : LocalDateTime.parse(toIsoDateTime(value)));
+        case TIME_WITH_TIME_ZONE -> parameters.add(name, (value == null) ? null : OffsetTime.parse(value.toString()));
+        case TIMESTAMP_WITH_TIME_ZONE -> parameters.add(name, (value == null) ? null : OffsetDateTime.parse(toIsoDateTime(value)));
+        }
+    }
+
+    private static Boolean toBoolean(Object value) {
+        if (value instanceof Boolean b) {
+            return b;
+        }
+        return switch (value.toString().toLowerCase()) {
+        case "true" -> Boolean.TRUE;
+        case "false" -> Boolean.FALSE;
+        default -> throw new IllegalArgumentException("not boolean");
+        };
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value instanceof BigDecimal d) {
+            return d;
+        }
+        return new BigDecimal(value.toString().trim());
+    }
+
+    private static String toIsoDateTime(Object value) {
+        String s = value.toString().trim();
+        if (s.length() > 10 && s.charAt(10) == ' ') { // 2025-01-01 12:34:56
+            return s.substring(0, 10) + 'T' + s.substring(11);
+        }
+        return s;
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.iceaxe.session.TsurugiSession;
+import com.tsurugidb.iceaxe.sql.TsurugiSql;
+import com.tsurugidb.iceaxe.sql.TsurugiSqlPreparedQuery;
+import com.tsurugidb.iceaxe.sql.TsurugiSqlPreparedStatement;
+import com.tsurugidb.iceaxe.sql.parameter.TgBindParameters;
+import com.tsurugidb.iceaxe.sql.parameter.TgParameterMapping;
+import com.tsurugidb.iceaxe.sql.result.TgResultMapping;
+import com.tsurugidb.iceaxe.sql.result.TsurugiResultRecord;
+import com.tsurugidb.iceaxe.transaction.exception.TsurugiTransactionException;
+import com.tsurugidb.mcp.server.dao.ParameterUtil.ParameterDefinition;
+
+/**
+ * prepared statements of a session. the least recently used one is closed when exceeded.
+ * <p>
+ * The statements are closed with the session. Use {@link #executeQuery(String, ParameterDefinition, StatementAction)} or
+ * {@link #executeStatement(String, ParameterDefinition, StatementAction)}, or lease the statement by {@link #leaseQuery(String, ParameterDefinition)} while its result
+ * is read. A leased statement is not closed until the lease is closed, even if it is evicted from the cache.
+ * </p>
+ */
+public class PreparedStatementCache {
+    private static final Logger LOG = LoggerFactory.getLogger(PreparedStatementCache.class);
+
+    private final TsurugiSession session;
+    private final int maxSize;
+    private final LinkedHashMap<String, TsurugiSql> statementMap;
+    /** number of leases of each statement */
+    private final IdentityHashMap<TsurugiSql, int[]> leaseCountMap = new IdentityHashMap<>();
+
+    PreparedStatementCache(TsurugiSession session, int maxSize) {
+        this.session = session;
+        this.maxSize = maxSize;
+        this.statementMap = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TsurugiSql> eldest) {
+                if (size() > PreparedStatementCache.this.maxSize) {
+                    closeIfUnused(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * prepared statement leased from the cache.
+     *
+     * @param <S> statement type
+     */
+    public final class StatementLease<S extends TsurugiSql> implements AutoCloseable {
+        private final S statement;
+        private boolean closed = false;
+
+        private StatementLease(S statement) {
+            this.statement = statement;
+        }
+
+        /**
+         * get the statement.
+         *
+         * @return prepared statement (must not be closed by the caller)
+         */
+        public S get() {
+            return statement;
+        }
+
+        /**
+         * discard the statement from the cache, because it may be invalid (e.g. the table was dropped). it is closed when the lease is closed.
+         */
+        public void discard() {
+            remove(statement);
+        }
+
+        /**
+         * release the statement. it is closed if it is not owned by the cache.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                this.closed = true;
+                release(statement);
+            }
+        }
+    }
+
+    /**
+     * lease the prepared query of the SQL.
+     *
+     * @param sql        SQL
+     * @param definition placeholders
+     * @return lease (must be closed after the result is closed)
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized StatementLease<TsurugiSqlPreparedQuery<TgBindParameters, TsurugiResultRecord>> leaseQuery(String sql, ParameterDefinition definition)
+            throws IOException, InterruptedException {
+        String key = "Q" + definition.getSignature() + "\0" + sql;
+        var ps = statementMap.get(key);
+        if (ps == null) {
+            var parameterMapping = TgParameterMapping.of(definition.getVariables());
+            var resultMapping = TgResultMapping.of(record -> record);
+            ps = session.createQuery(sql, parameterMapping, resultMapping);
+            if (maxSize > 0) {
+                statementMap.put(key, ps);
+            }
+        }
+        return lease((TsurugiSqlPreparedQuery<TgBindParameters, TsurugiResultRecord>) ps);
+    }
+
+    /**
+     * lease the prepared statement of the SQL.
+     *
+     * @param sql        SQL
+     * @param definition placeholders
+     * @return lease (must be closed after the statement is executed)
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized StatementLease<TsurugiSqlPreparedStatement<TgBindParameters>> leaseStatement(String sql, ParameterDefinition definition)
+            throws IOException, InterruptedException {
+        String key = "S" + definition.getSignature() + "\0" + sql;
+        var ps = statementMap.get(key);
+        if (ps == null) {
+            var parameterMapping = TgParameterMapping.of(definition.getVariables());
+            ps = session.createStatement(sql, parameterMapping);
+            if (maxSize > 0) {
+                statementMap.put(key, ps);
+            }
+        }
+        return lease((TsurugiSqlPreparedStatement<TgBindParameters>) ps);
+    }
+
+    private <S extends TsurugiSql> StatementLease<S> lease(S ps) {
+        leaseCountMap.computeIfAbsent(ps, k -> new int[1])[0]++;
+        return new StatementLease<>(ps);
+    }
+
+    @FunctionalInterface
+    public interface StatementAction<S, R> {
+        /**
+         * execute the statement.
+         *
+         * @param ps prepared statement (must not be closed by the action)
+         * @return result
+         */
+        R run(S ps) throws IOException, InterruptedException, TsurugiTransactionException;
+    }
+
+    /**
+     * run the action with the prepared query of the SQL.
+     * <p>
+     * The statement is released when the action returns, so the action must read the result by itself. Use {@link #leaseQuery(String, ParameterDefinition)} to keep
+     * the result open.
+     * </p>
+     *
+     * @param sql        SQL
+     * @param definition placeholders
+     * @param action     action
+     * @return result of the action
+     */
+    public <R> R executeQuery(String sql, ParameterDefinition definition, StatementAction<TsurugiSqlPreparedQuery<TgBindParameters, TsurugiResultRecord>, R> action)
+            throws IOException, InterruptedException, TsurugiTransactionException {
+        return execute(leaseQuery(sql, definition), action);
+    }
+
+    /**
+     * run the action with the prepared statement of the SQL.
+     *
+     * @param sql        SQL
+     * @param definition placeholders
+     * @param action     action
+     * @return result of the action
+     */
+    public <R> R executeStatement(String sql, ParameterDefinition definition, StatementAction<TsurugiSqlPreparedStatement<TgBindParameters>, R> action)
+            throws IOException, InterruptedException, TsurugiTransactionException {
+        return execute(leaseStatement(sql, definition), action);
+    }
+
+    /**
+     * run the action, and release the statement.
+     * <p>
+     * If the action fails other than by serialization failure, the statement is discarded from the cache, because it may be invalid (e.g. the table was dropped).
+     * </p>
+     */
+    private <S extends TsurugiSql, R> R execute(StatementLease<S> lease, StatementAction<S, R> action) throws IOException, InterruptedException, TsurugiTransactionException {
+        try (lease) {
+            return action.run(lease.get());
+        } catch (IOException | InterruptedException | TsurugiTransactionException | RuntimeException e) {
+            if (!RetryPolicy.isSerializationFailure(e)) {
+                lease.discard();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * whether the statement is owned by the cache.
+     */
+    synchronized boolean isCached(TsurugiSql ps) {
+        return statementMap.containsValue(ps);
+    }
+
+    /**
+     * whether the statement is leased.
+     */
+    synchronized boolean isLeased(TsurugiSql ps) {
+        return leaseCountMap.containsKey(ps);
+    }
+
+    /**
+     * discard a statement which failed (e.g. the table was dropped).
+     */
+    synchronized void remove(TsurugiSql ps) {
+        if (statementMap.values().remove(ps)) {
+            closeIfUnused(ps);
+        }
+    }
+
+    private synchronized void release(TsurugiSql ps) {
+        var count = leaseCountMap.get(ps);
+        if (count != null && --count[0] > 0) {
+            return;
+        }
+        leaseCountMap.remove(ps);
+        if (!statementMap.containsValue(ps)) {
+            closeStatement(ps);
+        }
+    }
+
+    synchronized int size() {
+        return statementMap.size();
+    }
+
+    /**
+     * close a statement which was removed from the cache. a leased one is closed when released.
+     */
+    private void closeIfUnused(TsurugiSql ps) {
+        if (!leaseCountMap.containsKey(ps)) {
+            closeStatement(ps);
+        }
+    }
+
+    private static void closeStatement(TsurugiSql ps) {
+        try {
+            ps.close();
+        } catch (Exception e) {
+            LOG.warn("prepared statement close error", e);
+        }
+    }
+}
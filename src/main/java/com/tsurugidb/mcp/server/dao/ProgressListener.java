@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+/**
+ * progress of a tool call.
+ */
+public interface ProgressListener {
+
+    /** listener which ignores the progress */
+    ProgressListener NONE = new ProgressListener() {
+        @Override
+        public void phase(String phase) {
+            // do nothing
+        }
+
+        @Override
+        public void rows(long rowCount, long byteSize) {
+            // do nothing
+        }
+    };
+
+    /**
+     * notify the current phase.
+     *
+     * @param phase phase (e.g. executing, committing)
+     */
+    void phase(String phase);
+
+    /**
+     * notify the number of rows read so far.
+     *
+     * @param rowCount number of rows read by the query
+     * @param byteSize size of the page being buffered
+     */
+    void rows(long rowCount, long byteSize);
+}
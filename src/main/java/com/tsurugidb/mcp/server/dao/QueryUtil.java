@@ -17,21 +17,26 @@ package com.tsurugidb.mcp.server.dao;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import com.tsurugidb.iceaxe.exception.TsurugiExceptionUtil;
 import com.tsurugidb.iceaxe.session.TsurugiSession;
-import com.tsurugidb.iceaxe.sql.TsurugiSqlQuery;
+import com.tsurugidb.iceaxe.sql.TsurugiSql;
+import com.tsurugidb.iceaxe.sql.parameter.TgBindParameters;
 import com.tsurugidb.iceaxe.sql.result.TgResultMapping;
 import com.tsurugidb.iceaxe.sql.result.TsurugiQueryResult;
 import com.tsurugidb.iceaxe.sql.result.TsurugiResultRecord;
@@ -41,74 +46,277 @@ import com.tsurugidb.iceaxe.transaction.TgCommitType;
 import com.tsurugidb.iceaxe.transaction.TsurugiTransaction;
 import com.tsurugidb.iceaxe.transaction.exception.TsurugiTransactionException;
 import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOptionRtx;
 import com.tsurugidb.iceaxe.util.InterruptedRuntimeException;
 import com.tsurugidb.mcp.server.Arguments;
-
-import io.modelcontextprotocol.json.McpJsonMapper;
+import com.tsurugidb.mcp.server.dao.ParameterUtil.ParameterDefinition;
+import com.tsurugidb.mcp.server.dao.TransactionRegistry.PinnedTransaction;
+import com.tsurugidb.mcp.server.util.ByteArrayBuffer;
+import com.tsurugidb.mcp.server.util.JsonUtil;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
 
 public class QueryUtil {
     private static final Logger LOG = LoggerFactory.getLogger(QueryUtil.class);
 
     private static final AtomicInteger QUERY_ID = new AtomicInteger();
 
-    private final McpJsonMapper jsonMapper;
+    /** reserved size for the fields after rows */
+    private static final int TRAILER_SIZE = 128;
+
+    private final ObjectMapper objectMapper = JsonUtil.createObjectMapper();
     private final SessionPool pool;
+    private final LobStore lobStore;
+    private final TaskScheduler scheduler;
     private final int limitSize;
-    private final Map<String, QueryCache> queryMap = new ConcurrentHashMap<>();
+    private final int cursorMaxOpen;
+    private final long cursorIdleNanos;
+    private final boolean prefetch;
+    private final RetryPolicy retryPolicy;
+    /** ongoing queries. the least recently used one is the first */
+    private final LinkedHashMap<String, QueryCache> queryMap = new LinkedHashMap<>();
 
-    public QueryUtil(McpJsonMapper jsonMapper, Arguments arguments, SessionPool pool) {
-        this.jsonMapper = jsonMapper;
+    public QueryUtil(Arguments arguments, SessionPool pool, LobStore lobStore, TaskScheduler scheduler) {
         this.pool = pool;
+        this.lobStore = lobStore;
+        this.scheduler = scheduler;
         this.limitSize = arguments.getResponseLimitSize();
+        this.cursorMaxOpen = arguments.getCursorMaxOpen();
+        this.prefetch = arguments.isQueryPrefetch();
+        this.retryPolicy = new RetryPolicy(arguments);
+
+        long idleTimeout = arguments.getCursorIdleTimeout();
+        this.cursorIdleNanos = TimeUnit.SECONDS.toNanos(idleTimeout);
+        if (idleTimeout > 0) {
+            long interval = Math.max(1, Math.min(idleTimeout / 2, 30));
+            scheduler.scheduleWithFixedDelay(this::sweep, interval, TimeUnit.SECONDS);
+        }
     }
 
-    public QueryResult execute(String sql, TgTxOption txOption, String cursor) {
+    /**
+     * format of rows.
+     */
+    public enum RowFormat {
+        /** each row is an object of column name and value */
+        OBJECT,
+        /** column names and types are written once per page, and each row is an array of values */
+        COLUMNAR,
+        /** all rows are read in one pass, and only the statistics of each column are written */
+        SUMMARY,
+    }
+
+    /**
+     * execute a query or continue the ongoing query.
+     *
+     * @param sql        SQL
+     * @param definition placeholders (null if no parameter)
+     * @param parameters parameters (null if no parameter)
+     * @param txOption   transaction option (ignored if pinned is specified)
+     * @param pinned     transaction started by beginTransaction (null to execute in a new transaction)
+     * @param format     row format
+     * @param cursor     cursor to continue (null for a new query)
+     * @param progress   progress listener
+     * @return page
+     */
+    public QueryResult execute(String sql, ParameterDefinition definition, TgBindParameters parameters, TgTxOption txOption, PinnedTransaction pinned, RowFormat format,
+            String cursor, ProgressListener progress) {
         QueryCache cache;
+        QueryResult result;
         if (cursor == null) {
-            cache = new QueryCache(pool.getSession());
-            cache.initialize(sql, txOption);
+            if (pinned != null) {
+                pinned.acquire();
+                try {
+                    cache = new QueryCache(pinned, format, 0);
+                    progress.phase("executing");
+                    cache.initialize(sql, definition, parameters, null);
+                    result = cache.execute(progress);
+                } finally {
+                    pinned.release();
+                }
+            } else {
+                var page = executeWithRetry(sql, definition, parameters, txOption, format, progress);
+                cache = page.cache();
+                result = page.result();
+            }
         } else {
-            cache = queryMap.remove(cursor);
+            synchronized (queryMap) {
+                cache = queryMap.remove(cursor);
+            }
             if (cache == null) {
-                throw new RuntimeException(MessageFormat.format("not found ongoing query. cursor={0}", cursor));
+                throw new RuntimeException(MessageFormat.format("not found ongoing query. cursor={0} (closed by timeout or by too many ongoing queries)", cursor));
             }
+            result = cache.execute(progress);
         }
 
-        var result = cache.execute();
-
         String nextCursor = result.nextCursor();
         if (nextCursor != null) {
-            queryMap.put(nextCursor, cache);
+            putCursor(nextCursor, cache);
         }
 
         return result;
     }
 
-    public record QueryResult(List<Map<String, Object>> rows, boolean hasMoreRecord, String nextCursor, String serializationFailureMessage) {
+    private record FirstPage(QueryCache cache, QueryResult result) {
+    }
+
+    /**
+     * execute a new query with retry. the first page is retried if it fails by serialization failure, because no rows are returned yet.
+     */
+    private FirstPage executeWithRetry(String sql, ParameterDefinition definition, TgBindParameters parameters, TgTxOption txOption, RowFormat format,
+            ProgressListener progress) {
+        try {
+            return retryPolicy.execute(txOption, List.of(), (option, retryCount) -> { // query is read only
+                progress.phase((retryCount == 0) ? "executing" : "executing (retry " + retryCount + ")");
+                var session = (option instanceof TgTxOptionRtx) ? pool.getReadSession() : pool.getSession();
+                var cache = new QueryCache(session, format, retryCount);
+                cache.initialize(sql, definition, parameters, option);
+                return new FirstPage(cache, cache.execute(progress));
+            }, page -> page.result().serializationFailureMessage() != null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            throw new InterruptedRuntimeException(e);
+        } catch (TsurugiTransactionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void putCursor(String cursor, QueryCache cache) {
+        cache.lastAccessTime = System.nanoTime();
+
+        var evictList = new ArrayList<QueryCache>();
+        synchronized (queryMap) {
+            queryMap.put(cursor, cache);
+            for (var i = queryMap.values().iterator(); queryMap.size() > cursorMaxOpen && i.hasNext();) {
+                evictList.add(i.next());
+                i.remove();
+            }
+        }
+
+        if (!evictList.isEmpty()) {
+            LOG.debug("ongoing query evicted. count={}", evictList.size());
+            scheduler.execute(() -> evictList.forEach(QueryCache::dispose));
+        }
+    }
+
+    /**
+     * close ongoing queries which are not continued within cursor-idle-timeout.
+     */
+    void sweep() {
+        long now = System.nanoTime();
+
+        var expiredList = new ArrayList<QueryCache>();
+        synchronized (queryMap) {
+            for (var i = queryMap.values().iterator(); i.hasNext();) {
+                var cache = i.next();
+                if (now - cache.lastAccessTime <= cursorIdleNanos) {
+                    break;
+                }
+                expiredList.add(cache);
+                i.remove();
+            }
+        }
+
+        if (!expiredList.isEmpty()) {
+            LOG.debug("ongoing query expired. count={}", expiredList.size());
+            scheduler.execute(() -> expiredList.forEach(QueryCache::dispose)); // a query of beginTransaction waits for the call in progress
+        }
+    }
+
+    int getOngoingQueryCount() {
+        synchronized (queryMap) {
+            return queryMap.size();
+        }
+    }
+
+    /**
+     * result of a page.
+     *
+     * @param text                        JSON text of the page ({@code rows}, {@code hasMoreRecord}, {@code nextCursor}, {@code serializationFailureMessage}, {@code retryCount})
+     * @param rowCount                    number of rows in the page
+     * @param hasMoreRecord               whether there is a continuation
+     * @param nextCursor                  cursor to continue
+     * @param serializationFailureMessage error message of serialization failure
+     * @param retryCount                  number of retries by serialization failure (first page only)
+     * @param hasLob                      whether LOB values were returned as {@code lobHandle} in this query
+     */
+    public record QueryResult(String text, int rowCount, boolean hasMoreRecord, String nextCursor, String serializationFailureMessage, int retryCount, boolean hasLob) {
     }
 
     private class QueryCache implements AutoCloseable {
         private final int queryId;
+        private final RowFormat format;
+        /** number of retries before this query. reported in the first page */
+        private int retryCount;
         private TsurugiSession session;
-        private TsurugiSqlQuery<TsurugiResultRecord> ps;
+        /** statement without placeholders */
+        private TsurugiSql ps;
+        /** prepared statement leased from the statement cache until the result is closed */
+        private PreparedStatementCache.StatementLease<?> statementLease;
         private TsurugiTransaction transaction;
+        /** transaction started by beginTransaction (the session and the transaction are not owned by this query) */
+        private final PinnedTransaction pinned;
+        /** action to close this query when the pinned transaction ends */
+        private final Runnable pinnedDispose = this::dispose;
         private TsurugiQueryResult<TsurugiResultRecord> queryResult;
-        private List<Map<String, Object>> prevList = new ArrayList<>();
-        private int prevSize;
+        private final ByteArrayBuffer buffer = new ByteArrayBuffer(limitSize + 1024);
+        private JsonGenerator generator;
+        /** JSON of column names and types (for columnar format) */
+        private byte[] columnsJson;
+        /** row which did not fit in the previous page */
+        private byte[] carryRow;
         private boolean finish = false;
+        /** whether a LOB value was stored in the LOB store */
+        private boolean hasLob = false;
+        /** number of rows read from the query (for progress) */
+        private long readRowCount = 0;
+        private volatile long lastAccessTime;
+        /** next page which is being read in background */
+        private CompletableFuture<QueryResult> prefetchFuture;
 
-        QueryCache(TsurugiSession session) {
+        QueryCache(TsurugiSession session, RowFormat format, int retryCount) {
             this.queryId = QUERY_ID.getAndIncrement();
+            this.format = format;
+            this.retryCount = retryCount;
             this.session = session;
+            this.pinned = null;
         }
 
-        public void initialize(String sql, TgTxOption txOption) {
-            try (var t = this) {
+        QueryCache(PinnedTransaction pinned, RowFormat format, int retryCount) {
+            this.queryId = QUERY_ID.getAndIncrement();
+            this.format = format;
+            this.retryCount = retryCount;
+            this.session = pinned.getSession();
+            this.transaction = pinned.getTransaction();
+            this.pinned = pinned;
+            pinned.addCursor(pinnedDispose);
+        }
+
+        public void initialize(String sql, ParameterDefinition definition, TgBindParameters parameters, TgTxOption txOption) {
+            try {
                 try {
-                    var resultMapping = TgResultMapping.of(record -> record);
-                    this.ps = session.createQuery(sql, resultMapping);
-                    this.transaction = session.createTransaction(txOption);
-                    this.queryResult = transaction.executeQuery(ps);
+                    if (definition == null) {
+                        var resultMapping = TgResultMapping.of(record -> record);
+                        var query = session.createQuery(sql, resultMapping);
+                        this.ps = query;
+                        if (pinned == null) {
+                            this.transaction = session.createTransaction(txOption);
+                        }
+                        this.queryResult = transaction.executeQuery(query);
+                    } else {
+                        if (pinned == null) {
+                            this.transaction = session.createTransaction(txOption);
+                        }
+                        var lease = pool.getStatementCache(session).leaseQuery(sql, definition);
+                        this.statementLease = lease;
+                        try {
+                            this.queryResult = transaction.executeQuery(lease.get(), parameters);
+                        } catch (IOException | InterruptedException | TsurugiTransactionException | RuntimeException e) {
+                            if (!RetryPolicy.isSerializationFailure(e)) {
+                                lease.discard(); // may be invalid (e.g. the table was dropped)
+                            }
+                            throw e;
+                        }
+                    }
                 } catch (IOException e) {
                     throw new UncheckedIOException(e.getMessage(), e);
                 } catch (InterruptedException e) {
@@ -118,21 +326,106 @@ public class QueryUtil {
                 }
             } catch (Exception e) {
                 LOG.warn("QueryCache.initialize error", e);
-                this.finish = true;
+                dispose();
                 throw e;
             }
         }
 
-        public QueryResult execute() {
+        public QueryResult execute(ProgressListener progress) {
+            if (pinned == null) {
+                return read(progress);
+            }
+
+            pinned.acquire(); // the query was closed if the transaction ended
+            try {
+                return read(progress);
+            } finally {
+                pinned.release();
+            }
+        }
+
+        private QueryResult read(ProgressListener progress) {
+            QueryResult result;
+            var future = this.prefetchFuture;
+            if (future != null) {
+                this.prefetchFuture = null;
+                result = awaitPrefetch(future);
+            } else if (format == RowFormat.SUMMARY) {
+                result = summarize(progress);
+            } else {
+                result = readPage(progress);
+            }
+
+            // the transaction of beginTransaction is used only by the call which holds it
+            if (prefetch && pinned == null && result.hasMoreRecord()) {
+                startPrefetch();
+            }
+            return result;
+        }
+
+        /**
+         * read the next page in background while the client is processing the current page.
+         * <p>
+         * Only one page is read ahead, so the memory held by a cursor is bounded by response-limit-size.
+         * </p>
+         */
+        private void startPrefetch() {
+            var future = new CompletableFuture<QueryResult>();
+            this.prefetchFuture = future;
+            try {
+                scheduler.execute(() -> {
+                    try {
+                        future.complete(readPage(ProgressListener.NONE));
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // rejected (scheduler closed). read the page on the next call instead
+                LOG.debug("prefetch rejected. queryId={}", queryId, e);
+                this.prefetchFuture = null;
+            }
+        }
+
+        private QueryResult awaitPrefetch(CompletableFuture<QueryResult> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                // aborted by timeout or cancellation. close the query after the page is read
+                this.prefetchFuture = future;
+                scheduler.execute(this::dispose);
+                throw new InterruptedRuntimeException(e);
+            } catch (ExecutionException e) {
+                var cause = e.getCause();
+                if (cause instanceof RuntimeException re) {
+                    throw re;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new RuntimeException(cause);
+            }
+        }
+
+        private QueryResult readPage(ProgressListener progress) {
             try (var t = this) {
-                var list = new ArrayList<Map<String, Object>>();
-                list.addAll(this.prevList);
-                prevList.clear();
-                int estimateTotalSize = 128 + this.prevSize;
-                prevSize = 0;
+                buffer.reset();
+                buffer.write('{');
+                if (format == RowFormat.COLUMNAR) {
+                    writeColumns();
+                }
+                buffer.writeAscii("\"rows\":[");
+                int rowCount = 0;
+                if (this.carryRow != null) {
+                    buffer.write(carryRow);
+                    this.carryRow = null;
+                    rowCount++;
+                }
 
                 String serializationFauluerMessage = null;
                 try {
+                    var generator = getGenerator();
+                    progress.phase("reading");
                     boolean doCommit = false;
                     for (;;) {
                         var recordOpt = queryResult.findRecord();
@@ -142,28 +435,27 @@ public class QueryUtil {
                             break;
                         }
                         var record = recordOpt.get();
+                        if ((++readRowCount & 0xff) == 0) {
+                            progress.rows(readRowCount, buffer.size());
+                        }
 
-                        var nameList = record.getNameList();
-                        int size = nameList.size();
-                        var map = new LinkedHashMap<String, Object>(size);
-                        for (int j = 0; j < size; j++) {
-                            String name = nameList.get(j);
-                            Object value = convert(record.getValueOrNull(j));
-                            map.put(name, value);
+                        int mark = buffer.size();
+                        if (rowCount != 0) {
+                            buffer.write(',');
                         }
-                        String text = jsonMapper.writeValueAsString(map);
-//                      int estimateSize = text.length() + 8;
-                        int estimateSize = text.getBytes(StandardCharsets.UTF_8).length + 8;
-                        if (estimateTotalSize + estimateSize >= limitSize) {
-                            prevList.add(map);
-                            this.prevSize = estimateSize;
+                        int rowStart = buffer.size();
+                        writeRow(generator, record);
+                        generator.flush();
+                        if (rowCount != 0 && buffer.size() + TRAILER_SIZE >= limitSize) {
+                            this.carryRow = buffer.copyOfRange(rowStart, buffer.size());
+                            buffer.truncate(mark);
                             break;
                         }
-                        estimateTotalSize += estimateSize;
-                        list.add(map);
+                        rowCount++;
                     }
 
-                    if (doCommit) {
+                    if (doCommit && pinned == null) {
+                        progress.phase("committing");
                         transaction.commit(TgCommitType.DEFAULT);
                     }
                 } catch (IOException e) {
@@ -181,18 +473,254 @@ public class QueryUtil {
 
                 boolean hasMore = !this.finish;
                 String nextCursor = this.finish ? null : "query" + queryId;
-                return new QueryResult(list, hasMore, nextCursor, serializationFauluerMessage);
+                int retry = this.retryCount;
+                this.retryCount = 0;
+                writeTrailer(hasMore, nextCursor, serializationFauluerMessage, retry, 0);
+                return new QueryResult(buffer.toString(), rowCount, hasMore, nextCursor, serializationFauluerMessage, retry, hasLob);
             } catch (Exception e) {
                 LOG.warn("QueryCache.execute error", e);
-                this.finish = true;
+                closeQuietly();
                 throw e;
             }
         }
 
+        /**
+         * read all rows and write the statistics of each column. the memory does not depend on the number of rows.
+         */
+        private QueryResult summarize(ProgressListener progress) {
+            try (var t = this) {
+                this.finish = true; // no continuation
+                var summaryList = new ArrayList<ColumnSummary>();
+                String serializationFauluerMessage = null;
+                long rowCount = 0;
+                try {
+                    for (var column : queryResult.getMetadata().getColumnList()) {
+                        summaryList.add(new ColumnSummary(column.getName(), column.getSqlTypeOrAtomTypeName()));
+                    }
+
+                    progress.phase("reading");
+                    int size = summaryList.size();
+                    for (;;) {
+                        var recordOpt = queryResult.findRecord();
+                        if (recordOpt.isEmpty()) {
+                            break;
+                        }
+                        var record = recordOpt.get();
+                        for (int j = 0; j < size; j++) {
+                            summaryList.get(j).add(record.getValueOrNull(j));
+                        }
+                        if ((++rowCount & 0xff) == 0) {
+                            progress.rows(rowCount, 0);
+                        }
+                    }
+
+                    if (pinned == null) {
+                        progress.phase("committing");
+                        transaction.commit(TgCommitType.DEFAULT);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e.getMessage(), e);
+                } catch (InterruptedException e) {
+                    throw new InterruptedRuntimeException(e);
+                } catch (TsurugiTransactionException e) {
+                    if (TsurugiExceptionUtil.getInstance().isSerializationFailure(e)) {
+                        serializationFauluerMessage = e.getMessage();
+                    } else {
+                        throw new RuntimeException(e);
+                    }
+                }
+
+                int retry = this.retryCount;
+                this.retryCount = 0;
+                try {
+                    buffer.reset();
+                    var generator = getGenerator();
+                    buffer.writeAscii("{\"rowCount\":");
+                    buffer.writeAscii(Long.toString(rowCount));
+                    buffer.writeAscii(",\"columns\":[");
+                    int start = buffer.size();
+                    int written = writeSummaries(generator, summaryList, true);
+                    if (written < summaryList.size()) {
+                        // omit histogram and top of all columns rather than only of the last ones
+                        buffer.truncate(start);
+                        written = writeSummaries(generator, summaryList, false);
+                    }
+                    writeTrailer(false, null, serializationFauluerMessage, retry, summaryList.size() - written);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e.getMessage(), e);
+                }
+                return new QueryResult(buffer.toString(), 0, false, null, serializationFauluerMessage, retry, false);
+            } catch (Exception e) {
+                LOG.warn("QueryCache.summarize error", e);
+                closeQuietly();
+                throw e;
+            }
+        }
+
+        /**
+         * write the summaries while they fit in the response limit size.
+         *
+         * @return the number of written columns
+         */
+        private int writeSummaries(JsonGenerator generator, List<ColumnSummary> summaryList, boolean detail) throws IOException {
+            for (int j = 0; j < summaryList.size(); j++) {
+                int mark = buffer.size();
+                if (j != 0) {
+                    buffer.write(',');
+                }
+                summaryList.get(j).write(generator, detail);
+                generator.flush();
+                if (buffer.size() + TRAILER_SIZE >= limitSize) {
+                    buffer.truncate(mark);
+                    return j;
+                }
+            }
+            return summaryList.size();
+        }
+
+        private JsonGenerator getGenerator() throws IOException {
+            if (this.generator == null) {
+                var g = objectMapper.getFactory().createGenerator(buffer);
+                g.setRootValueSeparator(null); // rows are written as root values
+                this.generator = g;
+            }
+            return this.generator;
+        }
+
+        private void writeColumns() {
+            if (this.columnsJson == null) {
+                int start = buffer.size();
+                try {
+                    var generator = getGenerator();
+                    buffer.writeAscii("\"columns\":");
+                    generator.writeStartArray();
+                    var metadata = queryResult.getMetadata();
+                    for (var column : metadata.getColumnList()) {
+                        generator.writeStartObject();
+                        generator.writeStringField("name", column.getName());
+                        generator.writeStringField("type", column.getSqlTypeOrAtomTypeName());
+                        generator.writeEndObject();
+                    }
+                    generator.writeEndArray();
+                    generator.flush();
+                    buffer.write(',');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e.getMessage(), e);
+                } catch (InterruptedException e) {
+                    throw new InterruptedRuntimeException(e);
+                } catch (TsurugiTransactionException e) {
+                    throw new RuntimeException(e);
+                }
+                this.columnsJson = buffer.copyOfRange(start, buffer.size());
+            } else {
+                buffer.write(columnsJson);
+            }
+        }
+
+        private void writeRow(JsonGenerator generator, TsurugiResultRecord record) throws IOException, InterruptedException, TsurugiTransactionException {
+            if (format == RowFormat.COLUMNAR) {
+                int size = record.getNameList().size();
+                generator.writeStartArray();
+                for (int j = 0; j < size; j++) {
+                    writeValue(generator, record.getValueOrNull(j));
+                }
+                generator.writeEndArray();
+                return;
+            }
+
+            var nameList = record.getNameList();
+            int size = nameList.size();
+            generator.writeStartObject();
+            for (int j = 0; j < size; j++) {
+                generator.writeFieldName(nameList.get(j));
+                writeValue(generator, record.getValueOrNull(j));
+            }
+            generator.writeEndObject();
+        }
+
+        private void writeValue(JsonGenerator generator, Object value) throws IOException, InterruptedException, TsurugiTransactionException {
+            Object converted = convert(value);
+            if (converted instanceof LobStore.LobHandle) {
+                this.hasLob = true;
+            }
+            generator.writeObject(converted);
+        }
+
+        private void writeTrailer(boolean hasMore, String nextCursor, String serializationFailureMessage, int retryCount, int omittedColumns) {
+            try {
+                var generator = getGenerator();
+                buffer.writeAscii("],\"hasMoreRecord\":");
+                buffer.writeAscii(Boolean.toString(hasMore));
+                buffer.writeAscii(",\"nextCursor\":");
+                writeStringOrNull(generator, nextCursor);
+                buffer.writeAscii(",\"serializationFailureMessage\":");
+                writeStringOrNull(generator, serializationFailureMessage);
+                if (retryCount > 0) {
+                    buffer.writeAscii(",\"retry_count\":");
+                    buffer.writeAscii(Integer.toString(retryCount));
+                }
+                if (omittedColumns > 0) {
+                    buffer.writeAscii(",\"omittedColumns\":");
+                    buffer.writeAscii(Integer.toString(omittedColumns));
+                }
+                buffer.write('}');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e.getMessage(), e);
+            }
+        }
+
+        private void writeStringOrNull(JsonGenerator generator, String value) throws IOException {
+            if (value == null) {
+                buffer.writeAscii("null");
+            } else {
+                generator.writeString(value);
+                generator.flush();
+            }
+        }
+
+        /**
+         * close the query without reading the rest.
+         */
+        void dispose() {
+            if (pinned != null) {
+                pinned.lock.lock(); // wait for the call which uses the transaction
+                try {
+                    closeQuietly();
+                } finally {
+                    pinned.lock.unlock();
+                }
+                return;
+            }
+
+            var future = this.prefetchFuture;
+            if (future != null) {
+                this.prefetchFuture = null;
+                try {
+                    future.join(); // the query must not be closed while reading
+                } catch (CompletionException e) {
+                    // the error was logged in readPage
+                }
+            }
+
+            closeQuietly();
+        }
+
+        /**
+         * close the query regardless of the rest. the prefetch is not awaited, because this may be called in the prefetch.
+         */
+        private void closeQuietly() {
+            this.finish = true;
+            try {
+                close();
+            } catch (Exception e) {
+                LOG.warn("QueryCache.close error. queryId={}", queryId, e);
+            }
+        }
+
         @Override
         public void close() {
             if (finish) {
-                try (var s = session; var p = ps; var t = transaction; var qr = queryResult) {
+                try (var s = (pinned == null) ? session : null; var l = statementLease; var p = ps; var t = (pinned == null) ? transaction : null; var qr = queryResult) {
                     // close only
                 } catch (IOException e) {
                     throw new UncheckedIOException(e.getMessage(), e);
@@ -202,20 +730,30 @@ public class QueryUtil {
                     throw new RuntimeException(e);
                 } finally {
                     this.session = null;
+                    this.statementLease = null;
                     this.ps = null;
                     this.transaction = null;
                     this.queryResult = null;
+                    if (pinned != null) {
+                        pinned.removeCursor(pinnedDispose);
+                    }
                 }
             }
         }
     }
 
+    /**
+     * convert a value to write.
+     * <p>
+     * LOB is returned as a handle (read by readLob tool), so that a large value does not occupy the heap and the page.
+     * </p>
+     */
     Object convert(Object value) throws IOException, InterruptedException, TsurugiTransactionException {
         if (value instanceof TgBlobReference blob) {
-            return blob.readAllBytes();
+            return lobStore.put(blob);
         }
         if (value instanceof TgClobReference clob) {
-            return clob.readString();
+            return lobStore.put(clob);
         }
 
         return value;
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.iceaxe.exception.TsurugiDiagnosticCodeProvider;
+import com.tsurugidb.iceaxe.exception.TsurugiExceptionUtil;
+import com.tsurugidb.iceaxe.transaction.exception.TsurugiTransactionException;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOptionOcc;
+import com.tsurugidb.mcp.server.Arguments;
+
+/**
+ * retry of transactions on serialization failure.
+ * <p>
+ * Each retry waits for exponential backoff with jitter, and OCC can be escalated to LTX (which does not fail by conflicts with other OCC) from the second
+ * attempt.
+ * </p>
+ */
+public class RetryPolicy {
+    private static final Logger LOG = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final boolean ltxEscalation;
+
+    public RetryPolicy(Arguments arguments) {
+        this.maxAttempts = arguments.getRetryMaxAttempts();
+        this.initialBackoffMillis = arguments.getRetryInitialBackoff();
+        this.maxBackoffMillis = Math.max(arguments.getRetryMaxBackoff(), initialBackoffMillis);
+        this.ltxEscalation = arguments.isRetryLtxEscalation();
+    }
+
+    @FunctionalInterface
+    public interface RetryAction<R> {
+        /**
+         * execute a transaction.
+         *
+         * @param txOption transaction option of this attempt
+         * @param retryCount number of retries before this attempt
+         * @return result
+         */
+        R run(TgTxOption txOption, int retryCount) throws IOException, InterruptedException, TsurugiTransactionException;
+    }
+
+    /**
+     * execute a transaction with retry.
+     *
+     * @param txOption      transaction option
+     * @param writePreserve write preserve tables for LTX escalation (empty for read only, null if not escalated)
+     * @param action        transaction
+     * @return result
+     */
+    public <R> R execute(TgTxOption txOption, List<String> writePreserve, RetryAction<R> action) throws IOException, InterruptedException, TsurugiTransactionException {
+        return execute(txOption, writePreserve, action, result -> false);
+    }
+
+    /**
+     * execute a transaction with retry.
+     *
+     * @param txOption      transaction option
+     * @param writePreserve write preserve tables for LTX escalation (empty for read only, null if not escalated)
+     * @param action        transaction
+     * @param failed        whether the result reports serialization failure instead of throwing it (e.g. the first page of a query). the last failed
+     *                      result is returned when the attempts are exhausted
+     * @return result
+     */
+    public <R> R execute(TgTxOption txOption, List<String> writePreserve, RetryAction<R> action, Predicate<? super R> failed)
+            throws IOException, InterruptedException, TsurugiTransactionException {
+        var option = txOption;
+        for (int retryCount = 0;; retryCount++) {
+            boolean last = retryCount + 1 >= maxAttempts;
+            try {
+                R result = action.run(option, retryCount);
+                if (last || !failed.test(result)) {
+                    return result;
+                }
+                LOG.debug("serialization failure in result. retry={}, txOption={}", retryCount + 1, option);
+            } catch (IOException | InterruptedException | TsurugiTransactionException | RuntimeException e) {
+                if (last || !isSerializationFailure(e)) {
+                    throw e;
+                }
+                LOG.debug("serialization failure. retry={}, txOption={}", retryCount + 1, option, e);
+            }
+            Thread.sleep(backoffMillis(retryCount));
+            option = nextOption(option, writePreserve);
+        }
+    }
+
+    /**
+     * get the backoff before the next attempt (equal jitter).
+     */
+    long backoffMillis(int retryCount) {
+        long cap = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(retryCount, 20));
+        if (cap <= 0) {
+            return 0;
+        }
+        return cap / 2 + ThreadLocalRandom.current().nextLong(cap / 2 + 1);
+    }
+
+    /**
+     * get the transaction option of the next attempt.
+     */
+    TgTxOption nextOption(TgTxOption txOption, List<String> writePreserve) {
+        if (ltxEscalation && writePreserve != null && txOption instanceof TgTxOptionOcc) {
+            return TgTxOption.ofLTX(writePreserve);
+        }
+        return txOption;
+    }
+
+    public static boolean isSerializationFailure(Throwable e) {
+        var util = TsurugiExceptionUtil.getInstance();
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof TsurugiDiagnosticCodeProvider provider && util.isSerializationFailure(provider)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
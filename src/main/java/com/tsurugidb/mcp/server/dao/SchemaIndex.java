@@ -0,0 +1,522 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.mcp.server.entity.SqlColumn;
+import com.tsurugidb.mcp.server.entity.TableMetadata;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
+
+/**
+ * in-memory inverted index of table names, table descriptions, column names and column descriptions.
+ * <p>
+ * Identifiers are split at {@code _} and camelCase, and CJK text is indexed by bigrams. A keyword matches a term exactly, by prefix, or within a small edit
+ * distance (typo), and the tables are ranked by the sum of (match quality * field weight * idf) of the keywords.
+ * </p>
+ * <p>
+ * The index is built on the first search, and rebuilt in background when the schema is changed by DDL or schema-index-ttl passes. The searches use the
+ * previous index until the rebuild finishes. The metadata of all tables is read through {@link MetadataCache}, so that a table recreated or altered by DDL
+ * is re-indexed, and the documents of the tables whose metadata is unchanged are reused.
+ * </p>
+ */
+public class SchemaIndex {
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaIndex.class);
+
+    /** field of a posting */
+    public enum Field {
+        TABLE_NAME(3.0), TABLE_DESCRIPTION(1.5), COLUMN_NAME(2.0), COLUMN_DESCRIPTION(1.0);
+
+        private final double weight;
+
+        Field(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.7;
+    private static final double TYPO1 = 0.5;
+    private static final double TYPO2 = 0.3;
+    /** bonus when the whole query is the name of the table or a column */
+    private static final double NAME_BONUS = 2.0;
+
+    /**
+     * search result.
+     *
+     * @param metadata        table metadata
+     * @param score           score
+     * @param tableMatched    whether the table name or the description matched
+     * @param matchedColumns  columns which matched
+     */
+    public record SearchHit(TableMetadata metadata, double score, boolean tableMatched, List<SqlColumn> matchedColumns) {
+    }
+
+    private record Posting(int doc, Field field, int column) {
+    }
+
+    /** indexed table */
+    private static class Document {
+        final TableMetadata metadata;
+        /** term -> postings of this table (doc is not set) */
+        final Map<String, List<Posting>> termMap = new HashMap<>();
+
+        Document(TableMetadata metadata) {
+            this.metadata = metadata;
+            add(metadata.tableName(), Field.TABLE_NAME, -1);
+            add(metadata.tableDescription(), Field.TABLE_DESCRIPTION, -1);
+            var columns = metadata.columns();
+            for (int i = 0; i < columns.size(); i++) {
+                var column = columns.get(i);
+                add(column.columnName(), Field.COLUMN_NAME, i);
+                add(column.columnDescription(), Field.COLUMN_DESCRIPTION, i);
+            }
+        }
+
+        private void add(String text, Field field, int column) {
+            for (String term : tokenize(text)) {
+                termMap.computeIfAbsent(term, k -> new ArrayList<>()).add(new Posting(-1, field, column));
+            }
+        }
+    }
+
+    /** immutable index */
+    private record Snapshot(List<Document> documents, Map<String, Posting[]> postingMap, String[] vocabulary, Map<String, List<Posting>> nameMap, long version,
+            long buildTime) {
+    }
+
+    private final MetadataCache metadataCache;
+    private final TaskScheduler scheduler;
+    private final int parallelism;
+    private final long ttlNanos;
+    /** incremented by DDL */
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot snapshot = null;
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public SchemaIndex(MetadataCache metadataCache, TaskScheduler scheduler, int parallelism, long ttl) {
+        this.metadataCache = metadataCache;
+        this.scheduler = scheduler;
+        this.parallelism = parallelism;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttl);
+        metadataCache.addInvalidationListener(() -> {
+            version.incrementAndGet();
+            if (this.snapshot != null) {
+                requestRebuild();
+            }
+        });
+    }
+
+    private Snapshot getSnapshot() throws IOException, InterruptedException {
+        var s = this.snapshot;
+        if (s == null) {
+            synchronized (this) {
+                s = this.snapshot;
+                if (s == null) {
+                    s = build(null);
+                    this.snapshot = s;
+                }
+                return s;
+            }
+        }
+        if (!isValid(s)) {
+            requestRebuild();
+        }
+        return s; // the previous index is used until the rebuild finishes
+    }
+
+    private void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            scheduler.execute(this::rebuild);
+        }
+    }
+
+    private synchronized void rebuild() {
+        rebuildPending.set(false); // a DDL after this point requests the next rebuild
+        var s = this.snapshot;
+        if (isValid(s)) {
+            return;
+        }
+        try {
+            this.snapshot = build(s);
+        } catch (Exception e) {
+            LOG.warn("schema index build error", e);
+        }
+    }
+
+    private boolean isValid(Snapshot s) {
+        if (s == null || s.version() != version.get()) {
+            return false;
+        }
+        return ttlNanos <= 0 || System.nanoTime() - s.buildTime() < ttlNanos;
+    }
+
+    /**
+     * build the index.
+     *
+     * @param previous previous index (null if none)
+     */
+    private Snapshot build(Snapshot previous) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        long buildVersion = version.get();
+        var previousMap = new HashMap<String, Document>();
+        if (previous != null) {
+            for (var document : previous.documents()) {
+                previousMap.put(document.metadata.tableName(), document);
+            }
+        }
+
+        var tableNames = metadataCache.getTableNameList();
+        var metadataList = metadataCache.findTableMetadataList(tableNames, parallelism);
+
+        var documents = new ArrayList<Document>(tableNames.size());
+        int reused = 0;
+        for (int i = 0; i < tableNames.size(); i++) {
+            var metadata = metadataList.get(i);
+            if (metadata == null) { // dropped after listing
+                continue;
+            }
+            var document = previousMap.get(tableNames.get(i));
+            if (document != null && document.metadata.equals(metadata)) {
+                reused++;
+            } else {
+                document = new Document(metadata);
+            }
+            documents.add(document);
+        }
+
+        var listMap = new HashMap<String, List<Posting>>();
+        for (int doc = 0; doc < documents.size(); doc++) {
+            for (var entry : documents.get(doc).termMap.entrySet()) {
+                var list = listMap.computeIfAbsent(entry.getKey(), k -> new ArrayList<>());
+                for (var posting : entry.getValue()) {
+                    list.add(new Posting(doc, posting.field(), posting.column()));
+                }
+            }
+        }
+        var postingMap = new HashMap<String, Posting[]>(listMap.size() * 2);
+        for (var entry : listMap.entrySet()) {
+            postingMap.put(entry.getKey(), entry.getValue().toArray(Posting[]::new));
+        }
+        var vocabulary = postingMap.keySet().toArray(String[]::new);
+        Arrays.sort(vocabulary);
+
+        var nameMap = new HashMap<String, List<Posting>>();
+        for (int doc = 0; doc < documents.size(); doc++) {
+            var metadata = documents.get(doc).metadata;
+            nameMap.computeIfAbsent(metadata.tableName().toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(new Posting(doc, Field.TABLE_NAME, -1));
+            var columns = metadata.columns();
+            for (int i = 0; i < columns.size(); i++) {
+                String name = columns.get(i).columnName().toLowerCase(Locale.ROOT);
+                nameMap.computeIfAbsent(name, k -> new ArrayList<>()).add(new Posting(doc, Field.COLUMN_NAME, i));
+            }
+        }
+
+        LOG.debug("schema index built. tables={}, reused={}, terms={}, elapsed={}ms", documents.size(), reused, vocabulary.length,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return new Snapshot(List.copyOf(documents), postingMap, vocabulary, nameMap, buildVersion, System.nanoTime());
+    }
+
+    /**
+     * search tables.
+     *
+     * @param query keywords
+     * @param limit maximum number of results
+     * @return tables in the order of score
+     */
+    public List<SearchHit> search(String query, int limit) throws IOException, InterruptedException {
+        var s = getSnapshot();
+        int size = s.documents().size();
+        var keywords = new LinkedHashSet<>(tokenize(query));
+        if (size == 0 || (keywords.isEmpty() && query.isBlank())) {
+            return List.of();
+        }
+
+        var scores = new double[size];
+        var tableMatched = new boolean[size];
+        var columnMatched = new boolean[size][];
+        var best = new double[size];
+        for (String keyword : keywords) {
+            Arrays.fill(best, 0);
+            for (var match : findTerms(s, keyword)) {
+                var postings = s.postingMap().get(match.term());
+                double idf = idf(size, postings);
+                for (var posting : postings) {
+                    int doc = posting.doc();
+                    double score = match.quality() * posting.field().weight * idf;
+                    best[doc] = Math.max(best[doc], score);
+                    if (posting.column() < 0) {
+                        tableMatched[doc] = true;
+                    } else {
+                        if (columnMatched[doc] == null) {
+                            columnMatched[doc] = new boolean[s.documents().get(doc).metadata.columns().size()];
+                        }
+                        columnMatched[doc][posting.column()] = true;
+                    }
+                }
+            }
+            for (int doc = 0; doc < size; doc++) {
+                scores[doc] += best[doc];
+            }
+        }
+
+        String name = query.trim().toLowerCase(Locale.ROOT);
+        for (var posting : s.nameMap().getOrDefault(name, List.of())) {
+            int doc = posting.doc();
+            scores[doc] += NAME_BONUS * posting.field().weight;
+            if (posting.column() < 0) {
+                tableMatched[doc] = true;
+            } else {
+                if (columnMatched[doc] == null) {
+                    columnMatched[doc] = new boolean[s.documents().get(doc).metadata.columns().size()];
+                }
+                columnMatched[doc][posting.column()] = true;
+            }
+        }
+
+        var order = new ArrayList<Integer>();
+        for (int doc = 0; doc < size; doc++) {
+            if (scores[doc] > 0) {
+                order.add(doc);
+            }
+        }
+        order.sort((d1, d2) -> {
+            int c = Double.compare(scores[d2], scores[d1]);
+            if (c != 0) {
+                return c;
+            }
+            return s.documents().get(d1).metadata.tableName().compareTo(s.documents().get(d2).metadata.tableName());
+        });
+
+        var result = new ArrayList<SearchHit>(Math.min(limit, order.size()));
+        for (int doc : order) {
+            if (result.size() >= limit) {
+                break;
+            }
+            var metadata = s.documents().get(doc).metadata;
+            var matchedColumns = new ArrayList<SqlColumn>();
+            if (columnMatched[doc] != null) {
+                for (int i = 0; i < columnMatched[doc].length; i++) {
+                    if (columnMatched[doc][i]) {
+                        matchedColumns.add(metadata.columns().get(i));
+                    }
+                }
+            }
+            result.add(new SearchHit(metadata, scores[doc], tableMatched[doc], matchedColumns));
+        }
+        return result;
+    }
+
+    private static double idf(int documentCount, Posting[] postings) {
+        int df = 0;
+        int lastDoc = -1;
+        for (var posting : postings) { // postings are in the order of doc
+            if (posting.doc() != lastDoc) {
+                df++;
+                lastDoc = posting.doc();
+            }
+        }
+        return Math.log(1 + (double) documentCount / df);
+    }
+
+    private record TermMatch(String term, double quality) {
+    }
+
+    /**
+     * find the terms which match the keyword (exact, prefix, typo).
+     */
+    private static List<TermMatch> findTerms(Snapshot s, String keyword) {
+        var list = new ArrayList<TermMatch>();
+        var vocabulary = s.vocabulary();
+        if (s.postingMap().containsKey(keyword)) {
+            list.add(new TermMatch(keyword, EXACT));
+        }
+
+        int length = keyword.length();
+        if (length >= 2) {
+            int i = Arrays.binarySearch(vocabulary, keyword);
+            for (i = (i >= 0) ? i + 1 : -i - 1; i < vocabulary.length && vocabulary[i].startsWith(keyword); i++) {
+                list.add(new TermMatch(vocabulary[i], PREFIX));
+            }
+        }
+
+        int maxDistance = maxDistance(length);
+        if (maxDistance > 0) {
+            for (String term : vocabulary) {
+                if (Math.abs(term.length() - length) > maxDistance || term.startsWith(keyword)) {
+                    continue;
+                }
+                int d = editDistance(keyword, term, maxDistance);
+                if (d <= maxDistance) {
+                    list.add(new TermMatch(term, (d == 1) ? TYPO1 : TYPO2));
+                }
+            }
+        }
+        return list;
+    }
+
+    static int maxDistance(int length) {
+        if (length < 4) {
+            return 0;
+        }
+        return (length < 8) ? 1 : 2;
+    }
+
+    /**
+     * Damerau-Levenshtein distance (optimal string alignment), bounded.
+     *
+     * @return distance, or {@code max + 1} if it exceeds max
+     */
+    static int editDistance(String s1, String s2, int max) {
+        int n = s1.length(), m = s2.length();
+        var prev2 = new int[m + 1];
+        var prev = new int[m + 1];
+        var current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char c1 = s1.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char c2 = s2.charAt(j - 1);
+                int cost = (c1 == c2) ? 0 : 1;
+                int d = Math.min(Math.min(prev[j] + 1, current[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && c1 == s2.charAt(j - 2) && s1.charAt(i - 2) == c2) {
+                    d = Math.min(d, prev2[j - 2] + 1);
+                }
+                current[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            var t = prev2;
+            prev2 = prev;
+            prev = current;
+            current = t;
+        }
+        return Math.min(prev[m], max + 1);
+    }
+
+    /**
+     * split text into terms.
+     * <p>
+     * Words are lower-cased, and identifiers are split at non-alphanumeric characters, camelCase and digits (the whole camelCase word is also a term).
+     * Single-character words are ignored. CJK text is split into bigrams.
+     * </p>
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+
+        var list = new ArrayList<String>();
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            int cp = text.codePointAt(i);
+            if (!Character.isLetterOrDigit(cp)) {
+                i += Character.charCount(cp);
+                continue;
+            }
+            int start = i;
+            boolean cjk = isCjk(cp);
+            while (i < n) {
+                cp = text.codePointAt(i);
+                if (!Character.isLetterOrDigit(cp) || isCjk(cp) != cjk) {
+                    break;
+                }
+                i += Character.charCount(cp);
+            }
+            String run = text.substring(start, i);
+            if (cjk) {
+                addBigrams(list, run);
+            } else {
+                addWords(list, run);
+            }
+        }
+        return list;
+    }
+
+    private static boolean isCjk(int cp) {
+        var script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static void addBigrams(List<String> list, String run) {
+        int[] cps = run.codePoints().toArray();
+        if (cps.length == 1) {
+            list.add(run);
+            return;
+        }
+        for (int i = 0; i + 1 < cps.length; i++) {
+            list.add(new String(cps, i, 2));
+        }
+    }
+
+    private static void addWords(List<String> list, String run) {
+        int size = list.size();
+        int start = 0;
+        for (int i = 1; i <= run.length(); i++) {
+            if (i == run.length() || isBoundary(run.charAt(i - 1), run.charAt(i), (i + 1 < run.length()) ? run.charAt(i + 1) : 0)) {
+                addWord(list, run.substring(start, i));
+                start = i;
+            }
+        }
+        if (list.size() - size > 1) {
+            addWord(list, run); // whole word
+        }
+    }
+
+    private static boolean isBoundary(char prev, char c, char next) {
+        if (Character.isDigit(prev) != Character.isDigit(c)) {
+            return true;
+        }
+        if (Character.isLowerCase(prev) && Character.isUpperCase(c)) { // fooBar
+            return true;
+        }
+        return Character.isUpperCase(prev) && Character.isUpperCase(c) && Character.isLowerCase(next); // HTTPServer
+    }
+
+    private static void addWord(List<String> list, String word) {
+        if (word.length() >= 2 || Character.isDigit(word.charAt(0))) {
+            list.add(word.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * get the number of indexed tables.
+     */
+    public int size() throws IOException, InterruptedException {
+        return getSnapshot().documents().size();
+    }
+}
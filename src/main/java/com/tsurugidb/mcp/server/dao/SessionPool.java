@@ -18,13 +18,25 @@ package com.tsurugidb.mcp.server.dao;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URI;
+import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.BlockingDeque;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +46,7 @@ import com.tsurugidb.iceaxe.exception.TsurugiIOException;
 import com.tsurugidb.iceaxe.session.TgSessionOption;
 import com.tsurugidb.iceaxe.session.TgSessionOption.TgTimeoutKey;
 import com.tsurugidb.iceaxe.session.TsurugiSession;
+import com.tsurugidb.iceaxe.util.InterruptedRuntimeException;
 import com.tsurugidb.mcp.server.Arguments;
 import com.tsurugidb.tsubakuro.channel.common.connection.Credential;
 import com.tsurugidb.tsubakuro.common.Session;
@@ -43,141 +56,723 @@ import com.tsurugidb.tsubakuro.util.FutureResponse;
 public class SessionPool implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(SessionPool.class);
 
+    /** interval before retrying an endpoint which failed to connect */
+    private static final long ENDPOINT_RETRY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
     public static SessionPool create(Arguments arguments) {
-        URI endpoint = arguments.getConnectionUri();
+        List<URI> endpointList = arguments.getConnectionUriList();
         var credentialList = CredentialUtil.getCredential(arguments);
         var sessionOption = TgSessionOption.of();
         {
             sessionOption.setLabel(arguments.getConnectionLabel());
             sessionOption.setTimeout(TgTimeoutKey.SESSION_CONNECT, arguments.getConnectionTimeout(), TimeUnit.SECONDS);
             sessionOption.setKeepAlive(true);
+            long sqlTimeout = arguments.getSqlTimeout();
+            if (sqlTimeout > 0) {
+                sessionOption.setTimeout(TgTimeoutKey.DEFAULT, sqlTimeout, TimeUnit.SECONDS);
+            }
         }
 
-        var connector = getConnector(endpoint, credentialList, sessionOption);
-        LOG.debug("connector={}", connector);
+        var pool = new SessionPool(sessionOption, arguments);
+        try {
+            pool.connect(endpointList, credentialList);
+            pool.prepareIdleSessions();
+            pool.startMaintenance(arguments.getPoolMaintenanceInterval());
+        } catch (Exception e) {
+            pool.close();
+            throw e;
+        }
+        // the owner closes the pool (TsurugiMcpContext registers the shutdown hook)
+        return pool;
+    }
 
-        var pool = new SessionPool(connector, sessionOption);
-        Runtime.getRuntime().addShutdownHook(new Thread() {
-            @Override
-            public void run() {
-                LOG.debug("shutdownHook start");
-                pool.close();
-                LOG.debug("shutdownHook end");
+    private final TgSessionOption sessionOption;
+    private final int maxSize;
+    private final int statementCacheSize;
+    private final int minIdle;
+    private final long acquireTimeout;
+    private final long maxIdleNanos;
+    private final boolean readLeastLoaded;
+    private List<EndpointPool> endpointList = List.of();
+    private final AtomicInteger readCounter = new AtomicInteger(0);
+    private final SessionPoolMetrics metrics = new SessionPoolMetrics();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "SessionPool-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SessionPool(TgSessionOption sessionOption, Arguments arguments) {
+        this.sessionOption = sessionOption;
+        this.maxSize = arguments.getPoolMaxSize();
+        this.statementCacheSize = arguments.getStatementCacheSize();
+        this.minIdle = Math.min(arguments.getPoolMinIdle(), maxSize);
+        this.acquireTimeout = arguments.getPoolAcquireTimeout();
+        this.maxIdleNanos = TimeUnit.SECONDS.toNanos(arguments.getPoolMaxIdleTime());
+        this.readLeastLoaded = Arguments.READ_BALANCE_LEAST_LOADED.equals(arguments.getReadBalance());
+    }
+
+    /**
+     * decide the credential to use, and create a sub-pool for each endpoint.
+     * <p>
+     * The credential is probed on the first endpoint which can be connected. If an endpoint cannot be connected, it is marked as unavailable and the next endpoint is tried.
+     * </p>
+     */
+    private void connect(List<URI> endpoints, List<Credential> credentialList) {
+        var list = new ArrayList<EndpointPool>(endpoints.size());
+        for (var endpoint : endpoints) {
+            list.add(new EndpointPool(endpoint));
+        }
+        this.endpointList = List.copyOf(list);
+
+        Credential credential = null;
+        RuntimeException connectError = null;
+        for (var endpointPool : endpointList) {
+            try {
+                credential = endpointPool.probe(credentialList);
+                break;
+            } catch (UncheckedIOException e) {
+                if (endpointList.size() == 1) {
+                    throw e;
+                }
+                LOG.warn("connect error. endpoint={}: {}", endpointPool.endpoint, e.getMessage());
+                endpointPool.markUnavailable(e.getCause());
+                if (connectError == null) {
+                    connectError = e;
+                } else {
+                    connectError.addSuppressed(e);
+                }
             }
-        });
-        return pool;
+        }
+        if (credential == null) {
+            throw connectError;
+        }
+
+        for (var endpointPool : endpointList) {
+            if (endpointPool.connector == null) {
+                endpointPool.setCredential(credential);
+            }
+        }
     }
 
-    private static TsurugiConnector getConnector(URI endpoint, List<Credential> credentialList, TgSessionOption sessionOption) {
-        var attemptFailures = new ArrayList<IOException>();
-        for (var credential : credentialList) {
-            var c = TsurugiConnector.of(endpoint, credential);
-            try (var session = c.createSession(sessionOption)) {
-                session.getLowSession();
-                return c;
-            } catch (TsurugiIOException e) {
-                var code = e.getDiagnosticCode();
-                if (code == CoreServiceCode.AUTHENTICATION_ERROR || code == CoreServiceCode.INVALID_REQUEST) {
-                    LOG.debug("authentication error in connection attempt. {}: {}", credential, e.getMessage());
-                    attemptFailures.add(e);
-                    continue;
+    /**
+     * open sessions in parallel until the number of idle sessions reaches pool-min-idle, and wait for them.
+     */
+    void prepareIdleSessions() {
+        var futureList = new ArrayList<Future<?>>();
+        for (var endpointPool : endpointList) {
+            if (endpointPool.available) {
+                futureList.addAll(endpointPool.fillIdleSessions());
+            }
+        }
+        for (var future : futureList) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                throw new InterruptedRuntimeException(e);
+            } catch (ExecutionException e) {
+                // already logged in openIdleSession()
+            }
+        }
+        LOG.debug("idle sessions prepared. idle={}", getIdleCount());
+    }
+
+    /**
+     * get session of the primary endpoint.
+     * <p>
+     * If the primary endpoint is unavailable, the session of the next available endpoint is returned. If all sessions of the primary endpoint are in use, this waits for a
+     * free session (the write is not moved to another endpoint).
+     * </p>
+     *
+     * @return session
+     */
+    public TsurugiSession getSession() {
+        return getSession(availableEndpointList(), false);
+    }
+
+    /**
+     * get session for read only transaction.
+     * <p>
+     * The sessions are distributed to available endpoints by round-robin or least-loaded.
+     * </p>
+     *
+     * @return session
+     */
+    public TsurugiSession getReadSession() {
+        var list = availableEndpointList();
+        if (list.size() > 1) {
+            list = new ArrayList<>(list);
+            Collections.rotate(list, -Math.floorMod(readCounter.getAndIncrement(), list.size()));
+            if (readLeastLoaded) {
+                list.sort(Comparator.comparingInt(EndpointPool::getLeasedCount));
+            }
+        }
+        return getSession(list, true);
+    }
+
+    private List<EndpointPool> availableEndpointList() {
+        var list = endpointList;
+        if (list.size() == 1) {
+            return list;
+        }
+
+        long now = System.nanoTime();
+        var result = list.stream().filter(endpointPool -> endpointPool.isAvailable(now)).toList();
+        return result.isEmpty() ? list : result;
+    }
+
+    /**
+     * get session of the first endpoint which can be connected.
+     *
+     * @param candidateList endpoints in order of preference
+     * @param spillOver     whether the next endpoint is used if all sessions of the endpoint are in use (otherwise wait for a free session)
+     * @return session
+     */
+    private TsurugiSession getSession(List<EndpointPool> candidateList, boolean spillOver) {
+        long start = System.nanoTime();
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(acquireTimeout);
+
+        IOException connectError = null;
+        EndpointPool waitTarget = null;
+        for (var endpointPool : candidateList) {
+            if (!spillOver) {
+                if (!endpointPool.tryAcquireLease(timeoutNanos)) {
+                    throw acquireTimeoutError();
+                }
+            } else if (!endpointPool.tryAcquireLease(0)) {
+                if (waitTarget == null) {
+                    waitTarget = endpointPool;
                 }
-                throw new UncheckedIOException(e.getMessage(), e);
+                continue;
+            }
+            try {
+                var session = endpointPool.leaseSession();
+                metrics.recordAcquire(System.nanoTime() - start);
+                return session;
             } catch (IOException e) {
-                throw new UncheckedIOException(e.getMessage(), e);
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+                LOG.warn("connect error. endpoint={}: {}", endpointPool.endpoint, e.getMessage());
+                if (connectError == null) {
+                    connectError = e;
+                } else {
+                    connectError.addSuppressed(e);
+                }
             }
         }
 
-        if (attemptFailures.isEmpty()) {
-            throw new RuntimeException("connect error");
+        if (waitTarget == null) {
+            throw new UncheckedIOException(connectError.getMessage(), connectError);
         }
 
-        var last = attemptFailures.getLast();
-        var e = new RuntimeException("connect error", last);
-        for (var s : attemptFailures.subList(0, attemptFailures.size() - 1)) {
-            e.addSuppressed(s);
+        if (!waitTarget.tryAcquireLease(timeoutNanos)) {
+            throw acquireTimeoutError();
+        }
+        try {
+            var session = waitTarget.leaseSession();
+            metrics.recordAcquire(System.nanoTime() - start);
+            return session;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
         }
-        throw e;
     }
 
-    private final TsurugiConnector connector;
-    private final TgSessionOption sessionOption;
-    private final Deque<PoolSession> sessionQueue = new ConcurrentLinkedDeque<>();
-    private final Set<PoolSession> sessionList = ConcurrentHashMap.newKeySet();
+    private RuntimeException acquireTimeoutError() {
+        metrics.recordAcquireTimeout();
+        return new RuntimeException(MessageFormat.format("session acquire timeout. all sessions are in use. pool-max-size={0}, timeout={1}s", maxSize, acquireTimeout));
+    }
 
-    private SessionPool(TsurugiConnector connector, TgSessionOption sessionOption) {
-        this.connector = connector;
-        this.sessionOption = sessionOption;
-        connector.setSesionGenerator(PoolSession::new);
+    int getIdleCount() {
+        return endpointList.stream().mapToInt(EndpointPool::getIdleCount).sum();
     }
 
-    public TsurugiSession getSession() {
-        var session = getSessionFromQueue();
-        if (session == null) {
+    /**
+     * get the number of sessions which can be leased by {@link #getSession()} without waiting.
+     *
+     * @return number of free sessions of the primary endpoint
+     */
+    public int getFreeCount() {
+        var endpointPool = availableEndpointList().get(0);
+        return Math.max(maxSize - endpointPool.getLeasedCount(), 0);
+    }
+
+    /**
+     * get the prepared statement cache of the session.
+     *
+     * @param session session from this pool
+     * @return cache
+     */
+    public PreparedStatementCache getStatementCache(TsurugiSession session) {
+        if (session instanceof EndpointPool.PoolSession poolSession) {
+            return poolSession.statementCache;
+        }
+        return new PreparedStatementCache(session, 0);
+    }
+
+    public SessionPoolMetrics.Snapshot getMetrics() {
+        int sessions = 0, leased = 0, idle = 0;
+        var endpoints = new ArrayList<SessionPoolMetrics.EndpointSnapshot>(endpointList.size());
+        for (var endpointPool : endpointList) {
+            var snapshot = endpointPool.snapshot();
+            sessions += snapshot.sessions();
+            leased += snapshot.leased();
+            idle += snapshot.idle();
+            endpoints.add(snapshot);
+        }
+        return metrics.snapshot(maxSize, minIdle, sessions, leased, idle, endpoints);
+    }
+
+    private void startMaintenance(long interval) {
+        if (interval <= 0) {
+            return;
+        }
+        maintenanceExecutor.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * close dead idle sessions and idle sessions which exceed pool-max-idle-time, then replenish idle sessions up to pool-min-idle.
+     */
+    void maintain() {
+        long now = System.nanoTime();
+        for (var endpointPool : endpointList) {
             try {
-                session = (PoolSession) connector.createSession(sessionOption);
-                sessionList.add(session);
-            } catch (IOException e) {
-                throw new UncheckedIOException(e.getMessage(), e);
+                endpointPool.maintain(now);
+            } catch (Throwable e) {
+                LOG.warn("SessionPool maintenance error. endpoint={}", endpointPool.endpoint, e);
             }
         }
-        return session;
     }
 
-    private PoolSession getSessionFromQueue() {
-        for (;;) {
-            var session = sessionQueue.pollFirst();
-            if (session != null) {
-                if (!session.isAlive()) {
+    /**
+     * sub-pool for an endpoint.
+     */
+    private class EndpointPool {
+        private final URI endpoint;
+        private TsurugiConnector connector;
+        private final Semaphore leaseSemaphore = new Semaphore(maxSize, true);
+        private final BlockingDeque<PoolSession> sessionQueue = new LinkedBlockingDeque<>();
+        private final Set<PoolSession> sessionList = ConcurrentHashMap.newKeySet();
+        /** number of sessions opened or being opened (never exceeds maxSize) */
+        private final AtomicInteger sessionCount = new AtomicInteger(0);
+        private final AtomicInteger fillingCount = new AtomicInteger(0);
+        private final AtomicInteger leasedCount = new AtomicInteger(0);
+        private volatile boolean available = true;
+        private volatile long retryTime;
+
+        EndpointPool(URI endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void setCredential(Credential credential) {
+            var c = TsurugiConnector.of(endpoint, credential);
+            c.setSesionGenerator(PoolSession::new);
+            this.connector = c;
+        }
+
+        /**
+         * decide the credential to use by opening a session for each candidate.
+         * <p>
+         * The candidates are probed concurrently and the first candidate in priority order which succeeds is adopted. The successful probe session is kept as the first idle session.
+         * </p>
+         *
+         * @return adopted credential
+         */
+        Credential probe(List<Credential> credentialList) {
+            var connectorList = new ArrayList<TsurugiConnector>(credentialList.size());
+            var probeList = new ArrayList<Future<PoolSession>>(credentialList.size());
+            for (var credential : credentialList) {
+                var c = TsurugiConnector.of(endpoint, credential);
+                c.setSesionGenerator(PoolSession::new);
+                connectorList.add(c);
+                probeList.add(executor.submit(() -> probeSession(c)));
+            }
+
+            var attemptFailures = new ArrayList<IOException>();
+            int index = 0;
+            try {
+                for (; index < probeList.size(); index++) {
+                    PoolSession session;
                     try {
-                        session.actualClose();
-                    } catch (Exception e) {
-                        LOG.warn("session close error", e);
+                        session = probeList.get(index).get();
+                    } catch (InterruptedException e) {
+                        throw new InterruptedRuntimeException(e);
+                    } catch (ExecutionException ee) {
+                        var cause = ee.getCause();
+                        if (cause instanceof TsurugiIOException e) {
+                            var code = e.getDiagnosticCode();
+                            if (code == CoreServiceCode.AUTHENTICATION_ERROR || code == CoreServiceCode.INVALID_REQUEST) {
+                                LOG.debug("authentication error in connection attempt. {}: {}", credentialList.get(index), e.getMessage());
+                                attemptFailures.add(e);
+                                continue;
+                            }
+                        }
+                        if (cause instanceof IOException e) {
+                            throw new UncheckedIOException(e.getMessage(), e);
+                        }
+                        if (cause instanceof RuntimeException e) {
+                            throw e;
+                        }
+                        throw new RuntimeException(cause);
                     }
-                    sessionList.remove(session);
-                    continue;
+
+                    this.connector = connectorList.get(index);
+                    LOG.debug("connector={}", connector);
+                    sessionList.add(session);
+                    sessionCount.incrementAndGet();
+                    metrics.incrementCreated();
+                    session.pushToQueue();
+                    return credentialList.get(index);
+                }
+            } finally {
+                // close the probe sessions of the candidates which were not adopted
+                for (int i = index + 1; i < probeList.size(); i++) {
+                    var future = probeList.get(i);
+                    executor.execute(() -> closeProbeSession(future));
+                }
+            }
+
+            if (attemptFailures.isEmpty()) {
+                throw new RuntimeException("connect error");
+            }
+
+            var last = attemptFailures.getLast();
+            var e = new RuntimeException("connect error", last);
+            for (var s : attemptFailures.subList(0, attemptFailures.size() - 1)) {
+                e.addSuppressed(s);
+            }
+            throw e;
+        }
+
+        private PoolSession probeSession(TsurugiConnector c) throws IOException, InterruptedException {
+            var session = (PoolSession) c.createSession(sessionOption);
+            try {
+                session.getLowSession();
+            } catch (Throwable e) {
+                try {
+                    session.actualClose();
+                } catch (Throwable t) {
+                    e.addSuppressed(t);
                 }
+                throw e;
             }
             return session;
         }
-    }
 
-    private class PoolSession extends TsurugiSession {
+        private void closeProbeSession(Future<PoolSession> future) {
+            PoolSession session;
+            try {
+                session = future.get();
+            } catch (Exception e) {
+                return; // failed probe session is already closed
+            }
+            try {
+                session.actualClose();
+            } catch (Exception e) {
+                LOG.warn("session close error", e);
+            }
+        }
+
+        boolean isAvailable(long now) {
+            return available || now - retryTime >= 0;
+        }
+
+        void markUnavailable(Throwable cause) {
+            if (available) {
+                LOG.warn("endpoint unavailable. endpoint={}", endpoint, cause);
+            }
+            this.retryTime = System.nanoTime() + ENDPOINT_RETRY_NANOS;
+            this.available = false;
+        }
 
-        public PoolSession(FutureResponse<? extends Session> lowSessionFuture, TgSessionOption sessionOption) {
-            super(lowSessionFuture, sessionOption);
+        void markAvailable() {
+            if (!available) {
+                LOG.info("endpoint available. endpoint={}", endpoint);
+                this.available = true;
+            }
         }
 
-        @Override
-        public void close() throws IOException, InterruptedException {
-            sessionQueue.push(this);
+        int getLeasedCount() {
+            return leasedCount.get();
         }
 
-        void actualClose() throws IOException, InterruptedException {
-            super.close();
+        int getIdleCount() {
+            return sessionQueue.size();
         }
-    }
 
-    @Override
-    public void close() {
-        if (sessionList.isEmpty()) {
-            return;
+        boolean tryAcquireLease(long timeoutNanos) {
+            try {
+                // timed tryAcquire honors the fairness of the semaphore, so waiters are served in FIFO order
+                return leaseSemaphore.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                throw new InterruptedRuntimeException(e);
+            }
         }
 
-        int count = 0, error = 0;
-        for (var session : sessionList) {
+        /**
+         * borrow a session. the caller must hold a lease.
+         */
+        PoolSession leaseSession() throws IOException {
+            try {
+                var session = borrowSession();
+                session.lease();
+                if (minIdle > 0) {
+                    fillIdleSessions();
+                }
+                return session;
+            } catch (IOException e) {
+                leaseSemaphore.release();
+                markUnavailable(e);
+                throw e;
+            } catch (InterruptedException e) {
+                leaseSemaphore.release();
+                throw new InterruptedRuntimeException(e);
+            } catch (RuntimeException e) {
+                leaseSemaphore.release();
+                throw e;
+            }
+        }
+
+        private PoolSession borrowSession() throws IOException, InterruptedException {
+            for (;;) {
+                var session = getSessionFromQueue(0);
+                if (session != null) {
+                    return session;
+                }
+                if (reserveSession()) {
+                    try {
+                        session = createSession();
+                    } catch (IOException | RuntimeException e) {
+                        sessionCount.decrementAndGet();
+                        throw e;
+                    }
+                    try {
+                        session.getLowSession(); // connect and handshake
+                    } catch (Throwable e) {
+                        discardSession(session);
+                        throw e;
+                    }
+                    markAvailable();
+                    return session;
+                }
+
+                // every slot is taken by a session being opened in background. wait for it
+                session = getSessionFromQueue(TimeUnit.MILLISECONDS.toNanos(100));
+                if (session != null) {
+                    return session;
+                }
+            }
+        }
+
+        private boolean reserveSession() {
+            for (;;) {
+                int count = sessionCount.get();
+                if (count >= maxSize) {
+                    return false;
+                }
+                if (sessionCount.compareAndSet(count, count + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private PoolSession createSession() throws IOException {
+            var session = (PoolSession) connector.createSession(sessionOption);
+            sessionList.add(session);
+            metrics.incrementCreated();
+            return session;
+        }
+
+        private PoolSession getSessionFromQueue(long waitNanos) throws InterruptedException {
+            for (;;) {
+                var session = (waitNanos > 0) ? sessionQueue.pollFirst(waitNanos, TimeUnit.NANOSECONDS) : sessionQueue.pollFirst();
+                if (session != null) {
+                    if (!session.isAlive()) {
+                        metrics.incrementClosedAsDead();
+                        discardSessionAsync(session);
+                        continue;
+                    }
+                }
+                return session;
+            }
+        }
+
+        List<Future<?>> fillIdleSessions() {
+            var futureList = new ArrayList<Future<?>>();
+            while (sessionQueue.size() + fillingCount.get() < minIdle) {
+                if (!reserveSession()) {
+                    break;
+                }
+                fillingCount.incrementAndGet();
+                try {
+                    futureList.add(executor.submit(this::openIdleSession));
+                } catch (RejectedExecutionException e) { // pool closed
+                    fillingCount.decrementAndGet();
+                    sessionCount.decrementAndGet();
+                    break;
+                }
+            }
+            return futureList;
+        }
+
+        private void openIdleSession() {
+            try {
+                PoolSession session;
+                try {
+                    session = createSession();
+                } catch (Exception e) {
+                    sessionCount.decrementAndGet();
+                    throw e;
+                }
+                try {
+                    session.getLowSession(); // connect and handshake
+                } catch (Exception e) {
+                    discardSession(session);
+                    throw e;
+                }
+                markAvailable();
+                session.pushToQueue();
+            } catch (Exception e) {
+                LOG.warn("idle session open error. endpoint={}", endpoint, e);
+                if (e instanceof IOException) {
+                    markUnavailable(e);
+                }
+                throw new RuntimeException(e);
+            } finally {
+                fillingCount.decrementAndGet();
+            }
+        }
+
+        private void discardSession(PoolSession session) {
+            if (sessionList.remove(session)) {
+                sessionCount.decrementAndGet();
+            }
+            closeSession(session);
+        }
+
+        /**
+         * discard the session without waiting for it to close. the slot of the session is freed at once.
+         */
+        private void discardSessionAsync(PoolSession session) {
+            if (sessionList.remove(session)) {
+                sessionCount.decrementAndGet();
+            }
+            try {
+                executor.execute(() -> closeSession(session));
+            } catch (RejectedExecutionException e) { // pool closed
+                closeSession(session);
+            }
+        }
+
+        private void closeSession(PoolSession session) {
+            metrics.incrementClosed();
             try {
                 session.actualClose();
-                count++;
             } catch (Exception e) {
                 LOG.warn("session close error", e);
-                error++;
             }
         }
-        LOG.info("SessionPool closed. session={}, error={}", count, error);
 
-        sessionList.clear();
+        void maintain(long now) {
+            int idle = sessionQueue.size();
+            int dead = 0, expired = 0;
+            // the oldest idle session is at the tail
+            for (var i = sessionQueue.descendingIterator(); i.hasNext();) {
+                var session = i.next();
+                if (!session.isAlive()) {
+                    if (sessionQueue.remove(session)) {
+                        metrics.incrementClosedAsDead();
+                        discardSessionAsync(session);
+                        idle--;
+                        dead++;
+                    }
+                    continue;
+                }
+                if (maxIdleNanos > 0 && idle > minIdle && now - session.idleSince > maxIdleNanos) {
+                    if (sessionQueue.remove(session)) {
+                        metrics.incrementClosedAsExpired();
+                        discardSessionAsync(session);
+                        idle--;
+                        expired++;
+                    }
+                }
+            }
+            if (dead != 0 || expired != 0) {
+                LOG.debug("SessionPool maintenance. endpoint={}, dead={}, expired={}, idle={}", endpoint, dead, expired, idle);
+            }
+
+            if (isAvailable(now)) {
+                fillIdleSessions();
+            }
+        }
+
+        SessionPoolMetrics.EndpointSnapshot snapshot() {
+            return new SessionPoolMetrics.EndpointSnapshot(endpoint.toString(), available, sessionCount.get(), leasedCount.get(), sessionQueue.size());
+        }
+
+        int close() {
+            int count = 0;
+            for (var session : sessionList) {
+                try {
+                    session.actualClose();
+                    count++;
+                } catch (Exception e) {
+                    LOG.warn("session close error", e);
+                }
+            }
+
+            sessionList.clear();
+            sessionQueue.clear();
+            sessionCount.set(0);
+            return count;
+        }
+
+        private class PoolSession extends TsurugiSession {
+            private final AtomicBoolean leased = new AtomicBoolean(false);
+            private volatile long idleSince = System.nanoTime();
+            private final PreparedStatementCache statementCache = new PreparedStatementCache(this, statementCacheSize);
+
+            public PoolSession(FutureResponse<? extends Session> lowSessionFuture, TgSessionOption sessionOption) {
+                super(lowSessionFuture, sessionOption);
+            }
+
+            void lease() {
+                leased.set(true);
+                leasedCount.incrementAndGet();
+            }
+
+            void pushToQueue() {
+                this.idleSince = System.nanoTime();
+                sessionQueue.push(this);
+            }
+
+            @Override
+            public void close() throws IOException, InterruptedException {
+                if (leased.compareAndSet(true, false)) {
+                    leasedCount.decrementAndGet();
+                    pushToQueue();
+                    leaseSemaphore.release();
+                }
+            }
+
+            void actualClose() throws IOException, InterruptedException {
+                super.close();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        maintenanceExecutor.shutdownNow();
+        executor.shutdownNow();
+
+        int total = endpointList.stream().mapToInt(endpointPool -> endpointPool.sessionList.size()).sum();
+        if (total == 0) {
+            return;
+        }
+
+        int count = 0;
+        for (var endpointPool : endpointList) {
+            count += endpointPool.close();
+        }
+        LOG.info("SessionPool closed. session={}, error={}", count, total - count);
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * counters of {@link SessionPool}.
+ */
+public class SessionPoolMetrics {
+
+    /** upper bounds of the acquire latency histogram buckets [microsecond] */
+    private static final long[] BUCKET_BOUNDS = { 100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000, 5_000_000 };
+    private static final String[] BUCKET_NAMES = { "<=0.1ms", "<=0.5ms", "<=1ms", "<=5ms", "<=10ms", "<=50ms", "<=100ms", "<=500ms", "<=1s", "<=5s", ">5s" };
+
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder closedCount = new LongAdder();
+    private final LongAdder closedAsDeadCount = new LongAdder();
+    private final LongAdder closedAsExpiredCount = new LongAdder();
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireTimeoutCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final AtomicLong acquireMaxNanos = new AtomicLong();
+    private final AtomicLongArray acquireHistogram = new AtomicLongArray(BUCKET_NAMES.length);
+
+    void incrementCreated() {
+        createdCount.increment();
+    }
+
+    void incrementClosed() {
+        closedCount.increment();
+    }
+
+    void incrementClosedAsDead() {
+        closedAsDeadCount.increment();
+    }
+
+    void incrementClosedAsExpired() {
+        closedAsExpiredCount.increment();
+    }
+
+    void recordAcquire(long nanos) {
+        acquireCount.increment();
+        acquireNanos.add(nanos);
+        acquireMaxNanos.accumulateAndGet(nanos, Math::max);
+        acquireHistogram.incrementAndGet(bucketIndex(TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    void recordAcquireTimeout() {
+        acquireTimeoutCount.increment();
+    }
+
+    static int bucketIndex(long micros) {
+        for (int i = 0; i < BUCKET_BOUNDS.length; i++) {
+            if (micros <= BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS.length;
+    }
+
+    Snapshot snapshot(int maxSize, int minIdle, int sessionCount, int leasedCount, int idleCount, List<EndpointSnapshot> endpoints) {
+        long count = acquireCount.sum();
+        long nanos = acquireNanos.sum();
+        var histogram = new LinkedHashMap<String, Long>(BUCKET_NAMES.length);
+        for (int i = 0; i < BUCKET_NAMES.length; i++) {
+            histogram.put(BUCKET_NAMES[i], acquireHistogram.get(i));
+        }
+
+        return new Snapshot( //
+                maxSize, //
+                minIdle, //
+                sessionCount, //
+                leasedCount, //
+                idleCount, //
+                createdCount.sum(), //
+                closedCount.sum(), //
+                closedAsDeadCount.sum(), //
+                closedAsExpiredCount.sum(), //
+                count, //
+                acquireTimeoutCount.sum(), //
+                (count == 0) ? 0 : toMillis(nanos / count), //
+                toMillis(acquireMaxNanos.get()), //
+                histogram, //
+                endpoints);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000d;
+    }
+
+    public record Snapshot(int maxSize, int minIdle, int sessions, int leased, int idle, //
+            long created, long closed, long closedAsDead, long closedAsExpired, //
+            long acquired, long acquireTimeout, double acquireAverageMillis, double acquireMaxMillis, Map<String, Long> acquireHistogram, //
+            List<EndpointSnapshot> endpoints) {
+    }
+
+    public record EndpointSnapshot(String endpoint, boolean available, int sessions, int leased, int idle) {
+    }
+}
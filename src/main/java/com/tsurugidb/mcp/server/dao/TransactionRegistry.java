@@ -0,0 +1,327 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.iceaxe.session.TsurugiSession;
+import com.tsurugidb.iceaxe.transaction.TgCommitType;
+import com.tsurugidb.iceaxe.transaction.TsurugiTransaction;
+import com.tsurugidb.iceaxe.transaction.exception.TsurugiTransactionException;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.iceaxe.util.InterruptedRuntimeException;
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
+
+/**
+ * transactions which continue over multiple tool calls.
+ * <p>
+ * The session is leased from the pool until commit, rollback or transaction-idle-timeout. A tool call locks the transaction while it uses it, so the calls of the same
+ * transaction are serialized, and a transaction in use is not rolled back by transaction-idle-timeout.
+ * </p>
+ */
+public class TransactionRegistry implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionRegistry.class);
+
+    private final AtomicInteger transactionId = new AtomicInteger();
+    private final long idleNanos;
+    private final TaskScheduler scheduler;
+    private final ConcurrentHashMap<String, PinnedTransaction> transactionMap = new ConcurrentHashMap<>();
+
+    public TransactionRegistry(Arguments arguments, TaskScheduler scheduler) {
+        this.scheduler = scheduler;
+        long idleTimeout = arguments.getTransactionIdleTimeout();
+        this.idleNanos = TimeUnit.SECONDS.toNanos(idleTimeout);
+        if (idleTimeout > 0) {
+            long interval = Math.max(1, Math.min(idleTimeout / 2, 30));
+            scheduler.scheduleWithFixedDelay(this::sweep, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * transaction bound to a session.
+     */
+    public static class PinnedTransaction {
+        private final String handle;
+        private final TsurugiSession session;
+        private final TsurugiTransaction transaction;
+        /** held by the tool call which uses the transaction */
+        final ReentrantLock lock = new ReentrantLock();
+        /** ongoing queries of this transaction (disposed when the transaction ends) */
+        private final Set<Runnable> cursorSet = ConcurrentHashMap.newKeySet();
+        private volatile boolean ended = false;
+        private volatile long lastAccessTime = System.nanoTime();
+
+        PinnedTransaction(String handle, TsurugiSession session, TsurugiTransaction transaction) {
+            this.handle = handle;
+            this.session = session;
+            this.transaction = transaction;
+        }
+
+        public String getHandle() {
+            return this.handle;
+        }
+
+        public TsurugiSession getSession() {
+            return this.session;
+        }
+
+        public TsurugiTransaction getTransaction() {
+            return this.transaction;
+        }
+
+        /**
+         * lock the transaction for a tool call. {@link #release()} must be called after the use.
+         *
+         * @throws IllegalArgumentException if the transaction ended
+         */
+        public void acquire() {
+            try {
+                lock.lockInterruptibly();
+            } catch (InterruptedException e) {
+                throw new InterruptedRuntimeException(e);
+            }
+            if (ended) {
+                lock.unlock();
+                throw notFound(handle);
+            }
+        }
+
+        /**
+         * unlock the transaction, and keep it alive until transaction-idle-timeout from now.
+         */
+        public void release() {
+            this.lastAccessTime = System.nanoTime();
+            lock.unlock();
+        }
+
+        /**
+         * register an ongoing query.
+         *
+         * @param dispose action to close the query
+         */
+        void addCursor(Runnable dispose) {
+            cursorSet.add(dispose);
+        }
+
+        void removeCursor(Runnable dispose) {
+            cursorSet.remove(dispose);
+        }
+
+        /**
+         * mark the transaction ended and close the ongoing queries. the caller holds the lock.
+         */
+        private void end() {
+            this.ended = true;
+            var list = List.copyOf(cursorSet);
+            cursorSet.clear();
+            list.forEach(Runnable::run);
+        }
+
+        void close() {
+            try (var s = session; var t = transaction) {
+                // close only
+            } catch (IOException e) {
+                throw new UncheckedIOException(e.getMessage(), e);
+            } catch (InterruptedException e) {
+                throw new InterruptedRuntimeException(e);
+            } catch (TsurugiTransactionException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * begin a transaction.
+     *
+     * @param session  session leased from the pool (closed when the transaction ends)
+     * @param txOption transaction option
+     * @return transaction
+     */
+    public PinnedTransaction begin(TsurugiSession session, TgTxOption txOption) {
+        try {
+            var transaction = session.createTransaction(txOption);
+            String handle = "tx" + transactionId.getAndIncrement();
+            var pinned = new PinnedTransaction(handle, session, transaction);
+            transactionMap.put(handle, pinned);
+            return pinned;
+        } catch (IOException e) {
+            closeSession(session);
+            throw new UncheckedIOException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            closeSession(session);
+            throw new InterruptedRuntimeException(e);
+        } catch (RuntimeException e) {
+            closeSession(session);
+            throw e;
+        }
+    }
+
+    private static void closeSession(TsurugiSession session) {
+        try {
+            session.close();
+        } catch (Exception e) {
+            LOG.warn("session close error", e);
+        }
+    }
+
+    /**
+     * get a transaction. the caller locks it by {@link PinnedTransaction#acquire()} to use it.
+     *
+     * @param handle transaction handle
+     * @return transaction
+     * @throws IllegalArgumentException if not found
+     */
+    public PinnedTransaction get(String handle) {
+        var pinned = transactionMap.get(handle);
+        if (pinned == null) {
+            throw notFound(handle);
+        }
+        return pinned;
+    }
+
+    private static IllegalArgumentException notFound(String handle) {
+        return new IllegalArgumentException(MessageFormat.format("not found transaction. transaction_handle={0} (ended or closed by timeout)", handle));
+    }
+
+    /**
+     * commit a transaction. the ongoing queries of the transaction are closed.
+     *
+     * @param handle transaction handle
+     */
+    public void commit(String handle) {
+        var pinned = remove(handle);
+        try {
+            pinned.transaction.commit(TgCommitType.DEFAULT);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            throw new InterruptedRuntimeException(e);
+        } catch (TsurugiTransactionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            closeQuietly(pinned);
+            pinned.lock.unlock();
+        }
+    }
+
+    /**
+     * roll back a transaction. the ongoing queries of the transaction are closed.
+     *
+     * @param handle transaction handle
+     */
+    public void rollback(String handle) {
+        var pinned = remove(handle);
+        try {
+            pinned.transaction.rollback();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e.getMessage(), e);
+        } catch (InterruptedException e) {
+            throw new InterruptedRuntimeException(e);
+        } catch (TsurugiTransactionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            closeQuietly(pinned);
+            pinned.lock.unlock();
+        }
+    }
+
+    /**
+     * lock a transaction, remove it and close its ongoing queries. the caller unlocks it after ending the transaction.
+     */
+    private PinnedTransaction remove(String handle) {
+        var pinned = get(handle);
+        pinned.acquire(); // wait for the call in progress
+        transactionMap.remove(handle, pinned);
+        pinned.end();
+        return pinned;
+    }
+
+    private static void closeQuietly(PinnedTransaction pinned) {
+        try {
+            pinned.close();
+        } catch (Exception e) {
+            LOG.warn("transaction close error. transaction_handle={}", pinned.handle, e);
+        }
+    }
+
+    int getCount() {
+        return transactionMap.size();
+    }
+
+    /**
+     * roll back transactions which are not used within transaction-idle-timeout.
+     * <p>
+     * Only the expired transactions are collected on the timer thread, and each rollback is executed by another thread.
+     * </p>
+     */
+    void sweep() {
+        for (var pinned : transactionMap.values()) {
+            if (System.nanoTime() - pinned.lastAccessTime > idleNanos && !pinned.lock.isLocked()) {
+                scheduler.execute(() -> expire(pinned));
+            }
+        }
+    }
+
+    private void expire(PinnedTransaction pinned) {
+        if (!pinned.lock.tryLock()) {
+            return; // in use
+        }
+        try {
+            // the transaction may be used after the check of sweep
+            if (pinned.ended || System.nanoTime() - pinned.lastAccessTime <= idleNanos || !transactionMap.remove(pinned.handle, pinned)) {
+                return;
+            }
+            LOG.debug("transaction expired. transaction_handle={}", pinned.handle);
+            pinned.end();
+            rollbackAndClose(pinned);
+        } finally {
+            pinned.lock.unlock();
+        }
+    }
+
+    private static void rollbackAndClose(PinnedTransaction pinned) {
+        try {
+            pinned.transaction.rollback();
+        } catch (Exception e) {
+            LOG.warn("transaction rollback error. transaction_handle={}", pinned.handle, e);
+        } finally {
+            closeQuietly(pinned);
+        }
+    }
+
+    @Override
+    public void close() {
+        var list = new ArrayList<>(transactionMap.values());
+        transactionMap.clear();
+        for (var pinned : list) {
+            pinned.ended = true; // the queries are closed with the session
+            rollbackAndClose(pinned);
+        }
+    }
+}
@@ -15,13 +15,20 @@
  */
 package com.tsurugidb.mcp.server.tool;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
+import com.tsurugidb.iceaxe.sql.parameter.TgBindParameters;
 import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.dao.ParameterUtil;
+import com.tsurugidb.mcp.server.dao.ParameterUtil.ParameterDefinition;
 import com.tsurugidb.mcp.server.dao.SessionPool;
+import com.tsurugidb.mcp.server.util.SingleFlight;
 
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.server.McpServerFeatures.SyncToolSpecification;
@@ -33,11 +40,21 @@ import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 public abstract class AbstractTool {
 
     protected McpJsonMapper jsonMapper;
+    protected TsurugiMcpContext context;
     protected SessionPool pool;
+    private final SingleFlight<String, Response> singleFlight = new SingleFlight<>();
 
-    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, SessionPool pool) {
+    /**
+     * whether this tool can be used with the arguments (e.g. a required option is specified).
+     */
+    public boolean isAvailable(Arguments arguments) {
+        return true;
+    }
+
+    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
         this.jsonMapper = jsonMapper;
-        this.pool = pool;
+        this.context = context;
+        this.pool = context.getPool();
     }
 
     public SyncToolSpecification syncTool() {
@@ -82,25 +99,64 @@ public abstract class AbstractTool {
         public static ToolProperty of(String name, String description, boolean required) {
             return new ToolProperty(name, ToolPropertyBody.ofString(description), required);
         }
+
+        public static ToolProperty ofObject(String name, String description, boolean required) {
+            return new ToolProperty(name, ToolPropertyBody.ofObject(description), required);
+        }
+
+        public static ToolProperty ofArray(String name, String description, boolean required) {
+            return new ToolProperty(name, ToolPropertyBody.ofArray(description), required);
+        }
     }
 
     protected record ToolPropertyBody(String type, String description) {
         public static ToolPropertyBody ofString(String description) {
             return new ToolPropertyBody("string", description);
         }
+
+        public static ToolPropertyBody ofObject(String description) {
+            return new ToolPropertyBody("object", description);
+        }
+
+        public static ToolPropertyBody ofArray(String description) {
+            return new ToolPropertyBody("array", description);
+        }
     }
 
     protected abstract List<ToolProperty> properties();
 
+    /** key of _meta of tools/call to hold the JSON-RPC request id (set by TsurugiMcpServerTransportProvider) */
+    public static final String META_REQUEST_ID = "tsurugi-mcp-server/requestId";
+
+    protected static final String TIMEOUT = "timeout";
+    /** key of the number of retries by serialization failure in the result (also written by QueryUtil) */
+    protected static final String RETRY_COUNT = "retry_count";
+    protected static final String PARAMETER_TYPES = "parameter_types";
+    protected static final String PARAMETERS = "parameters";
+
+    protected static ToolProperty parameterTypesProperty(boolean required) {
+        return ToolProperty.ofObject(PARAMETER_TYPES, "SQL types of placeholders. e.g. `{\"id\": \"BIGINT\", \"name\": \"VARCHAR\"}`", required);
+    }
+
+    protected static ToolProperty parametersProperty() {
+        return ToolProperty.ofObject(PARAMETERS, "values of placeholders. e.g. `{\"id\": 1, \"name\": \"abc\"}`", false);
+    }
+
     private CallToolResult caller(McpSyncServerExchange exchange, CallToolRequest request) {
-        try {
-            Object result = action(exchange, request.arguments());
-            if (result instanceof CallToolResult cr) {
-                return cr;
+        var arguments = request.arguments();
+        try (var call = context.getCallRegistry().start(getRequestId(request), getTimeout(arguments))) {
+            try {
+                String key = (arguments != null) ? coalesceKey(arguments) : null;
+                if (key == null) {
+                    return respond(exchange, request).result();
+                }
+                return singleFlight.execute(key, () -> respond(exchange, request), Response::shareable).result();
+            } catch (Exception e) {
+                if (call.isAborted()) {
+                    return CallToolResult.builder().addTextContent(call.getAbortReason()).isError(true).build();
+                }
+                throw e;
             }
-
-            String text = jsonMapper.writeValueAsString(result);
-            return CallToolResult.builder().addTextContent(text).build();
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -108,5 +164,183 @@ public abstract class AbstractTool {
         }
     }
 
+    private record Response(CallToolResult result, boolean shareable) {
+    }
+
+    private Response respond(McpSyncServerExchange exchange, CallToolRequest request) throws Exception {
+        Object result = handle(exchange, request);
+        if (result instanceof CallToolResult cr) {
+            return new Response(cr, false);
+        }
+
+        String text = toText(result);
+        return new Response(CallToolResult.builder().addTextContent(text).build(), isShareable(result));
+    }
+
+    /**
+     * get the key to coalesce concurrent identical calls. the calls of the same key in flight share one execution and one response.
+     *
+     * @param arguments arguments
+     * @return key, null if the call is not coalesced
+     */
+    protected String coalesceKey(Map<String, Object> arguments) throws IOException {
+        return null;
+    }
+
+    /**
+     * whether the result of a coalesced call can be returned to the other callers.
+     *
+     * @param result result of {@link #handle(McpSyncServerExchange, CallToolRequest)}
+     * @return {@code false} if the result holds a state for the caller (e.g. cursor)
+     */
+    protected boolean isShareable(Object result) {
+        return true;
+    }
+
+    /**
+     * convert the arguments to a key. the object keys are sorted, and {@code timeout} is excluded.
+     */
+    protected String normalizeArguments(Map<String, Object> arguments) throws IOException {
+        var map = new TreeMap<String, Object>();
+        for (var entry : arguments.entrySet()) {
+            if (!entry.getKey().equals(TIMEOUT)) {
+                map.put(entry.getKey(), normalize(entry.getValue()));
+            }
+        }
+        return jsonMapper.writeValueAsString(map);
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            var result = new TreeMap<String, Object>();
+            for (var entry : map.entrySet()) {
+                result.put(String.valueOf(entry.getKey()), normalize(entry.getValue()));
+            }
+            return result;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().map(AbstractTool::normalize).toList();
+        }
+        return value;
+    }
+
+    private static long getTimeout(Map<String, Object> arguments) {
+        if (arguments == null) {
+            return 0;
+        }
+        long timeout = getLong(arguments, TIMEOUT, 0);
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Unexpected " + TIMEOUT + ": " + timeout);
+        }
+        return timeout;
+    }
+
+    private static String getRequestId(CallToolRequest request) {
+        var meta = request.meta();
+        if (meta == null) {
+            return null;
+        }
+        Object id = meta.get(META_REQUEST_ID);
+        return (id != null) ? id.toString() : null;
+    }
+
+    /**
+     * execute the tool. override this to use the request other than the arguments (e.g. progress token).
+     */
+    protected Object handle(McpSyncServerExchange exchange, CallToolRequest request) throws Exception {
+        return action(exchange, request.arguments());
+    }
+
     protected abstract Object action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception;
+
+    /**
+     * get an argument of JSON object. some clients send it as JSON text.
+     */
+    @SuppressWarnings("unchecked")
+    protected Map<String, Object> getObject(Map<String, Object> arguments, String name) throws IOException {
+        Object value = arguments.get(name);
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Map<?, ?> map) {
+            return (Map<String, Object>) map;
+        }
+        if (value instanceof String s) {
+            if (s.isBlank()) {
+                return null;
+            }
+            return jsonMapper.readValue(s, Map.class);
+        }
+        throw new IllegalArgumentException("Unexpected " + name + ": " + value);
+    }
+
+    /**
+     * get an argument of JSON array of objects. some clients send it as JSON text.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<Map<String, Object>> getObjectList(Map<String, Object> arguments, String name) throws IOException {
+        Object value = arguments.get(name);
+        if (value instanceof String s) {
+            if (s.isBlank()) {
+                return null;
+            }
+            value = jsonMapper.readValue(s, List.class);
+        }
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof List<?> list) {
+            for (Object element : list) {
+                if (!(element instanceof Map)) {
+                    throw new IllegalArgumentException("Unexpected element of " + name + ": " + element);
+                }
+            }
+            return (List<Map<String, Object>>) list;
+        }
+        throw new IllegalArgumentException("Unexpected " + name + ": " + value);
+    }
+
+    /**
+     * placeholders and their values.
+     *
+     * @param definition placeholders (null if SQL has no placeholders)
+     * @param parameters values (null if SQL has no placeholders)
+     */
+    protected record Parameters(ParameterDefinition definition, TgBindParameters parameters) {
+    }
+
+    /**
+     * get the arguments of parameter_types and parameters.
+     */
+    protected Parameters getParameters(Map<String, Object> arguments) throws IOException {
+        var typeMap = getObject(arguments, PARAMETER_TYPES);
+        var valueMap = getObject(arguments, PARAMETERS);
+        if (typeMap != null) {
+            var definition = ParameterUtil.of(typeMap);
+            return new Parameters(definition, definition.toParameters((valueMap != null) ? valueMap : Map.of()));
+        }
+        if (valueMap != null && !valueMap.isEmpty()) {
+            throw new IllegalArgumentException(PARAMETER_TYPES + " not specified");
+        }
+        return new Parameters(null, null);
+    }
+
+    protected static long getLong(Map<String, Object> arguments, String name, long defaultValue) {
+        Object value = arguments.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number n) {
+            return n.longValue();
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unexpected " + name + ": " + value, e);
+        }
+    }
+
+    protected String toText(Object result) throws IOException {
+        return jsonMapper.writeValueAsString(result);
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tsurugidb.iceaxe.sql.parameter.TgBindParameters;
+import com.tsurugidb.iceaxe.transaction.TgCommitType;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.dao.ParameterUtil;
+import com.tsurugidb.mcp.server.dao.RetryPolicy;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+
+public class BatchUpdateTool extends AbstractTool {
+
+    /** number of parameter sets sent at once */
+    private static final int BATCH_SIZE = 1000;
+
+    private RetryPolicy retryPolicy;
+
+    @Override
+    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
+        super.initialize(jsonMapper, arguments, context);
+
+        this.retryPolicy = new RetryPolicy(arguments);
+    }
+
+    @Override
+    public String toolName() {
+        return "batchUpdate";
+    }
+
+    @Override
+    protected String toolDescription() {
+        return "execute SQL (insert, update, delete) with many parameter sets in one transaction in Tsurugi RDBMS";
+    }
+
+    static final String SQL = "sql";
+    static final String TRANSACTION_TYPE = "transaction_type";
+    static final String WRITE_PRESERVE = "write_preserve";
+    static final String PARAMETER_SETS = "parameter_sets";
+
+    @Override
+    protected List<ToolProperty> properties() {
+        return List.of( //
+                ToolProperty.of(SQL, "SQL (insert, update, delete) to execute. placeholders are `:name`", true), //
+                ToolProperty.of(TRANSACTION_TYPE, "transaction type. `OCC`, `LTX`. default is `OCC`", false), //
+                ToolProperty.of(WRITE_PRESERVE, "table names for target (comma separate). Required when transaction_type is LTX", false), //
+                parameterTypesProperty(true), //
+                ToolProperty.ofArray(PARAMETER_SETS, "array of placeholder values. e.g. `[{\"id\": 1, \"name\": \"abc\"}, {\"id\": 2, \"name\": \"def\"}]`", true), //
+                ToolProperty.of(TIMEOUT, "timeout of this call in seconds. default is sql-timeout of the server", false) //
+        );
+    }
+
+    @Override
+    protected Map<String, Long> action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
+        String sql = (String) arguments.get(SQL);
+        var txOption = getTransactionOption(arguments);
+
+        var typeMap = getObject(arguments, PARAMETER_TYPES);
+        if (typeMap == null) {
+            throw new IllegalArgumentException(PARAMETER_TYPES + " not specified");
+        }
+        var definition = ParameterUtil.of(typeMap);
+        var valueList = getObjectList(arguments, PARAMETER_SETS);
+        if (valueList == null || valueList.isEmpty()) {
+            throw new IllegalArgumentException(PARAMETER_SETS + " not specified");
+        }
+        var parameterList = new ArrayList<TgBindParameters>(valueList.size());
+        for (var valueMap : valueList) {
+            parameterList.add(definition.toParameters(valueMap));
+        }
+
+        try (var session = pool.getSession()) {
+            return retryPolicy.execute(txOption, getWritePreserve(arguments), (option, retryCount) -> {
+                var result = new LinkedHashMap<String, Long>();
+                try (var transaction = session.createTransaction(option)) {
+                    pool.getStatementCache(session).executeStatement(sql, definition, ps -> {
+                        for (int i = 0; i < parameterList.size(); i += BATCH_SIZE) {
+                            var list = parameterList.subList(i, Math.min(i + BATCH_SIZE, parameterList.size()));
+                            var count = transaction.executeAndGetCountDetail(ps, list);
+                            for (var entry : count.getLowCounterMap().entrySet()) {
+                                result.merge(entry.getKey().name().toLowerCase(), entry.getValue(), Long::sum);
+                            }
+                        }
+                        return null;
+                    });
+
+                    transaction.commit(TgCommitType.DEFAULT);
+                }
+                if (retryCount > 0) {
+                    result.put(RETRY_COUNT, (long) retryCount);
+                }
+                return result;
+            });
+        }
+    }
+
+    TgTxOption getTransactionOption(Map<String, Object> arguments) {
+        String transactionType = (String) arguments.get(TRANSACTION_TYPE);
+        if (transactionType == null) {
+            return TgTxOption.ofOCC();
+        }
+
+        return switch (transactionType.toUpperCase()) {
+        case "OCC", "SHORT" -> TgTxOption.ofOCC();
+        case "LTX", "LONG" -> {
+            String wp = (String) arguments.get(WRITE_PRESERVE);
+            if (wp == null) {
+                yield TgTxOption.ofLTX();
+            }
+            yield TgTxOption.ofLTX(getWritePreserve(arguments));
+        }
+        default -> throw new IllegalArgumentException("Unexpected transaction_type: " + transactionType);
+        };
+    }
+
+    List<String> getWritePreserve(Map<String, Object> arguments) {
+        String wp = (String) arguments.get(WRITE_PRESERVE);
+        if (wp == null) {
+            return null;
+        }
+        return Arrays.stream(wp.split(",")).map(String::trim).toList();
+    }
+}
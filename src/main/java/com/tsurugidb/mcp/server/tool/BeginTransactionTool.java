@@ -0,0 +1,81 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOptionRtx;
+
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+
+public class BeginTransactionTool extends AbstractTool {
+
+    @Override
+    public String toolName() {
+        return "beginTransaction";
+    }
+
+    @Override
+    protected String toolDescription() {
+        return "begin a transaction in Tsurugi RDBMS which continues over multiple query and update calls. end it by commit or rollback";
+    }
+
+    static final String TRANSACTION_TYPE = "transaction_type";
+    static final String WRITE_PRESERVE = "write_preserve";
+    static final String TRANSACTION_HANDLE = "transaction_handle";
+
+    @Override
+    protected List<ToolProperty> properties() {
+        return List.of( //
+                ToolProperty.of(TRANSACTION_TYPE, "transaction type. `OCC`, `LTX` or `RTX`. default is `OCC`", false), //
+                ToolProperty.of(WRITE_PRESERVE, "table names for target (comma separate). Required when transaction_type is LTX", false) //
+        );
+    }
+
+    @Override
+    protected Map<String, String> action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
+        var txOption = getTransactionOption(arguments);
+
+        var session = (txOption instanceof TgTxOptionRtx) ? pool.getReadSession() : pool.getSession();
+        var pinned = context.getTransactionRegistry().begin(session, txOption);
+
+        return Map.of(TRANSACTION_HANDLE, pinned.getHandle());
+    }
+
+    TgTxOption getTransactionOption(Map<String, Object> arguments) {
+        String transactionType = (String) arguments.get(TRANSACTION_TYPE);
+        if (transactionType == null) {
+            return TgTxOption.ofOCC();
+        }
+
+        return switch (transactionType.toUpperCase()) {
+        case "OCC", "SHORT" -> TgTxOption.ofOCC();
+        case "LTX", "LONG" -> {
+            String wp = (String) arguments.get(WRITE_PRESERVE);
+            if (wp == null) {
+                yield TgTxOption.ofLTX();
+            }
+            var writePreserve = Arrays.stream(wp.split(",")).map(String::trim).toList();
+            yield TgTxOption.ofLTX(writePreserve);
+        }
+        case "RTX", "READ ONLY" -> TgTxOption.ofRTX();
+        default -> throw new IllegalArgumentException("Unexpected transaction_type: " + transactionType);
+        };
+    }
+}
@@ -57,6 +57,8 @@ public class DdlTool extends AbstractTool {
             transaction.executeAndGetCountDetail(ps);
 
             transaction.commit(TgCommitType.DEFAULT);
+        } finally {
+            context.getMetadataCache().invalidate();
         }
 
         return "succeeded";
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.dao.ExportUtil;
+import com.tsurugidb.mcp.server.dao.ExportUtil.ExportFormat;
+import com.tsurugidb.mcp.server.dao.ProgressListener;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+
+public class ExportQueryTool extends AbstractTool {
+
+    private ExportUtil exportUtil;
+
+    @Override
+    public boolean isAvailable(Arguments arguments) {
+        return arguments.getExportDir() != null;
+    }
+
+    @Override
+    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
+        super.initialize(jsonMapper, arguments, context);
+
+        this.exportUtil = new ExportUtil(arguments, pool);
+    }
+
+    @Override
+    public String toolName() {
+        return "exportQuery";
+    }
+
+    @Override
+    protected String toolDescription() {
+        return "execute SQL (select) in Tsurugi RDBMS and write all rows to a file on the server (CSV or NDJSON). use this instead of query for large results";
+    }
+
+    static final String SQL = "sql";
+    static final String TRANSACTION_TYPE = "transaction_type";
+    static final String FORMAT = "format";
+    static final String FILE_NAME = "file_name";
+
+    @Override
+    protected List<ToolProperty> properties() {
+        return List.of( //
+                ToolProperty.of(SQL, "SQL (select only) to execute. placeholders are `:name`", true), //
+                parameterTypesProperty(false), //
+                parametersProperty(), //
+                ToolProperty.of(TRANSACTION_TYPE, "transaction type. `OCC`, `LTX` or `RTX`. default is `RTX`", false), //
+                ToolProperty.of(FORMAT, "file format. `csv` (with a header line) or `ndjson` (one JSON object per line). default is `csv`", false), //
+                ToolProperty.of(FILE_NAME, "file name in the export directory of the server. an existing file is not overwritten. if omitted, a new name is generated", false), //
+                ToolProperty.of(TIMEOUT, "timeout of this call in seconds. default is sql-timeout of the server", false) //
+        );
+    }
+
+    @Override
+    protected Object handle(McpSyncServerExchange exchange, CallToolRequest request) throws Exception {
+        try (var notifier = ProgressNotifier.of(exchange, request, context.getScheduler())) {
+            return execute(request.arguments(), (notifier != null) ? notifier : ProgressListener.NONE);
+        }
+    }
+
+    @Override
+    protected Map<String, Object> action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
+        return execute(arguments, ProgressListener.NONE);
+    }
+
+    private Map<String, Object> execute(Map<String, Object> arguments, ProgressListener progress) throws Exception {
+        String sql = (String) arguments.get(SQL);
+        var txOption = getTransactionOption(arguments);
+        var format = getExportFormat(arguments);
+        var path = exportUtil.resolve((String) arguments.get(FILE_NAME), format);
+
+        var parameters = getParameters(arguments);
+
+        var result = exportUtil.export(sql, parameters.definition(), parameters.parameters(), txOption, path, format, progress);
+
+        var map = new LinkedHashMap<String, Object>();
+        map.put("path", result.path().toString());
+        map.put("format", result.format().extension());
+        map.put("row_count", result.rowCount());
+        map.put("byte_size", result.byteSize());
+        if (result.retryCount() > 0) {
+            map.put(RETRY_COUNT, result.retryCount());
+        }
+        return map;
+    }
+
+    ExportFormat getExportFormat(Map<String, Object> arguments) {
+        String format = (String) arguments.get(FORMAT);
+        if (format == null) {
+            return ExportFormat.CSV;
+        }
+
+        return switch (format.toLowerCase()) {
+        case "csv" -> ExportFormat.CSV;
+        case "ndjson", "jsonl" -> ExportFormat.NDJSON;
+        default -> throw new IllegalArgumentException("Unexpected format: " + format);
+        };
+    }
+
+    TgTxOption getTransactionOption(Map<String, Object> arguments) {
+        String transactionType = (String) arguments.get(TRANSACTION_TYPE);
+        if (transactionType == null) {
+            return TgTxOption.ofRTX();
+        }
+
+        return switch (transactionType.toUpperCase()) {
+        case "OCC", "SHORT" -> TgTxOption.ofOCC();
+        case "LTX", "LONG" -> TgTxOption.ofLTX();
+        case "RTX", "READ ONLY" -> TgTxOption.ofRTX();
+        default -> throw new IllegalArgumentException("Unexpected transaction_type: " + transactionType);
+        };
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.dao.ImportUtil;
+import com.tsurugidb.mcp.server.dao.ImportUtil.ImportFormat;
+import com.tsurugidb.mcp.server.dao.ProgressListener;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+
+public class ImportFileTool extends AbstractTool {
+
+    static final int DEFAULT_BATCH_SIZE = 1000;
+    static final int DEFAULT_PARALLELISM = 4;
+
+    private ImportUtil importUtil;
+    private int maxParallelism;
+
+    @Override
+    public boolean isAvailable(Arguments arguments) {
+        return arguments.getImportDir() != null;
+    }
+
+    @Override
+    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
+        super.initialize(jsonMapper, arguments, context);
+
+        this.importUtil = new ImportUtil(arguments, pool, context.getMetadataCache());
+        this.maxParallelism = arguments.getPoolMaxSize();
+    }
+
+    @Override
+    public String toolName() {
+        return "importFile";
+    }
+
+    @Override
+    protected String toolDescription() {
+        return "insert the rows of a file on the server (CSV or NDJSON) into a table of Tsurugi RDBMS, using several sessions in parallel";
+    }
+
+    static final String TABLE_NAME = "table_name";
+    static final String FILE_NAME = "file_name";
+    static final String FORMAT = "format";
+    static final String TRANSACTION_TYPE = "transaction_type";
+    static final String BATCH_SIZE = "batch_size";
+    static final String PARALLELISM = "parallelism";
+
+    @Override
+    protected List<ToolProperty> properties() {
+        return List.of( //
+                ToolProperty.of(TABLE_NAME, "table name to insert into", true), //
+                ToolProperty.of(FILE_NAME, "file name in the import directory of the server", true), //
+                ToolProperty.of(FORMAT, "file format. `csv` (the first line is column names) or `ndjson` (one JSON object per line). default is decided by the file extension", false), //
+                ToolProperty.of(TRANSACTION_TYPE, "transaction type. `OCC` or `LTX` (with write preserve of the table). default is `OCC`", false), //
+                ToolProperty.of(BATCH_SIZE, "number of rows per transaction. default is " + DEFAULT_BATCH_SIZE, false), //
+                ToolProperty.of(PARALLELISM, "number of sessions to insert in parallel. default is " + DEFAULT_PARALLELISM, false), //
+                ToolProperty.of(TIMEOUT, "timeout of this call in seconds. default is sql-timeout of the server", false) //
+        );
+    }
+
+    @Override
+    protected Object handle(McpSyncServerExchange exchange, CallToolRequest request) throws Exception {
+        try (var notifier = ProgressNotifier.of(exchange, request, context.getScheduler())) {
+            return execute(request.arguments(), (notifier != null) ? notifier : ProgressListener.NONE);
+        }
+    }
+
+    @Override
+    protected Map<String, Object> action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
+        return execute(arguments, ProgressListener.NONE);
+    }
+
+    private Map<String, Object> execute(Map<String, Object> arguments, ProgressListener progress) throws Exception {
+        String tableName = (String) arguments.get(TABLE_NAME);
+        if (tableName == null || tableName.isBlank()) {
+            throw new IllegalArgumentException(TABLE_NAME + " not specified");
+        }
+        String fileName = (String) arguments.get(FILE_NAME);
+        var path = importUtil.resolve(fileName);
+        var format = getImportFormat(arguments, fileName);
+        boolean ltx = isLtx(arguments);
+        long batchSize = getLong(arguments, BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Unexpected " + BATCH_SIZE + ": " + batchSize);
+        }
+        long parallelism = getLong(arguments, PARALLELISM, DEFAULT_PARALLELISM);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Unexpected " + PARALLELISM + ": " + parallelism);
+        }
+        parallelism = Math.min(parallelism, maxParallelism);
+
+        var result = importUtil.importFile(tableName, path, format, ltx, (int) Math.min(batchSize, Integer.MAX_VALUE), (int) parallelism, progress);
+
+        var map = new LinkedHashMap<String, Object>();
+        map.put(TABLE_NAME, result.tableName());
+        map.put("inserted_rows", result.rowCount());
+        map.put("batch_count", result.batchCount());
+        map.put("elapsed_millis", result.elapsedMillis());
+        map.put("rows_per_second", result.rowsPerSecond());
+        if (result.retryCount() > 0) {
+            map.put(RETRY_COUNT, result.retryCount());
+        }
+        return map;
+    }
+
+    ImportFormat getImportFormat(Map<String, Object> arguments, String fileName) {
+        String format = (String) arguments.get(FORMAT);
+        if (format == null) {
+            return ImportFormat.ofFileName(fileName);
+        }
+
+        return switch (format.toLowerCase()) {
+        case "csv" -> ImportFormat.CSV;
+        case "ndjson", "jsonl" -> ImportFormat.NDJSON;
+        default -> throw new IllegalArgumentException("Unexpected format: " + format);
+        };
+    }
+
+    boolean isLtx(Map<String, Object> arguments) {
+        String transactionType = (String) arguments.get(TRANSACTION_TYPE);
+        if (transactionType == null) {
+            return false;
+        }
+
+        return switch (transactionType.toUpperCase()) {
+        case "OCC", "SHORT" -> false;
+        case "LTX", "LONG" -> true;
+        default -> throw new IllegalArgumentException("Unexpected transaction_type: " + transactionType);
+        };
+    }
+}
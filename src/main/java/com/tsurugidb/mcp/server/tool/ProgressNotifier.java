@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.tsurugidb.mcp.server.dao.ProgressListener;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
+
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.ProgressNotification;
+
+/**
+ * send notifications/progress to the client while a tool call is running.
+ * <p>
+ * {@code progress} is the elapsed time in milliseconds (it must increase with each notification), and {@code message} holds the phase, the number of rows read and the buffered bytes. A notification is
+ * sent at most every {@link #INTERVAL_MILLIS}, and also while the server is waiting for Tsurugi.
+ * </p>
+ */
+class ProgressNotifier implements ProgressListener, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ProgressNotifier.class);
+
+    static final long INTERVAL_MILLIS = 1000;
+
+    /**
+     * create a notifier.
+     *
+     * @param exchange  exchange (null in tests)
+     * @param request   request
+     * @param scheduler scheduler of the heartbeat
+     * @return notifier (null if the client did not send a progress token)
+     */
+    static ProgressNotifier of(McpSyncServerExchange exchange, CallToolRequest request, TaskScheduler scheduler) {
+        var token = request.progressToken();
+        if (exchange == null || token == null) {
+            return null;
+        }
+        return new ProgressNotifier(exchange, token, scheduler);
+    }
+
+    private final McpSyncServerExchange exchange;
+    private final Object token;
+    private final long startTime = System.nanoTime();
+    private final TaskScheduler scheduler;
+    private final ScheduledFuture<?> heartbeat;
+    /** a heartbeat is being sent (a slow client must not pile up heartbeats) */
+    private final AtomicBoolean heartbeatSending = new AtomicBoolean(false);
+    private volatile String phase = "starting";
+    private volatile long rowCount = -1;
+    private volatile long byteSize = 0;
+    private long lastProgress = -1;
+    private volatile long lastSendTime = startTime;
+    private boolean closed = false;
+
+    ProgressNotifier(McpSyncServerExchange exchange, Object token, TaskScheduler scheduler) {
+        this.exchange = exchange;
+        this.token = token;
+        this.scheduler = scheduler;
+        this.heartbeat = scheduler.scheduleWithFixedDelay(this::heartbeat, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void phase(String phase) {
+        this.phase = phase;
+    }
+
+    @Override
+    public void rows(long rowCount, long byteSize) {
+        this.rowCount = rowCount;
+        this.byteSize = byteSize;
+        if (System.nanoTime() - lastSendTime >= TimeUnit.MILLISECONDS.toNanos(INTERVAL_MILLIS)) {
+            send();
+        }
+    }
+
+    /**
+     * called on the timer thread. the notification is sent by the executor, so that a slow client does not block the other timers.
+     */
+    private void heartbeat() {
+        if (System.nanoTime() - lastSendTime >= TimeUnit.MILLISECONDS.toNanos(INTERVAL_MILLIS / 2)) {
+            if (!heartbeatSending.compareAndSet(false, true)) {
+                return;
+            }
+            scheduler.execute(() -> {
+                try {
+                    send();
+                } finally {
+                    heartbeatSending.set(false);
+                }
+            });
+        }
+    }
+
+    private synchronized void send() {
+        if (closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        long progress = Math.max(TimeUnit.NANOSECONDS.toMillis(now - startTime), lastProgress + 1);
+        this.lastProgress = progress;
+        this.lastSendTime = now;
+
+        var message = new StringBuilder(phase);
+        long rows = this.rowCount;
+        if (rows >= 0) {
+            message.append(", rows=").append(rows).append(", bytes=").append(byteSize);
+        }
+        message.append(", elapsed=").append(progress).append("ms");
+        try {
+            exchange.progressNotification(new ProgressNotification(token, progress, null, message.toString()));
+        } catch (Exception e) {
+            LOG.debug("progress notification error", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        heartbeat.cancel(false);
+    }
+}
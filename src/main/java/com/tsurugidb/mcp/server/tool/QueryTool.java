@@ -15,27 +15,32 @@
  */
 package com.tsurugidb.mcp.server.tool;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
 import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
 import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.dao.ProgressListener;
 import com.tsurugidb.mcp.server.dao.QueryUtil;
 import com.tsurugidb.mcp.server.dao.QueryUtil.QueryResult;
-import com.tsurugidb.mcp.server.dao.SessionPool;
+import com.tsurugidb.mcp.server.dao.QueryUtil.RowFormat;
+import com.tsurugidb.mcp.server.dao.TransactionRegistry.PinnedTransaction;
 
 import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
 
 public class QueryTool extends AbstractTool {
 
     private QueryUtil queryUtil;
 
     @Override
-    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, SessionPool pool) {
-        super.initialize(jsonMapper, arguments, pool);
+    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
+        super.initialize(jsonMapper, arguments, context);
 
-        this.queryUtil = new QueryUtil(jsonMapper, arguments, pool);
+        this.queryUtil = new QueryUtil(arguments, pool, context.getLobStore(), context.getScheduler());
     }
 
     @Override
@@ -51,23 +56,106 @@ public class QueryTool extends AbstractTool {
     static final String SQL = "sql";
     static final String TRANSACTION_TYPE = "transaction_type";
     static final String CURSOR = "cursor";
+    static final String FORMAT = "format";
+    static final String TRANSACTION_HANDLE = "transaction_handle";
 
     @Override
     protected List<ToolProperty> properties() {
         return List.of( //
-                ToolProperty.of(SQL, "SQL (select only) to execute", true), //
+                ToolProperty.of(SQL, "SQL (select only) to execute. placeholders are `:name`", true), //
+                parameterTypesProperty(false), //
+                parametersProperty(), //
                 ToolProperty.of(TRANSACTION_TYPE, "transaction type. `OCC`, `LTX` or `RTX`. default is `RTX`", false), //
-                ToolProperty.of(CURSOR, "optional cursor value", false) //
+                ToolProperty.of(TRANSACTION_HANDLE, "transaction handle returned by beginTransaction. the query is executed in the transaction (transaction_type is ignored)", false), //
+                ToolProperty.of(CURSOR, "optional cursor value", false), //
+                ToolProperty.of(FORMAT, "row format. `object` (each row is an object of column name and value), `columnar` (column names and types are returned once in `columns`, and each row is an array of values) or `summary` (no rows. statistics of each column: count, nulls, min/max, approximate distinct, histogram and top values, computed in one pass). default is `object`", false), //
+                ToolProperty.of(TIMEOUT, "timeout of this call in seconds. default is sql-timeout of the server", false) //
         );
     }
 
+    @Override
+    protected Object handle(McpSyncServerExchange exchange, CallToolRequest request) throws Exception {
+        try (var notifier = ProgressNotifier.of(exchange, request, context.getScheduler())) {
+            return execute(request.arguments(), (notifier != null) ? notifier : ProgressListener.NONE);
+        }
+    }
+
+    /**
+     * RTX queries which are not continued (no {@code cursor}) and not in a transaction started by beginTransaction are coalesced.
+     */
+    @Override
+    protected String coalesceKey(Map<String, Object> arguments) throws IOException {
+        if (arguments.get(CURSOR) != null || arguments.get(TRANSACTION_HANDLE) != null) {
+            return null;
+        }
+        String transactionType = (String) arguments.get(TRANSACTION_TYPE);
+        if (transactionType != null) {
+            switch (transactionType.toUpperCase()) {
+            case "RTX", "READ ONLY":
+                break;
+            default:
+                return null;
+            }
+        }
+        return normalizeArguments(arguments);
+    }
+
+    /**
+     * a page with a continuation or LOB handles is not shared, because the cursor and the handles are released by the caller which reads them.
+     */
+    @Override
+    protected boolean isShareable(Object result) {
+        if (result instanceof QueryResult r) {
+            return !r.hasMoreRecord() && !r.hasLob();
+        }
+        return true;
+    }
+
     @Override
     protected QueryResult action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
+        return execute(arguments, ProgressListener.NONE);
+    }
+
+    private QueryResult execute(Map<String, Object> arguments, ProgressListener progress) throws Exception {
         String sql = (String) arguments.get(SQL);
         var txOption = getTransactionOption(arguments);
+        var format = getRowFormat(arguments);
         String cursor = (String) arguments.get(CURSOR);
 
-        return queryUtil.execute(sql, txOption, cursor);
+        var parameters = new Parameters(null, null);
+        PinnedTransaction pinned = null;
+        if (cursor == null) {
+            String handle = (String) arguments.get(TRANSACTION_HANDLE);
+            if (handle != null) {
+                pinned = context.getTransactionRegistry().get(handle);
+            }
+
+            parameters = getParameters(arguments);
+        }
+
+        return queryUtil.execute(sql, parameters.definition(), parameters.parameters(), txOption, pinned, format, cursor, progress);
+    }
+
+    RowFormat getRowFormat(Map<String, Object> arguments) {
+        String format = (String) arguments.get(FORMAT);
+        if (format == null) {
+            return RowFormat.OBJECT;
+        }
+
+        return switch (format.toLowerCase()) {
+        case "object" -> RowFormat.OBJECT;
+        case "columnar", "array" -> RowFormat.COLUMNAR;
+        case "summary" -> RowFormat.SUMMARY;
+        default -> throw new IllegalArgumentException("Unexpected format: " + format);
+        };
+    }
+
+    @Override
+    protected String toText(Object result) throws IOException {
+        if (result instanceof QueryResult r) {
+            return r.text(); // already serialized
+        }
+        return super.toText(result);
     }
 
     TgTxOption getTransactionOption(Map<String, Object> arguments) {
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import java.util.List;
+import java.util.Map;
+
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+
+public class ReadLobTool extends AbstractTool {
+
+    /** reserved size for the fields except data */
+    private static final int HEADER_SIZE = 256;
+
+    private int maxLength;
+    private int maxTextLength;
+
+    @Override
+    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
+        super.initialize(jsonMapper, arguments, context);
+
+        // BLOB data is Base64 (4/3 times)
+        this.maxLength = Math.max((arguments.getResponseLimitSize() - HEADER_SIZE) / 4 * 3, 1024);
+        // CLOB data is escaped as a JSON string
+        this.maxTextLength = Math.max(arguments.getResponseLimitSize() - HEADER_SIZE, 1024);
+    }
+
+    @Override
+    public String toolName() {
+        return "readLob";
+    }
+
+    @Override
+    protected String toolDescription() {
+        return "read a chunk of LOB (BLOB, CLOB) value returned as `lobHandle` by query tool";
+    }
+
+    static final String LOB_HANDLE = "lob_handle";
+    static final String OFFSET = "offset";
+    static final String LENGTH = "length";
+    static final String RELEASE = "release";
+
+    @Override
+    protected List<ToolProperty> properties() {
+        return List.of( //
+                ToolProperty.of(LOB_HANDLE, "`lobHandle` value in the query result", true), //
+                ToolProperty.of(OFFSET, "start position in bytes. use `nextOffset` of the previous chunk to continue. default is 0", false), //
+                ToolProperty.of(LENGTH, "maximum length in bytes. default is the maximum size per response", false), //
+                ToolProperty.of(RELEASE, "`true` to delete the LOB value after reading (or without reading if length is 0)", false) //
+        );
+    }
+
+    @Override
+    protected Object action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
+        String handle = (String) arguments.get(LOB_HANDLE);
+        long offset = getLong(arguments, OFFSET, 0);
+        long length = Math.min(getLong(arguments, LENGTH, maxLength), maxLength);
+        boolean release = Boolean.parseBoolean(String.valueOf(arguments.get(RELEASE)));
+
+        var lobStore = context.getLobStore();
+        try {
+            if (length == 0 && release) {
+                return Map.of(LOB_HANDLE, handle, RELEASE, true);
+            }
+            return lobStore.read(handle, offset, (int) length, maxTextLength);
+        } finally {
+            if (release) {
+                lobStore.release(handle);
+            }
+        }
+    }
+}
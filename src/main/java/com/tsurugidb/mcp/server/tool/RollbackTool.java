@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import java.util.List;
+import java.util.Map;
+
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+
+public class RollbackTool extends AbstractTool {
+
+    @Override
+    public String toolName() {
+        return "rollback";
+    }
+
+    @Override
+    protected String toolDescription() {
+        return "rollback the transaction started by beginTransaction in Tsurugi RDBMS";
+    }
+
+    static final String TRANSACTION_HANDLE = "transaction_handle";
+
+    @Override
+    protected List<ToolProperty> properties() {
+        return List.of(ToolProperty.of(TRANSACTION_HANDLE, "transaction handle returned by beginTransaction", true));
+    }
+
+    @Override
+    protected String action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
+        String handle = (String) arguments.get(TRANSACTION_HANDLE);
+
+        context.getTransactionRegistry().rollback(handle);
+
+        return "succeeded";
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.dao.SchemaIndex;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+
+public class SearchSchemaTool extends AbstractTool {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int INDEX_PARALLELISM = 8;
+
+    private SchemaIndex schemaIndex;
+
+    @Override
+    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
+        super.initialize(jsonMapper, arguments, context);
+
+        int parallelism = Math.min(INDEX_PARALLELISM, arguments.getPoolMaxSize());
+        this.schemaIndex = new SchemaIndex(context.getMetadataCache(), context.getScheduler(), parallelism, arguments.getSchemaIndexTtl());
+    }
+
+    @Override
+    public String toolName() {
+        return "searchSchema";
+    }
+
+    @Override
+    protected String toolDescription() {
+        return "search tables in Tsurugi RDBMS by keywords, matching table names, column names and their descriptions (ranked, typo tolerant)";
+    }
+
+    static final String QUERY = "query";
+    static final String LIMIT = "limit";
+
+    @Override
+    protected List<ToolProperty> properties() {
+        return List.of( //
+                ToolProperty.of(QUERY, "keywords separated by spaces. e.g. `customer address`", true), //
+                ToolProperty.of(LIMIT, "maximum number of tables to return. default is " + DEFAULT_LIMIT, false) //
+        );
+    }
+
+    @Override
+    protected String coalesceKey(Map<String, Object> arguments) throws IOException {
+        return normalizeArguments(arguments);
+    }
+
+    @Override
+    protected Map<String, Object> action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
+        String query = (String) arguments.get(QUERY);
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException(QUERY + " not specified");
+        }
+        long limit = getLong(arguments, LIMIT, DEFAULT_LIMIT);
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Unexpected " + LIMIT + ": " + limit);
+        }
+
+        var hitList = schemaIndex.search(query, (int) Math.min(limit, Integer.MAX_VALUE));
+
+        var tables = new ArrayList<Map<String, Object>>(hitList.size());
+        for (var hit : hitList) {
+            var metadata = hit.metadata();
+            var table = new LinkedHashMap<String, Object>();
+            table.put("tableName", metadata.tableName());
+            if (metadata.tableDescription() != null) {
+                table.put("tableDescription", metadata.tableDescription());
+            }
+            table.put("score", Math.round(hit.score() * 1000) / 1000.0);
+            if (!hit.matchedColumns().isEmpty()) {
+                var columns = new ArrayList<Map<String, Object>>(hit.matchedColumns().size());
+                for (var column : hit.matchedColumns()) {
+                    var c = new LinkedHashMap<String, Object>();
+                    c.put("columnName", column.columnName());
+                    c.put("columnType", column.columnType());
+                    if (column.columnDescription() != null) {
+                        c.put("columnDescription", column.columnDescription());
+                    }
+                    columns.add(c);
+                }
+                table.put("matchedColumns", columns);
+            }
+            tables.add(table);
+        }
+
+        var map = new LinkedHashMap<String, Object>();
+        map.put("tables", tables);
+        map.put("indexed_tables", schemaIndex.size());
+        return map;
+    }
+}
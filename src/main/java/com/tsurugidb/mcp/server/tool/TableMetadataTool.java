@@ -15,6 +15,7 @@
  */
 package com.tsurugidb.mcp.server.tool;
 
+import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.List;
 import java.util.Map;
@@ -43,19 +44,22 @@ public class TableMetadataTool extends AbstractTool {
         return List.of(ToolProperty.of(TABLE_NAME, "table name", true));
     }
 
+    @Override
+    protected String coalesceKey(Map<String, Object> arguments) throws IOException {
+        return normalizeArguments(arguments);
+    }
+
     @Override
     protected Object action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
         String tableName = (String) arguments.get(TABLE_NAME);
 
-        try (var session = pool.getSession()) {
-            var opt = session.findTableMetadata(tableName);
-            if (opt.isEmpty()) {
-                String text = MessageFormat.format("table not found. specified table name: {0}", tableName);
-                return CallToolResult.builder().addTextContent(text).isError(true).build();
-            }
-            var metadata = TableMetadata.of(opt.get());
-
-            return metadata;
+        var opt = context.getMetadataCache().findTableMetadata(tableName);
+        if (opt.isEmpty()) {
+            String text = MessageFormat.format("table not found. specified table name: {0}", tableName);
+            return CallToolResult.builder().addTextContent(text).isError(true).build();
         }
+        TableMetadata metadata = opt.get();
+
+        return metadata;
     }
 }
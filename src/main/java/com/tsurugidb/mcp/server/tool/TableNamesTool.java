@@ -15,6 +15,7 @@
  */
 package com.tsurugidb.mcp.server.tool;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -38,15 +39,18 @@ public class TableNamesTool extends AbstractTool {
         return List.of();
     }
 
+    @Override
+    protected String coalesceKey(Map<String, Object> arguments) throws IOException {
+        return normalizeArguments(arguments);
+    }
+
     @Override
     protected List<TableName> action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
         var list = new ArrayList<TableName>();
 
-        try (var session = pool.getSession()) {
-            List<String> tableNames = session.getTableNameList();
-            for (String tableName : tableNames) {
-                list.add(new TableName(tableName));
-            }
+        List<String> tableNames = context.getMetadataCache().getTableNameList();
+        for (String tableName : tableNames) {
+            list.add(new TableName(tableName));
         }
 
         return list;
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.entity.SqlColumn;
+import com.tsurugidb.mcp.server.entity.TableMetadata;
+
+import io.modelcontextprotocol.json.McpJsonMapper;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+
+public class TablesMetadataTool extends AbstractTool {
+
+    static final int DEFAULT_PARALLELISM = 8;
+
+    /** fields of {@link SqlColumn} */
+    static final List<String> COLUMN_FIELD_LIST = List.of("columnName", "columnDescription", "columnType", "typeDescription", "constraint");
+
+    private int maxParallelism;
+
+    @Override
+    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
+        super.initialize(jsonMapper, arguments, context);
+
+        this.maxParallelism = arguments.getPoolMaxSize();
+    }
+
+    @Override
+    public String toolName() {
+        return "getTablesMetadata";
+    }
+
+    @Override
+    protected String toolDescription() {
+        return "get metadata (table, column schema) of multiple tables from Tsurugi RDBMS in one call. the tables are specified by names or a glob pattern";
+    }
+
+    static final String TABLE_NAMES = "table_names";
+    static final String PATTERN = "pattern";
+    static final String COLUMN_FIELDS = "column_fields";
+    static final String PARALLELISM = "parallelism";
+
+    @Override
+    protected List<ToolProperty> properties() {
+        return List.of( //
+                ToolProperty.ofArray(TABLE_NAMES, "table names. e.g. `[\"customer\", \"orders\"]`", false), //
+                ToolProperty.of(PATTERN, "glob pattern of table names (`*` and `?`, case insensitive). e.g. `order_*`. all tables if neither table_names nor pattern is specified", false), //
+                ToolProperty.of(COLUMN_FIELDS, "comma separated fields of each column to return. `" + String.join("`, `", COLUMN_FIELD_LIST) + "`. default is all. `none` returns no columns", false), //
+                ToolProperty.of(PARALLELISM, "number of sessions to fetch metadata in parallel. default is " + DEFAULT_PARALLELISM, false) //
+        );
+    }
+
+    @Override
+    protected String coalesceKey(Map<String, Object> arguments) throws IOException {
+        return normalizeArguments(arguments);
+    }
+
+    @Override
+    protected Map<String, Object> action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
+        var columnFields = getColumnFields(arguments);
+        long parallelism = getLong(arguments, PARALLELISM, DEFAULT_PARALLELISM);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Unexpected " + PARALLELISM + ": " + parallelism);
+        }
+        parallelism = Math.min(parallelism, maxParallelism);
+
+        var cache = context.getMetadataCache();
+        var tableNames = getTableNames(arguments);
+        String pattern = (String) arguments.get(PATTERN);
+        if (pattern != null && !pattern.isBlank()) {
+            var regex = globToPattern(pattern.trim());
+            var candidates = (tableNames != null) ? tableNames : cache.getTableNameList();
+            tableNames = candidates.stream().filter(name -> regex.matcher(name).matches()).toList();
+        } else if (tableNames == null) {
+            tableNames = cache.getTableNameList();
+        }
+
+        var metadataList = cache.findTableMetadataList(tableNames, (int) parallelism);
+
+        var tables = new ArrayList<Map<String, Object>>(metadataList.size());
+        var notFound = new ArrayList<String>();
+        for (int i = 0; i < metadataList.size(); i++) {
+            var metadata = metadataList.get(i);
+            if (metadata == null) {
+                notFound.add(tableNames.get(i));
+                continue;
+            }
+            tables.add(toMap(metadata, columnFields));
+        }
+
+        var map = new LinkedHashMap<String, Object>();
+        map.put("tables", tables);
+        if (!notFound.isEmpty()) {
+            map.put("not_found", notFound);
+        }
+        return map;
+    }
+
+    List<String> getTableNames(Map<String, Object> arguments) throws IOException {
+        Object value = arguments.get(TABLE_NAMES);
+        if (value instanceof String s) {
+            s = s.trim();
+            if (s.isEmpty()) {
+                return null;
+            }
+            if (s.startsWith("[")) {
+                value = jsonMapper.readValue(s, List.class);
+            } else {
+                value = List.of(s.split(","));
+            }
+        }
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof List<?> list) {
+            var set = new LinkedHashSet<String>(list.size());
+            for (Object element : list) {
+                if (!(element instanceof String name)) {
+                    throw new IllegalArgumentException("Unexpected element of " + TABLE_NAMES + ": " + element);
+                }
+                if (!name.isBlank()) {
+                    set.add(name.trim());
+                }
+            }
+            return List.copyOf(set);
+        }
+        throw new IllegalArgumentException("Unexpected " + TABLE_NAMES + ": " + value);
+    }
+
+    static Pattern globToPattern(String glob) {
+        var sb = new StringBuilder(glob.length() + 8);
+        int start = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (start < i) {
+                    sb.append(Pattern.quote(glob.substring(start, i)));
+                }
+                sb.append((c == '*') ? ".*" : ".");
+                start = i + 1;
+            }
+        }
+        if (start < glob.length()) {
+            sb.append(Pattern.quote(glob.substring(start)));
+        }
+        return Pattern.compile(sb.toString(), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.DOTALL);
+    }
+
+    List<String> getColumnFields(Map<String, Object> arguments) {
+        String fields = (String) arguments.get(COLUMN_FIELDS);
+        if (fields == null || fields.isBlank()) {
+            return COLUMN_FIELD_LIST;
+        }
+        if (fields.trim().equalsIgnoreCase("none")) {
+            return List.of();
+        }
+
+        var list = new ArrayList<String>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            var found = COLUMN_FIELD_LIST.stream().filter(s -> s.equalsIgnoreCase(name)).findFirst();
+            if (found.isEmpty()) {
+                throw new IllegalArgumentException("Unexpected " + COLUMN_FIELDS + ": " + name);
+            }
+            list.add(found.get());
+        }
+        return list;
+    }
+
+    /**
+     * convert to a compact object. null values are omitted.
+     */
+    static Map<String, Object> toMap(TableMetadata metadata, List<String> columnFields) {
+        var map = new LinkedHashMap<String, Object>();
+        putIfNotNull(map, "databaseName", metadata.databaseName());
+        putIfNotNull(map, "schemaName", metadata.schemaName());
+        map.put("tableName", metadata.tableName());
+        putIfNotNull(map, "tableDescription", metadata.tableDescription());
+        if (!columnFields.isEmpty()) {
+            var columns = new ArrayList<Map<String, Object>>(metadata.columns().size());
+            for (var column : metadata.columns()) {
+                var c = new LinkedHashMap<String, Object>(columnFields.size());
+                for (String field : columnFields) {
+                    putIfNotNull(c, field, getColumnField(column, field));
+                }
+                columns.add(c);
+            }
+            map.put("columns", columns);
+        }
+        putIfNotNull(map, "primaryKeys", metadata.primaryKeys());
+        return map;
+    }
+
+    private static Object getColumnField(SqlColumn column, String field) {
+        return switch (field) {
+        case "columnName" -> column.columnName();
+        case "columnDescription" -> column.columnDescription();
+        case "columnType" -> column.columnType();
+        case "typeDescription" -> column.typeDescription();
+        case "constraint" -> column.constraint();
+        default -> throw new AssertionError(field);
+        };
+    }
+
+    private static void putIfNotNull(Map<String, Object> map, String key, Object value) {
+        if (value != null) {
+            map.put(key, value);
+        }
+    }
+}
@@ -15,18 +15,38 @@
  */
 package com.tsurugidb.mcp.server.tool;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.tsurugidb.iceaxe.session.TsurugiSession;
+import com.tsurugidb.iceaxe.sql.result.TgResultCount;
 import com.tsurugidb.iceaxe.transaction.TgCommitType;
+import com.tsurugidb.iceaxe.transaction.TsurugiTransaction;
+import com.tsurugidb.iceaxe.transaction.exception.TsurugiTransactionException;
 import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.dao.ProgressListener;
+import com.tsurugidb.mcp.server.dao.RetryPolicy;
 
+import io.modelcontextprotocol.json.McpJsonMapper;
 import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
 
 public class UpdateTool extends AbstractTool {
 
+    private RetryPolicy retryPolicy;
+
+    @Override
+    public void initialize(McpJsonMapper jsonMapper, Arguments arguments, TsurugiMcpContext context) {
+        super.initialize(jsonMapper, arguments, context);
+
+        this.retryPolicy = new RetryPolicy(arguments);
+    }
+
     @Override
     public String toolName() {
         return "update";
@@ -40,33 +60,86 @@ public class UpdateTool extends AbstractTool {
     static final String SQL = "sql";
     static final String TRANSACTION_TYPE = "transaction_type";
     static final String WRITE_PRESERVE = "write_preserve";
+    static final String TRANSACTION_HANDLE = "transaction_handle";
 
     @Override
     protected List<ToolProperty> properties() {
         return List.of( //
-                ToolProperty.of(SQL, "SQL (insert, update, delete) to execute", true), //
+                ToolProperty.of(SQL, "SQL (insert, update, delete) to execute. placeholders are `:name`", true), //
                 ToolProperty.of(TRANSACTION_TYPE, "transaction type. `OCC`, `LTX`. default is `OCC`", false), //
-                ToolProperty.of(WRITE_PRESERVE, "table names for target (comma separate). Required when transaction_type is LTX", false) //
+                ToolProperty.of(WRITE_PRESERVE, "table names for target (comma separate). Required when transaction_type is LTX", false), //
+                ToolProperty.of(TRANSACTION_HANDLE, "transaction handle returned by beginTransaction. the SQL is executed in the transaction and not committed (transaction_type is ignored)", false), //
+                parameterTypesProperty(false), //
+                parametersProperty(), //
+                ToolProperty.of(TIMEOUT, "timeout of this call in seconds. default is sql-timeout of the server", false) //
         );
     }
 
+    @Override
+    protected Object handle(McpSyncServerExchange exchange, CallToolRequest request) throws Exception {
+        try (var notifier = ProgressNotifier.of(exchange, request, context.getScheduler())) {
+            return execute(request.arguments(), (notifier != null) ? notifier : ProgressListener.NONE);
+        }
+    }
+
     @Override
     protected Map<String, Long> action(McpSyncServerExchange exchange, Map<String, Object> arguments) throws Exception {
+        return execute(arguments, ProgressListener.NONE);
+    }
+
+    private Map<String, Long> execute(Map<String, Object> arguments, ProgressListener progress) throws Exception {
         String sql = (String) arguments.get(SQL);
         var txOption = getTransactionOption(arguments);
 
-        var result = new LinkedHashMap<String, Long>();
-        try (var session = pool.getSession(); //
-                var transaction = session.createTransaction(txOption); //
-                var ps = session.createStatement(sql)) {
-            var count = transaction.executeAndGetCountDetail(ps);
-            for (var entry : count.getLowCounterMap().entrySet()) {
-                result.put(entry.getKey().name().toLowerCase(), entry.getValue());
+        var parameters = getParameters(arguments);
+
+        String handle = (String) arguments.get(TRANSACTION_HANDLE);
+        if (handle != null) {
+            var pinned = context.getTransactionRegistry().get(handle);
+            pinned.acquire();
+            try {
+                progress.phase("executing");
+                var count = execute(pinned.getSession(), pinned.getTransaction(), sql, parameters);
+                return toResult(count);
+            } finally {
+                pinned.release();
             }
+        }
+
+        try (var session = pool.getSession()) {
+            return retryPolicy.execute(txOption, getWritePreserve(arguments), (option, retryCount) -> {
+                try (var transaction = session.createTransaction(option)) {
+                    progress.phase((retryCount == 0) ? "executing" : "executing (retry " + retryCount + ")");
+                    var count = execute(session, transaction, sql, parameters);
 
-            transaction.commit(TgCommitType.DEFAULT);
+                    progress.phase("committing");
+                    transaction.commit(TgCommitType.DEFAULT);
+                    var result = toResult(count);
+                    if (retryCount > 0) {
+                        result.put(RETRY_COUNT, (long) retryCount);
+                    }
+                    return result;
+                }
+            });
         }
+    }
 
+    private TgResultCount execute(TsurugiSession session, TsurugiTransaction transaction, String sql, Parameters parameters)
+            throws IOException, InterruptedException, TsurugiTransactionException {
+        if (parameters.definition() == null) {
+            try (var ps = session.createStatement(sql)) {
+                return transaction.executeAndGetCountDetail(ps);
+            }
+        }
+
+        return pool.getStatementCache(session).executeStatement(sql, parameters.definition(), ps -> transaction.executeAndGetCountDetail(ps, parameters.parameters()));
+    }
+
+    private static Map<String, Long> toResult(TgResultCount count) {
+        var result = new LinkedHashMap<String, Long>();
+        for (var entry : count.getLowCounterMap().entrySet()) {
+            result.put(entry.getKey().name().toLowerCase(), entry.getValue());
+        }
         return result;
     }
 
@@ -83,10 +156,17 @@ public class UpdateTool extends AbstractTool {
             if (wp == null) {
                 yield TgTxOption.ofLTX();
             }
-            var writePreserve = Arrays.stream(wp.split(",")).map(String::trim).toList();
-            yield TgTxOption.ofLTX(writePreserve);
+            yield TgTxOption.ofLTX(getWritePreserve(arguments));
         }
         default -> throw new IllegalArgumentException("Unexpected transaction_type: " + transactionType);
         };
     }
+
+    List<String> getWritePreserve(Map<String, Object> arguments) {
+        String wp = (String) arguments.get(WRITE_PRESERVE);
+        if (wp == null) {
+            return null;
+        }
+        return Arrays.stream(wp.split(",")).map(String::trim).toList();
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.util;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * reusable byte buffer (not synchronized, unlike {@link java.io.ByteArrayOutputStream}).
+ */
+public class ByteArrayBuffer extends OutputStream {
+
+    private byte[] buf;
+    private int count;
+
+    public ByteArrayBuffer(int initialCapacity) {
+        this.buf = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buf.length) {
+            int newCapacity = Math.max(buf.length * 2, minCapacity);
+            this.buf = Arrays.copyOf(buf, newCapacity);
+        }
+    }
+
+    @Override
+    public void write(int b) {
+        ensureCapacity(count + 1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        ensureCapacity(count + len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    @Override
+    public void write(byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    public void writeAscii(String s) {
+        int len = s.length();
+        ensureCapacity(count + len);
+        for (int i = 0; i < len; i++) {
+            buf[count++] = (byte) s.charAt(i);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public void reset() {
+        this.count = 0;
+    }
+
+    /**
+     * discard the bytes after the position.
+     */
+    public void truncate(int size) {
+        if (size < 0 || size > count) {
+            throw new IndexOutOfBoundsException(size);
+        }
+        this.count = size;
+    }
+
+    public byte[] copyOfRange(int from, int to) {
+        if (to > count) {
+            throw new IndexOutOfBoundsException(to);
+        }
+        return Arrays.copyOfRange(buf, from, to);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    @Override
+    public String toString() {
+        return new String(buf, 0, count, StandardCharsets.UTF_8);
+    }
+}
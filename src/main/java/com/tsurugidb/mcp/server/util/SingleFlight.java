@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.util;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+
+/**
+ * coalesces concurrent executions of the same key.
+ * <p>
+ * The first caller of a key executes the task, and the callers which arrive while it is running wait for it and receive the same result (or exception).
+ * When the result must not be shared (rejected by the predicate), or the first caller failed by interruption (timeout or cancellation of that call), the
+ * waiting callers execute the task by themselves.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    private record Outcome<V>(V value, Throwable error, boolean shared) {
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<Outcome<V>>> flightMap = new ConcurrentHashMap<>();
+
+    /**
+     * execute the task, or wait for the same key in flight.
+     *
+     * @param key       key
+     * @param task      task
+     * @param shareable whether the result can be returned to the other callers
+     * @return result
+     * @throws Exception            exception thrown by the task
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public V execute(K key, Callable<V> task, Predicate<? super V> shareable) throws Exception {
+        var flight = new CompletableFuture<Outcome<V>>();
+        var current = flightMap.putIfAbsent(key, flight);
+        if (current == null) {
+            try {
+                V value = task.call();
+                flight.complete(new Outcome<>(value, null, shareable.test(value)));
+                return value;
+            } catch (Throwable e) {
+                flight.complete(new Outcome<>(null, e, !isInterruption(e)));
+                throw e;
+            } finally {
+                flightMap.remove(key, flight);
+            }
+        }
+
+        Outcome<V> outcome;
+        try {
+            outcome = current.get();
+        } catch (ExecutionException e) { // not completed exceptionally
+            throw new IllegalStateException(e.getCause());
+        }
+        if (!outcome.shared()) {
+            return task.call();
+        }
+        var error = outcome.error();
+        if (error == null) {
+            return outcome.value();
+        }
+        if (error instanceof Exception ex) {
+            throw ex;
+        }
+        throw (Error) error;
+    }
+
+    private static boolean isInterruption(Throwable e) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (var t = e; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException || t instanceof InterruptedIOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * get the number of keys in flight.
+     *
+     * @return number of keys
+     */
+    public int size() {
+        return flightMap.size();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * timers and background tasks shared by the tools, the resources and their services.
+ * <p>
+ * The timers run on one daemon thread, so a scheduled task must be short or hand off to {@link #execute(Runnable)}. The tasks stop when this scheduler is
+ * closed.
+ * </p>
+ */
+public class TaskScheduler implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService timerExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        var thread = new Thread(r, "TaskScheduler-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * run the task periodically.
+     */
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long interval, TimeUnit unit) {
+        return timerExecutor.scheduleWithFixedDelay(task, interval, interval, unit);
+    }
+
+    /**
+     * run the task once after the delay.
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return timerExecutor.schedule(task, delay, unit);
+    }
+
+    /**
+     * run the task in background. the task runs on the current thread if this scheduler is closed.
+     */
+    public void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) { // closed
+            task.run();
+        }
+    }
+
+    @Override
+    public void close() {
+        timerExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+}
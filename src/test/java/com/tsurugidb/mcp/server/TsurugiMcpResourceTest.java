@@ -16,17 +16,45 @@
 package com.tsurugidb.mcp.server;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
 
 import org.junit.jupiter.api.Test;
 
-import com.tsurugidb.mcp.server.dao.SessionPool;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncResourceSpecification;
 
 class TsurugiMcpResourceTest extends TsurugiMcpTester {
 
+    @Test
+    void syncResources() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new TsurugiMcpResource(createJsonMapper(), arguments, context);
+
+            // table schema resources are listed in background
+            var resources = target.syncResources();
+            assertEquals(List.of(TsurugiMcpResource.POOL_URI), resources.stream().map(r -> r.resource().uri()).toList());
+
+            var templates = target.syncResourceTemplates();
+            assertEquals(1, templates.size());
+            assertEquals(TsurugiMcpResource.TABLE_SCHEMA_URI_TEMPLATE, templates.get(0).resourceTemplate().uriTemplate());
+
+            arguments.setResource(false);
+            assertEquals(List.of(), target.syncResources());
+            assertEquals(List.of(), target.syncResourceTemplates());
+        }
+    }
+
     @Test
     void tableSchema() throws Exception {
         var arguments = createTestArguments();
-        try (var pool = SessionPool.create(arguments)) {
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
             try (var session = pool.getSession()) {
                 var tm = session.createTransactionManager();
                 tm.executeDdl("drop table if exists r_customer");
@@ -45,7 +73,7 @@ class TsurugiMcpResourceTest extends TsurugiMcpTester {
                         """);
             }
 
-            var target = new TsurugiMcpResource(createJsonMapper(), arguments, pool);
+            var target = new TsurugiMcpResource(createJsonMapper(), arguments, context);
 
             var result = target.tableSchemaMain("tsurugidb://r_customer/schema");
 
@@ -78,4 +106,79 @@ class TsurugiMcpResourceTest extends TsurugiMcpTester {
             }
         }
     }
+
+    @Test
+    void tableResources() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            executeDdl(context, "drop table if exists r_list_a", "drop table if exists r_list_b", "create table r_list_a (pk int primary key)");
+
+            var registry = new RecordingRegistry();
+            var target = new TsurugiMcpResource(createJsonMapper(), arguments, context);
+            target.start(registry);
+
+            // not listed until the client is initialized
+            Thread.sleep(500);
+            assertEquals(List.of(), registry.eventList);
+
+            // listed in background
+            context.clientInitialized();
+            awaitUntil(() -> registry.uriSet.contains("tsurugidb://r_list_a/schema"));
+            int count;
+            synchronized (target) { // wait for the end of the refresh
+                count = registry.eventList.size();
+                // notified once per refresh
+                assertEquals("notify", registry.eventList.get(count - 1));
+                assertEquals(1, registry.eventList.stream().filter("notify"::equals).count());
+            }
+
+            // only the difference is applied after DDL
+            executeDdl(context, "drop table r_list_a", "create table r_list_b (pk int primary key)");
+            context.getMetadataCache().invalidate();
+            awaitUntil(() -> registry.uriSet.contains("tsurugidb://r_list_b/schema"));
+            synchronized (target) {
+                assertEquals(List.of("remove tsurugidb://r_list_a/schema", "add tsurugidb://r_list_b/schema", "notify"), registry.eventList.subList(count, registry.eventList.size()));
+            }
+        }
+    }
+
+    private static void executeDdl(TsurugiMcpContext context, String... sqls) throws Exception {
+        try (var session = context.getPool().getSession()) {
+            var tm = session.createTransactionManager();
+            for (String sql : sqls) {
+                tm.executeDdl(sql);
+            }
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static class RecordingRegistry implements TsurugiMcpResource.ResourceRegistry {
+        final List<String> eventList = new CopyOnWriteArrayList<>();
+        final Set<String> uriSet = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void addResource(SyncResourceSpecification resource) {
+            String uri = resource.resource().uri();
+            uriSet.add(uri);
+            eventList.add("add " + uri);
+        }
+
+        @Override
+        public void removeResource(String uri) {
+            uriSet.remove(uri);
+            eventList.add("remove " + uri);
+        }
+
+        @Override
+        public void notifyListChanged() {
+            eventList.add("notify");
+        }
+    }
 }
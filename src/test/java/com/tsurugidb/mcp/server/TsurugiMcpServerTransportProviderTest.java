@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.mcp.server.TsurugiMcpServerTransportProvider.InboundJsonMapper;
+import com.tsurugidb.mcp.server.dao.CallRegistry;
+import com.tsurugidb.mcp.server.tool.AbstractTool;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
+
+class TsurugiMcpServerTransportProviderTest extends TsurugiMcpTester {
+
+    @Test
+    void inbound_toolsCall() throws Exception {
+        try (var scheduler = new TaskScheduler()) {
+            var target = new InboundJsonMapper(createJsonMapper(), new CallRegistry(new Arguments(), scheduler), () -> {
+            });
+
+            var message = target.readValue("""
+                    {"jsonrpc":"2.0","id":3,"method":"tools/call","params":{"name":"query","arguments":{}}}
+                    """, Map.class);
+            var params = (Map<?, ?>) message.get("params");
+            var meta = (Map<?, ?>) params.get("_meta");
+            assertEquals("3", meta.get(AbstractTool.META_REQUEST_ID));
+        }
+    }
+
+    @Test
+    void inbound_initialized() throws Exception {
+        try (var scheduler = new TaskScheduler()) {
+            var initialized = new AtomicInteger();
+            var target = new InboundJsonMapper(createJsonMapper(), new CallRegistry(new Arguments(), scheduler), initialized::incrementAndGet);
+
+            target.readValue("""
+                    {"jsonrpc":"2.0","id":1,"method":"initialize","params":{}}
+                    """, Map.class);
+            assertEquals(0, initialized.get());
+
+            target.readValue("""
+                    {"jsonrpc":"2.0","method":"notifications/initialized"}
+                    """, Map.class);
+            assertEquals(1, initialized.get());
+        }
+    }
+
+    @Test
+    void inbound_cancelled() throws Exception {
+        try (var scheduler = new TaskScheduler()) {
+            var callRegistry = new CallRegistry(new Arguments(), scheduler);
+            var target = new InboundJsonMapper(createJsonMapper(), callRegistry, () -> {
+            });
+
+            try (var call = callRegistry.start("7", 0)) {
+                target.readValue("""
+                        {"jsonrpc":"2.0","method":"notifications/cancelled","params":{"requestId":8,"reason":"other"}}
+                        """, Map.class);
+                assertFalse(call.isAborted());
+
+                target.readValue("""
+                        {"jsonrpc":"2.0","method":"notifications/cancelled","params":{"requestId":7,"reason":"user request"}}
+                        """, Map.class);
+                assertTrue(call.isAborted());
+                assertEquals("cancelled: user request", call.getAbortReason());
+                assertThrows(InterruptedException.class, () -> Thread.sleep(10_000));
+            }
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
+
+class CallRegistryTest {
+
+    @Test
+    void cancel() throws Exception {
+        var arguments = new Arguments();
+        try (var scheduler = new TaskScheduler()) {
+            var target = new CallRegistry(arguments, scheduler);
+            try (var call = target.start("1", 0)) {
+                assertEquals(1, target.getCount());
+                scheduler.schedule(() -> target.cancel("1", "user request"), 100, TimeUnit.MILLISECONDS);
+
+                assertThrows(InterruptedException.class, () -> Thread.sleep(10_000));
+                assertTrue(call.isAborted());
+                assertEquals("cancelled: user request", call.getAbortReason());
+            }
+            assertEquals(0, target.getCount());
+            assertFalse(Thread.currentThread().isInterrupted());
+
+            target.cancel("1", null); // already finished
+            target.cancel("unknown", null);
+        }
+    }
+
+    @Test
+    void timeout() throws Exception {
+        var arguments = new Arguments();
+        try (var scheduler = new TaskScheduler()) {
+            var target = new CallRegistry(arguments, scheduler);
+            try (var call = target.start(null, 1)) {
+                assertThrows(InterruptedException.class, () -> Thread.sleep(10_000));
+                assertTrue(call.isAborted());
+                assertEquals("timeout (1s)", call.getAbortReason());
+            }
+            assertEquals(0, target.getCount());
+        }
+    }
+
+    @Test
+    void notAborted() throws Exception {
+        var arguments = new Arguments();
+        arguments.setSqlTimeout(1);
+        try (var scheduler = new TaskScheduler()) {
+            var target = new CallRegistry(arguments, scheduler);
+            try (var call = target.start("2", 0)) {
+                assertFalse(call.isAborted());
+                assertNull(call.getAbortReason());
+            }
+
+            Thread.sleep(1500); // the timer is cancelled at close
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+    }
+}
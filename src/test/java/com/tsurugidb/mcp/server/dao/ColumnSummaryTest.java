@@ -0,0 +1,69 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.mcp.server.util.JsonUtil;
+
+class ColumnSummaryTest {
+
+    @Test
+    void estimateDistinct() {
+        for (int size : new int[] { 0, 1, 100, 10_000, 200_000 }) {
+            var target = new ColumnSummary("c", "BIGINT");
+            for (long i = 0; i < size; i++) {
+                target.add(i);
+                target.add(i); // duplicate
+            }
+            long distinct = target.estimateDistinct();
+            assertTrue(Math.abs(distinct - size) <= size * 0.05, size + ": " + distinct);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write() throws Exception {
+        var target = new ColumnSummary("c", "VARCHAR");
+        for (int i = 0; i < 1000; i++) {
+            target.add((i % 2 == 0) ? "a" : "b" + i);
+        }
+        target.add(null);
+
+        var objectMapper = JsonUtil.createObjectMapper();
+        var writer = new StringWriter();
+        try (var generator = objectMapper.getFactory().createGenerator(writer)) {
+            target.write(generator);
+        }
+        var map = objectMapper.readValue(writer.toString(), Map.class);
+        assertEquals(1000, map.get("count"));
+        assertEquals(1, map.get("nulls"));
+        assertEquals("a", map.get("min"));
+        assertEquals("b999", map.get("max"));
+
+        var top = (List<Map<String, Object>>) map.get("top");
+        assertEquals(ColumnSummary.TOP_K, top.size());
+        assertEquals("a", top.get(0).get("value"));
+        assertTrue((Integer) top.get(0).get("count") >= 500);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.TsurugiMcpTester;
+import com.tsurugidb.mcp.server.util.TaskScheduler;
+
+class MetadataCacheTest extends TsurugiMcpTester {
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                for (int i = 0; i < 3; i++) {
+                    tm.executeDdl("drop table if exists mcp_cache" + i);
+                    tm.executeDdl("create table mcp_cache" + i + " (pk int primary key)");
+                }
+            }
+        }
+    }
+
+    @Test
+    void cache() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments); var scheduler = new TaskScheduler()) {
+            var target = new MetadataCache(arguments, pool, scheduler);
+
+            var list1 = target.getTableNameList();
+            assertTrue(list1.contains("mcp_cache0"));
+            assertSame(list1, target.getTableNameList());
+
+            var metadata1 = target.findTableMetadata("mcp_cache0").get();
+            assertEquals("mcp_cache0", metadata1.tableName());
+            assertSame(metadata1, target.findTableMetadata("mcp_cache0").get());
+
+            assertTrue(target.findTableMetadata("mcp_cache_not_found").isEmpty());
+            assertEquals(1, target.size());
+
+            target.invalidate();
+            assertEquals(0, target.size());
+            assertNotSame(list1, target.getTableNameList());
+            assertNotSame(metadata1, target.findTableMetadata("mcp_cache0").get());
+        }
+    }
+
+    @Test
+    void disabled() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setMetadataCacheTtl(0);
+        try (var pool = SessionPool.create(arguments); var scheduler = new TaskScheduler()) {
+            var target = new MetadataCache(arguments, pool, scheduler);
+
+            var metadata1 = target.findTableMetadata("mcp_cache0").get();
+            assertNotSame(metadata1, target.findTableMetadata("mcp_cache0").get());
+            assertEquals(0, target.size());
+        }
+    }
+
+    @Test
+    void evict() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setMetadataCacheSize(2);
+        try (var pool = SessionPool.create(arguments); var scheduler = new TaskScheduler()) {
+            var target = new MetadataCache(arguments, pool, scheduler);
+
+            var metadata0 = target.findTableMetadata("mcp_cache0").get();
+            target.findTableMetadata("mcp_cache1");
+            assertEquals(2, target.size());
+
+            target.findTableMetadata("mcp_cache2");
+            assertEquals(2, target.size());
+            assertNotSame(metadata0, target.findTableMetadata("mcp_cache0").get());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.mcp.server.dao.ParameterUtil.ParameterType;
+
+class ParameterUtilTest {
+
+    @Test
+    void parameterType() {
+        assertEquals(ParameterType.INT, ParameterType.of("int"));
+        assertEquals(ParameterType.INT, ParameterType.of("Integer"));
+        assertEquals(ParameterType.BIGINT, ParameterType.of("BIGINT"));
+        assertEquals(ParameterType.VARCHAR, ParameterType.of("varchar(20)"));
+        assertEquals(ParameterType.DECIMAL, ParameterType.of("decimal(10, 2)"));
+        assertEquals(ParameterType.DOUBLE, ParameterType.of("double precision"));
+        assertEquals(ParameterType.TIMESTAMP_WITH_TIME_ZONE, ParameterType.of("timestamp  with time zone"));
+        assertThrows(IllegalArgumentException.class, () -> ParameterType.of("foo"));
+    }
+
+    @Test
+    void signature() {
+        var typeMap = new LinkedHashMap<String, Object>();
+        typeMap.put("id", "bigint");
+        typeMap.put("name", "varchar(10)");
+        var definition = ParameterUtil.of(typeMap);
+        assertEquals("id:BIGINT,name:VARCHAR", definition.getSignature());
+    }
+
+    @Test
+    void toParameters() {
+        var typeMap = new LinkedHashMap<String, Object>();
+        typeMap.put("id", "int");
+        typeMap.put("date", "date");
+        var definition = ParameterUtil.of(typeMap);
+
+        var valueMap = new HashMap<String, Object>();
+        valueMap.put("id", 1);
+        valueMap.put("date", "2025-01-02");
+        assertNotNull(definition.toParameters(valueMap));
+
+        valueMap.put("date", null);
+        assertNotNull(definition.toParameters(valueMap));
+
+        var e1 = assertThrows(IllegalArgumentException.class, () -> definition.toParameters(Map.of("id", 1)));
+        assertTrue(e1.getMessage().contains("parameter value not specified. name=date"), e1.getMessage());
+
+        var e2 = assertThrows(IllegalArgumentException.class, () -> definition.toParameters(Map.of("id", "abc", "date", "2025-01-02")));
+        assertTrue(e2.getMessage().contains("illegal parameter value. name=id"), e2.getMessage());
+
+        var e3 = assertThrows(IllegalArgumentException.class, () -> definition.toParameters(Map.of("id", 1, "date", "2025-01-02", "foo", 1)));
+        assertTrue(e3.getMessage().contains("parameter type not specified. name=foo"), e3.getMessage());
+    }
+}
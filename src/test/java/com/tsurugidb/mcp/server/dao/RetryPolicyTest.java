@@ -0,0 +1,97 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOptionLtx;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOptionOcc;
+import com.tsurugidb.mcp.server.Arguments;
+
+class RetryPolicyTest {
+
+    @Test
+    void backoffMillis() {
+        var arguments = new Arguments();
+        arguments.setRetryInitialBackoff(100);
+        arguments.setRetryMaxBackoff(300);
+        var target = new RetryPolicy(arguments);
+
+        for (int i = 0; i < 100; i++) {
+            long backoff0 = target.backoffMillis(0);
+            assertTrue(50 <= backoff0 && backoff0 <= 100, Long.toString(backoff0));
+            long backoff1 = target.backoffMillis(1);
+            assertTrue(100 <= backoff1 && backoff1 <= 200, Long.toString(backoff1));
+            long backoff5 = target.backoffMillis(5);
+            assertTrue(150 <= backoff5 && backoff5 <= 300, Long.toString(backoff5));
+        }
+    }
+
+    @Test
+    void nextOption() {
+        var arguments = new Arguments();
+        {
+            var target = new RetryPolicy(arguments);
+            assertInstanceOf(TgTxOptionOcc.class, target.nextOption(TgTxOption.ofOCC(), List.of("t")));
+        }
+
+        arguments.setRetryLtxEscalation(true);
+        var target = new RetryPolicy(arguments);
+        var ltx = target.nextOption(TgTxOption.ofOCC(), List.of("t"));
+        assertInstanceOf(TgTxOptionLtx.class, ltx);
+        // update without write_preserve can't be escalated
+        assertInstanceOf(TgTxOptionOcc.class, target.nextOption(TgTxOption.ofOCC(), null));
+    }
+
+    @Test
+    void execute_notRetryable() {
+        var arguments = new Arguments();
+        arguments.setRetryMaxAttempts(5);
+        var target = new RetryPolicy(arguments);
+
+        var count = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> target.execute(TgTxOption.ofOCC(), null, (option, retryCount) -> {
+            count.incrementAndGet();
+            throw new IllegalStateException("test");
+        }));
+        assertEquals(1, count.get());
+        assertFalse(RetryPolicy.isSerializationFailure(new RuntimeException(new IllegalStateException())));
+    }
+
+    @Test
+    void execute_failedResult() throws Exception {
+        var arguments = new Arguments();
+        arguments.setRetryMaxAttempts(3);
+        arguments.setRetryInitialBackoff(0);
+        var target = new RetryPolicy(arguments);
+
+        // retried until the result succeeds
+        assertEquals(1, target.execute(TgTxOption.ofOCC(), List.of(), (option, retryCount) -> retryCount, result -> result < 1));
+        // the last failed result is returned when the attempts are exhausted
+        var count = new AtomicInteger();
+        assertEquals(2, target.execute(TgTxOption.ofOCC(), List.of(), (option, retryCount) -> {
+            count.incrementAndGet();
+            return retryCount;
+        }, result -> true));
+        assertEquals(3, count.get());
+    }
+}
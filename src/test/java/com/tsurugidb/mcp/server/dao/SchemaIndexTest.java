@@ -0,0 +1,54 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SchemaIndexTest {
+
+    @Test
+    void tokenize() {
+        assertEquals(List.of("customer", "name"), SchemaIndex.tokenize("c_customer_name"));
+        assertEquals(List.of("ship", "address", "shipaddress"), SchemaIndex.tokenize("shipAddress"));
+        assertEquals(List.of("http", "server", "httpserver"), SchemaIndex.tokenize("HTTPServer"));
+        assertEquals(List.of("order", "2", "order2"), SchemaIndex.tokenize("order2"));
+        assertEquals(List.of("mailing", "address"), SchemaIndex.tokenize("Mailing address."));
+        assertEquals(List.of("顧客", "客住", "住所"), SchemaIndex.tokenize("顧客住所"));
+        assertEquals(List.of("顧", "id"), SchemaIndex.tokenize("顧 ID"));
+        assertEquals(List.of(), SchemaIndex.tokenize(null));
+    }
+
+    @Test
+    void editDistance() {
+        assertEquals(0, SchemaIndex.editDistance("address", "address", 2));
+        assertEquals(1, SchemaIndex.editDistance("adress", "address", 2));
+        assertEquals(1, SchemaIndex.editDistance("priec", "price", 2)); // transposition
+        assertEquals(2, SchemaIndex.editDistance("custmr", "customer", 2));
+        assertEquals(2, SchemaIndex.editDistance("customer", "order", 1)); // exceeds max
+    }
+
+    @Test
+    void maxDistance() {
+        assertEquals(0, SchemaIndex.maxDistance(3));
+        assertEquals(1, SchemaIndex.maxDistance(4));
+        assertEquals(1, SchemaIndex.maxDistance(7));
+        assertEquals(2, SchemaIndex.maxDistance(8));
+    }
+}
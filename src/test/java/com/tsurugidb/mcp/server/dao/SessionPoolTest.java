@@ -0,0 +1,225 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.iceaxe.sql.TsurugiSql;
+import com.tsurugidb.mcp.server.TsurugiMcpTester;
+
+class SessionPoolTest extends TsurugiMcpTester {
+
+    @Test
+    void probeSession() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            assertEquals(1, pool.getIdleCount());
+
+            try (var session = pool.getSession()) {
+                assertEquals(0, pool.getIdleCount());
+                assertTrue(session.isAlive());
+            }
+            assertEquals(1, pool.getIdleCount());
+        }
+    }
+
+    @Test
+    void reuse() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            var session1 = pool.getSession();
+            session1.close();
+
+            try (var session2 = pool.getSession()) {
+                assertSame(session1, session2);
+            }
+        }
+    }
+
+    @Test
+    void maxSize() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setPoolMaxSize(2);
+        arguments.setPoolAcquireTimeout(1);
+        try (var pool = SessionPool.create(arguments)) {
+            var session1 = pool.getSession();
+            var session2 = pool.getSession();
+            assertNotSame(session1, session2);
+
+            var e = assertThrows(RuntimeException.class, () -> pool.getSession());
+            assertTrue(e.getMessage().contains("session acquire timeout"), e.getMessage());
+
+            session1.close();
+            session1.close(); // closing twice does not release twice
+            try (var session3 = pool.getSession()) {
+                assertSame(session1, session3);
+                assertThrows(RuntimeException.class, () -> pool.getSession());
+            }
+
+            session2.close();
+        }
+    }
+
+    @Test
+    void minIdle() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setPoolMaxSize(4);
+        arguments.setPoolMinIdle(3);
+        try (var pool = SessionPool.create(arguments)) {
+            assertEquals(3, pool.getIdleCount());
+
+            try (var session = pool.getSession()) {
+                session.getLowSession();
+            }
+            assertTrue(pool.getIdleCount() >= 3);
+        }
+    }
+
+    @Test
+    void maintain() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setPoolMaxSize(4);
+        arguments.setPoolMinIdle(1);
+        arguments.setPoolMaxIdleTime(1);
+        arguments.setPoolMaintenanceInterval(0);
+        try (var pool = SessionPool.create(arguments)) {
+            var session1 = pool.getSession();
+            var session2 = pool.getSession();
+            session1.close();
+            session2.close();
+            assertTrue(pool.getIdleCount() >= 2);
+
+            Thread.sleep(1100);
+            pool.maintain();
+            assertEquals(1, pool.getIdleCount());
+        }
+    }
+
+    @Test
+    void metrics() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setPoolMaxSize(2);
+        arguments.setPoolAcquireTimeout(0);
+        try (var pool = SessionPool.create(arguments)) {
+            var session1 = pool.getSession();
+            var session2 = pool.getSession();
+            assertThrows(RuntimeException.class, () -> pool.getSession());
+            {
+                var metrics = pool.getMetrics();
+                assertEquals(2, metrics.maxSize());
+                assertEquals(2, metrics.sessions());
+                assertEquals(2, metrics.leased());
+                assertEquals(0, metrics.idle());
+                assertEquals(2, metrics.created());
+                assertEquals(2, metrics.acquired());
+                assertEquals(1, metrics.acquireTimeout());
+                assertEquals(2L, metrics.acquireHistogram().values().stream().mapToLong(Long::longValue).sum());
+            }
+
+            session1.close();
+            session2.close();
+            {
+                var metrics = pool.getMetrics();
+                assertEquals(0, metrics.leased());
+                assertEquals(2, metrics.idle());
+            }
+        }
+    }
+
+    @Test
+    void failover() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setConnection(arguments.getConnectionUri() + ", tcp://localhost:1");
+        try (var pool = SessionPool.create(arguments)) {
+            for (int i = 0; i < 4; i++) {
+                try (var session = pool.getReadSession()) {
+                    session.getLowSession();
+                }
+            }
+
+            var endpoints = pool.getMetrics().endpoints();
+            assertEquals(2, endpoints.size());
+            assertTrue(endpoints.get(0).available());
+            assertFalse(endpoints.get(1).available());
+        }
+    }
+
+    @Test
+    void saturatedPrimary() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setConnection(arguments.getConnectionUri() + ", " + arguments.getConnectionUri());
+        arguments.setPoolMaxSize(1);
+        arguments.setPoolAcquireTimeout(1);
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session1 = pool.getSession()) {
+                // write path waits for the primary endpoint
+                var e = assertThrows(RuntimeException.class, () -> pool.getSession());
+                assertTrue(e.getMessage().contains("session acquire timeout"), e.getMessage());
+
+                // read path spills over to the other endpoint
+                try (var session2 = pool.getReadSession()) {
+                    var endpoints = pool.getMetrics().endpoints();
+                    assertEquals(1, endpoints.get(0).leased());
+                    assertEquals(1, endpoints.get(1).leased());
+                }
+            }
+
+            try (var session = pool.getSession()) {
+                var endpoints = pool.getMetrics().endpoints();
+                assertEquals(1, endpoints.get(0).leased());
+                assertEquals(0, endpoints.get(1).leased());
+            }
+        }
+    }
+
+    @Test
+    void statementCache() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setStatementCacheSize(1);
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var definition = ParameterUtil.of(Map.of("v", "INT"));
+                var cache = pool.getStatementCache(session);
+                TsurugiSql ps1;
+                try (var lease = cache.leaseQuery("select :v as v", definition)) {
+                    ps1 = lease.get();
+                }
+                try (var lease1 = cache.leaseQuery("select :v as v", definition)) {
+                    assertSame(ps1, lease1.get());
+                    assertTrue(cache.isCached(ps1));
+
+                    // the least recently used one is evicted, but not closed while leased
+                    try (var lease2 = cache.leaseQuery("select :v + 1 as v", definition)) {
+                        assertNotSame(ps1, lease2.get());
+                        assertFalse(cache.isCached(ps1));
+                        assertTrue(cache.isLeased(ps1));
+                        assertEquals(1, cache.size());
+                    }
+                }
+                assertFalse(cache.isLeased(ps1));
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.TsurugiMcpTester;
+import com.tsurugidb.mcp.server.dao.SessionPool;
+
+class BatchUpdateToolTest extends TsurugiMcpTester {
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                tm.executeDdl("drop table if exists mcp_batch");
+                tm.executeDdl("""
+                        create table mcp_batch (
+                          pk int primary key,
+                          value varchar(10)
+                        )
+                        """);
+            }
+        }
+    }
+
+    @Test
+    void action() throws Exception {
+        action(null);
+    }
+
+    @Test
+    void action_LTX() throws Exception {
+        action("LTX");
+    }
+
+    private void action(String transactionType) throws Exception {
+        int size = 2500;
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new BatchUpdateTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var parameterSets = new ArrayList<Map<String, Object>>(size);
+            for (int i = 0; i < size; i++) {
+                parameterSets.add(Map.of("pk", i, "value", "v" + i));
+            }
+            var args = new HashMap<String, Object>();
+            args.put(BatchUpdateTool.SQL, "insert into mcp_batch values(:pk, :value)");
+            if (transactionType != null) {
+                args.put(BatchUpdateTool.TRANSACTION_TYPE, transactionType);
+                args.put(BatchUpdateTool.WRITE_PRESERVE, "mcp_batch");
+            }
+            args.put(BatchUpdateTool.PARAMETER_TYPES, Map.of("pk", "INT", "value", "VARCHAR"));
+            args.put(BatchUpdateTool.PARAMETER_SETS, parameterSets);
+            Map<String, Long> result = target.action(null, args);
+
+            assertEquals(Map.of("inserted_rows", (long) size), result);
+            assertEquals(size, count());
+        }
+    }
+
+    @Test
+    void action_jsonText() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new BatchUpdateTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(BatchUpdateTool.SQL, "insert into mcp_batch values(:pk, :value)");
+            args.put(BatchUpdateTool.PARAMETER_TYPES, "{\"pk\": \"INT\", \"value\": \"VARCHAR\"}");
+            args.put(BatchUpdateTool.PARAMETER_SETS, "[{\"pk\": 1, \"value\": \"a\"}, {\"pk\": 2, \"value\": null}]");
+            Map<String, Long> result = target.action(null, args);
+
+            assertEquals(Map.of("inserted_rows", 2L), result);
+            assertEquals(2, count());
+        }
+    }
+
+    @Test
+    void action_rollback() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new BatchUpdateTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(BatchUpdateTool.SQL, "insert into mcp_batch values(:pk, :value)");
+            args.put(BatchUpdateTool.PARAMETER_TYPES, Map.of("pk", "INT", "value", "VARCHAR"));
+            args.put(BatchUpdateTool.PARAMETER_SETS, List.of(Map.of("pk", 1, "value", "a"), Map.of("pk", 1, "value", "b")));
+            assertThrows(Exception.class, () -> target.action(null, args));
+
+            // all parameter sets are in one transaction
+            assertEquals(0, count());
+        }
+    }
+
+    private static int count() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                var entity = tm.executeAndFindRecord("select count(*) as cnt from mcp_batch").get();
+                return (int) entity.getLong("cnt");
+            }
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package com.tsurugidb.mcp.server.tool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.HashMap;
 
@@ -23,6 +25,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
 import com.tsurugidb.mcp.server.TsurugiMcpTester;
 import com.tsurugidb.mcp.server.dao.SessionPool;
 
@@ -56,9 +59,9 @@ class DdlToolTest extends TsurugiMcpTester {
 
     private void action(String transactionType) throws Exception {
         var arguments = createTestArguments();
-        try (var pool = SessionPool.create(arguments)) {
+        try (var context = TsurugiMcpContext.create(arguments)) {
             var target = new DdlTool();
-            target.initialize(createJsonMapper(), arguments, pool);
+            target.initialize(createJsonMapper(), arguments, context);
 
             var args = new HashMap<String, Object>();
             args.put(DdlTool.SQL, "create table mcp_example (pk int primary key)");
@@ -70,4 +73,26 @@ class DdlToolTest extends TsurugiMcpTester {
             assertEquals("succeeded", result);
         }
     }
+
+    @Test
+    void invalidateMetadataCache() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new DdlTool();
+            target.initialize(createJsonMapper(), arguments, context);
+            var cache = context.getMetadataCache();
+            assertFalse(cache.getTableNameList().contains("mcp_example"));
+
+            var args = new HashMap<String, Object>();
+            args.put(DdlTool.SQL, "create table mcp_example (pk int primary key)");
+            target.action(null, args);
+            assertTrue(cache.getTableNameList().contains("mcp_example"));
+            assertTrue(cache.findTableMetadata("mcp_example").isPresent());
+
+            args.put(DdlTool.SQL, "drop table mcp_example");
+            target.action(null, args);
+            assertFalse(cache.getTableNameList().contains("mcp_example"));
+            assertTrue(cache.findTableMetadata("mcp_example").isEmpty());
+        }
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.TsurugiMcpTester;
+import com.tsurugidb.mcp.server.dao.SessionPool;
+import com.tsurugidb.mcp.server.util.JsonUtil;
+
+class ExportQueryToolTest extends TsurugiMcpTester {
+
+    private static final int SIZE = 1000;
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                tm.executeDdl("drop table if exists mcp_export");
+                tm.executeDdl("""
+                        create table mcp_export (
+                          pk int primary key,
+                          value varchar(20)
+                        )
+                        """);
+                tm.executeAndGetCount("insert into mcp_export values(0, 'a,\"b\"')");
+                tm.executeAndGetCount("insert into mcp_export values(1, null)");
+                for (int i = 2; i < SIZE; i++) {
+                    tm.executeAndGetCount("insert into mcp_export values(" + i + ", 'v" + i + "')");
+                }
+            }
+        }
+    }
+
+    @Test
+    void isAvailable() {
+        var arguments = createTestArguments();
+        var target = new ExportQueryTool();
+        assertFalse(target.isAvailable(arguments));
+
+        arguments.setExportDir("/tmp");
+        assertTrue(target.isAvailable(arguments));
+    }
+
+    @Test
+    void action_csv(@TempDir Path dir) throws Exception {
+        var arguments = createTestArguments();
+        arguments.setExportDir(dir.toString());
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            var target = new ExportQueryTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(ExportQueryTool.SQL, "select * from mcp_export order by pk");
+            args.put(ExportQueryTool.FILE_NAME, "test.csv");
+            var result = target.action(null, args);
+            assertEquals(0, pool.getMetrics().leased());
+
+            var path = dir.resolve("test.csv");
+            assertEquals(path.toAbsolutePath().normalize().toString(), result.get("path"));
+            assertEquals((long) SIZE, result.get("row_count"));
+            assertEquals(Files.size(path), result.get("byte_size"));
+
+            var lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            assertEquals(SIZE + 1, lines.size());
+            assertEquals("pk,value", lines.get(0));
+            assertEquals("0,\"a,\"\"b\"\"\"", lines.get(1));
+            assertEquals("1,", lines.get(2));
+            assertEquals("999,v999", lines.get(SIZE));
+
+            // not overwritten
+            assertThrows(UncheckedIOException.class, () -> target.action(null, args));
+            try (var stream = Files.list(dir)) {
+                assertEquals(1, stream.count()); // no temporary file
+            }
+        }
+    }
+
+    @Test
+    void action_concurrent(@TempDir Path dir) throws Exception {
+        var arguments = createTestArguments();
+        arguments.setExportDir(dir.toString());
+        try (var context = TsurugiMcpContext.create(arguments); var executor = Executors.newFixedThreadPool(4)) {
+            var target = new ExportQueryTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var futureList = new ArrayList<Future<Map<String, Object>>>();
+            for (int i = 0; i < 4; i++) {
+                var args = new HashMap<String, Object>();
+                args.put(ExportQueryTool.SQL, "select * from mcp_export order by pk");
+                args.put(ExportQueryTool.FILE_NAME, "test.csv");
+                futureList.add(executor.submit(() -> target.action(null, args)));
+            }
+
+            // only one export creates the file, and the others fail without replacing it
+            int success = 0;
+            for (var future : futureList) {
+                try {
+                    future.get();
+                    success++;
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof UncheckedIOException, e.getCause().toString());
+                }
+            }
+            assertEquals(1, success);
+
+            var lines = Files.readAllLines(dir.resolve("test.csv"), StandardCharsets.UTF_8);
+            assertEquals(SIZE + 1, lines.size());
+            try (var stream = Files.list(dir)) {
+                assertEquals(1, stream.count()); // no temporary file
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void action_ndjson(@TempDir Path dir) throws Exception {
+        var arguments = createTestArguments();
+        arguments.setExportDir(dir.toString());
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new ExportQueryTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(ExportQueryTool.SQL, "select * from mcp_export where pk < :pk order by pk");
+            args.put(ExportQueryTool.PARAMETER_TYPES, Map.of("pk", "INT"));
+            args.put(ExportQueryTool.PARAMETERS, Map.of("pk", 10));
+            args.put(ExportQueryTool.FORMAT, "ndjson");
+            var result = target.action(null, args);
+            assertEquals(10L, result.get("row_count"));
+
+            var path = Path.of((String) result.get("path"));
+            assertEquals(dir.toAbsolutePath().normalize(), path.getParent());
+            assertTrue(path.getFileName().toString().endsWith(".ndjson"));
+
+            var objectMapper = JsonUtil.createObjectMapper();
+            var lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            assertEquals(10, lines.size());
+            assertEquals(Map.of("pk", 0, "value", "a,\"b\""), objectMapper.readValue(lines.get(0), Map.class));
+            var row1 = objectMapper.readValue(lines.get(1), Map.class);
+            assertTrue(row1.containsKey("value"));
+            assertEquals(null, row1.get("value"));
+        }
+    }
+
+    @Test
+    void illegalFileName(@TempDir Path dir) throws Exception {
+        var arguments = createTestArguments();
+        arguments.setExportDir(dir.toString());
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new ExportQueryTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            for (String name : new String[] { "../test.csv", "sub/test.csv", "/tmp/test.csv", ".hidden", ".." }) {
+                var args = new HashMap<String, Object>();
+                args.put(ExportQueryTool.SQL, "select * from mcp_export");
+                args.put(ExportQueryTool.FILE_NAME, name);
+                assertThrows(IllegalArgumentException.class, () -> target.action(null, args), name);
+            }
+        }
+    }
+}
@@ -22,8 +22,8 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
 import com.tsurugidb.mcp.server.TsurugiMcpTester;
-import com.tsurugidb.mcp.server.dao.SessionPool;
 import com.tsurugidb.mcp.server.entity.TableMetadata;
 
 class GetTableMetadataToolTest extends TsurugiMcpTester {
@@ -31,7 +31,8 @@ class GetTableMetadataToolTest extends TsurugiMcpTester {
     @Test
     void action() throws Exception {
         var arguments = createTestArguments();
-        try (var pool = SessionPool.create(arguments)) {
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
             try (var session = pool.getSession()) {
                 var tm = session.createTransactionManager();
                 tm.executeDdl("drop table if exists customer");
@@ -51,7 +52,7 @@ class GetTableMetadataToolTest extends TsurugiMcpTester {
             }
 
             var target = new TableMetadataTool();
-            target.initialize(createJsonMapper(), arguments, pool);
+            target.initialize(createJsonMapper(), arguments, context);
 
             var args = new HashMap<String, Object>();
             args.put(TableMetadataTool.TABLE_NAME, "customer");
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.TsurugiMcpTester;
+import com.tsurugidb.mcp.server.dao.SessionPool;
+
+class GetTablesMetadataToolTest extends TsurugiMcpTester {
+
+    private static final int SIZE = 12;
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                for (int i = 0; i < SIZE; i++) {
+                    tm.executeDdl("drop table if exists mcp_tables" + i);
+                    tm.executeDdl("""
+                            /** table %d */
+                            create table mcp_tables%d (
+                              /** key */
+                              pk int primary key,
+                              c_value varchar(10)
+                            )
+                            """.formatted(i, i));
+                }
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void action_tableNames() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            var target = new TablesMetadataTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(TablesMetadataTool.TABLE_NAMES, List.of("mcp_tables1", "mcp_not_found", "mcp_tables0"));
+            var result = target.action(null, args);
+
+            var tables = (List<Map<String, Object>>) result.get("tables");
+            assertEquals(2, tables.size());
+            var table = tables.get(0);
+            assertEquals("mcp_tables1", table.get("tableName"));
+            assertEquals("table 1", table.get("tableDescription"));
+            assertEquals(List.of("pk"), table.get("primaryKeys"));
+            var columns = (List<Map<String, Object>>) table.get("columns");
+            assertEquals(2, columns.size());
+            assertEquals("pk", columns.get(0).get("columnName"));
+            assertEquals("key", columns.get(0).get("columnDescription"));
+            assertEquals("INT", columns.get(0).get("columnType"));
+            assertFalse(columns.get(1).containsKey("columnDescription"));
+            assertEquals("mcp_tables0", tables.get(1).get("tableName"));
+
+            assertEquals(List.of("mcp_not_found"), result.get("not_found"));
+            assertEquals(0, pool.getMetrics().leased());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void action_pattern() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new TablesMetadataTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(TablesMetadataTool.PATTERN, "MCP_TABLES*");
+            args.put(TablesMetadataTool.COLUMN_FIELDS, "columnName, columnType");
+            args.put(TablesMetadataTool.PARALLELISM, "4");
+            var result = target.action(null, args);
+
+            var tables = (List<Map<String, Object>>) result.get("tables");
+            assertEquals(SIZE, tables.size());
+            for (var table : tables) {
+                var columns = (List<Map<String, Object>>) table.get("columns");
+                assertEquals(Map.of("columnName", "pk", "columnType", "INT"), columns.get(0));
+            }
+            assertNull(result.get("not_found"));
+
+            args.put(TablesMetadataTool.PATTERN, "mcp_tables?");
+            args.put(TablesMetadataTool.COLUMN_FIELDS, "none");
+            result = target.action(null, args);
+            tables = (List<Map<String, Object>>) result.get("tables");
+            assertEquals(10, tables.size());
+            assertFalse(tables.get(0).containsKey("columns"));
+
+            args.put(TablesMetadataTool.TABLE_NAMES, "mcp_tables1, mcp_tables11");
+            result = target.action(null, args);
+            tables = (List<Map<String, Object>>) result.get("tables");
+            assertEquals(1, tables.size());
+            assertEquals("mcp_tables1", tables.get(0).get("tableName"));
+        }
+    }
+
+    @Test
+    void globToPattern() {
+        var pattern = TablesMetadataTool.globToPattern("a.b*c?");
+        assertTrue(pattern.matcher("a.bXYZcd").matches());
+        assertTrue(pattern.matcher("A.Bcd").matches());
+        assertFalse(pattern.matcher("aXbcd").matches());
+        assertFalse(pattern.matcher("a.bc").matches());
+    }
+
+    @Test
+    void getColumnFields() {
+        var target = new TablesMetadataTool();
+        assertEquals(TablesMetadataTool.COLUMN_FIELD_LIST, target.getColumnFields(Map.of()));
+        assertEquals(List.of("columnName", "constraint"), target.getColumnFields(Map.of(TablesMetadataTool.COLUMN_FIELDS, "COLUMNNAME,constraint")));
+        assertEquals(List.of(), target.getColumnFields(Map.of(TablesMetadataTool.COLUMN_FIELDS, "none")));
+        assertThrows(IllegalArgumentException.class, () -> target.getColumnFields(Map.of(TablesMetadataTool.COLUMN_FIELDS, "unknown")));
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.tsurugidb.iceaxe.sql.result.TsurugiResultEntity;
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.TsurugiMcpTester;
+import com.tsurugidb.mcp.server.dao.SessionPool;
+
+class ImportFileToolTest extends TsurugiMcpTester {
+
+    private static final int SIZE = 1000;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                tm.executeDdl("drop table if exists mcp_import");
+                tm.executeDdl("""
+                        create table mcp_import (
+                          pk int primary key,
+                          name varchar(20),
+                          price decimal(10, 2),
+                          day date
+                        )
+                        """);
+            }
+        }
+    }
+
+    @Test
+    void isAvailable() {
+        var arguments = createTestArguments();
+        var target = new ImportFileTool();
+        assertFalse(target.isAvailable(arguments));
+
+        arguments.setImportDir("/tmp");
+        assertTrue(target.isAvailable(arguments));
+    }
+
+    @Test
+    void action_csv() throws Exception {
+        var sb = new StringBuilder("PK,name,price,day\r\n");
+        sb.append("0,\"a,\"\"b\"\"\nc\",1.50,2025-01-01\r\n");
+        sb.append("1,,,\r\n");
+        sb.append("2,\"\",0,2025-01-02\r\n");
+        for (int i = 3; i < SIZE; i++) {
+            sb.append(i).append(",name").append(i).append(',').append(i).append(".25,2025-02-03\r\n");
+        }
+        Files.writeString(dir.resolve("test.csv"), sb, StandardCharsets.UTF_8);
+
+        var arguments = createTestArguments();
+        arguments.setImportDir(dir.toString());
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            var target = new ImportFileTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(ImportFileTool.TABLE_NAME, "mcp_import");
+            args.put(ImportFileTool.FILE_NAME, "test.csv");
+            args.put(ImportFileTool.BATCH_SIZE, "64");
+            args.put(ImportFileTool.PARALLELISM, "3");
+            var result = target.action(null, args);
+            assertEquals((long) SIZE, result.get("inserted_rows"));
+            assertEquals((long) (SIZE + 63) / 64, result.get("batch_count"));
+            assertEquals(0, pool.getMetrics().leased());
+
+            var map = select(pool);
+            assertEquals(SIZE, map.size());
+            assertEquals("a,\"b\"\nc", map.get(0).getString("name"));
+            assertEquals(new BigDecimal("1.50"), map.get(0).getDecimal("price"));
+            assertEquals(LocalDate.of(2025, 1, 1), map.get(0).getDate("day"));
+            assertNull(map.get(1).getStringOrNull("name"));
+            assertNull(map.get(1).getDecimalOrNull("price"));
+            assertEquals("", map.get(2).getString("name"));
+            assertEquals("name999", map.get(999).getString("name"));
+        }
+    }
+
+    @Test
+    void action_ndjson() throws Exception {
+        var sb = new StringBuilder();
+        sb.append("{\"pk\": 0, \"name\": \"a\", \"price\": 1.5}\n");
+        sb.append("\n");
+        sb.append("{\"pk\": 1, \"day\": \"2025-01-01\"}\n");
+        Files.writeString(dir.resolve("test.ndjson"), sb, StandardCharsets.UTF_8);
+
+        var arguments = createTestArguments();
+        arguments.setImportDir(dir.toString());
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            var target = new ImportFileTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(ImportFileTool.TABLE_NAME, "mcp_import");
+            args.put(ImportFileTool.FILE_NAME, "test.ndjson");
+            args.put(ImportFileTool.TRANSACTION_TYPE, "LTX");
+            var result = target.action(null, args);
+            assertEquals(2L, result.get("inserted_rows"));
+
+            var map = select(pool);
+            assertEquals("a", map.get(0).getString("name"));
+            assertNull(map.get(0).getDateOrNull("day"));
+            assertNull(map.get(1).getStringOrNull("name"));
+            assertEquals(LocalDate.of(2025, 1, 1), map.get(1).getDate("day"));
+        }
+    }
+
+    @Test
+    void action_error() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setImportDir(dir.toString());
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            var target = new ImportFileTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            Files.writeString(dir.resolve("bad_value.csv"), "pk,price\n1,1.0\n2,abc\n");
+            var args = new HashMap<String, Object>();
+            args.put(ImportFileTool.TABLE_NAME, "mcp_import");
+            args.put(ImportFileTool.FILE_NAME, "bad_value.csv");
+            var e = assertThrows(IllegalArgumentException.class, () -> target.action(null, args));
+            assertTrue(e.getMessage().contains("(line 3)"), e.getMessage());
+            assertTrue(e.getMessage().contains("committed_rows=0"), e.getMessage());
+
+            Files.writeString(dir.resolve("bad_json.ndjson"), "{\"pk\": 1}\n{\"pk\": \n");
+            args.put(ImportFileTool.FILE_NAME, "bad_json.ndjson");
+            var e3 = assertThrows(UncheckedIOException.class, () -> target.action(null, args));
+            assertTrue(e3.getMessage().contains("import failed. committed_rows=0"), e3.getMessage());
+
+            Files.writeString(dir.resolve("bad_column.csv"), "pk,unknown\n1,1\n");
+            args.put(ImportFileTool.FILE_NAME, "bad_column.csv");
+            e = assertThrows(IllegalArgumentException.class, () -> target.action(null, args));
+            assertTrue(e.getMessage().contains("column not found"), e.getMessage());
+
+            // duplicate key
+            Files.writeString(dir.resolve("duplicate.csv"), "pk\n10\n10\n");
+            args.put(ImportFileTool.FILE_NAME, "duplicate.csv");
+            var e2 = assertThrows(RuntimeException.class, () -> target.action(null, args));
+            assertTrue(e2.getMessage().contains("committed_rows=0"), e2.getMessage());
+
+            args.put(ImportFileTool.FILE_NAME, "../duplicate.csv");
+            assertThrows(IllegalArgumentException.class, () -> target.action(null, args));
+
+            // names are not spliced into SQL
+            Files.writeString(dir.resolve("injection.csv"), "pk\n1\n");
+            args.put(ImportFileTool.FILE_NAME, "injection.csv");
+            args.put(ImportFileTool.TABLE_NAME, "mcp_import (pk) values (1); --");
+            e = assertThrows(IllegalArgumentException.class, () -> target.action(null, args));
+            assertTrue(e.getMessage().contains("table not found"), e.getMessage());
+            args.put(ImportFileTool.TABLE_NAME, "mcp_import");
+
+            assertEquals(0, pool.getMetrics().leased());
+        }
+    }
+
+    @Test
+    void action_singleColumn() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setImportDir(dir.toString());
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                tm.executeDdl("drop table if exists mcp_import1");
+                tm.executeDdl("create table mcp_import1 (v int)");
+            }
+            var target = new ImportFileTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            // an empty line is a null value
+            Files.writeString(dir.resolve("single.csv"), "v\n1\n\n2\n");
+            var args = new HashMap<String, Object>();
+            args.put(ImportFileTool.TABLE_NAME, "mcp_import1");
+            args.put(ImportFileTool.FILE_NAME, "single.csv");
+            var result = target.action(null, args);
+            assertEquals(3L, result.get("inserted_rows"));
+
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofRTX());
+                var list = tm.executeAndGetList("select * from mcp_import1 where v is null");
+                assertEquals(1, list.size());
+            }
+        }
+    }
+
+    @Test
+    void action_lob() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setImportDir(dir.toString());
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                tm.executeDdl("drop table if exists mcp_import_lob");
+                tm.executeDdl("create table mcp_import_lob (pk int primary key, c clob)");
+            }
+            var target = new ImportFileTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            Files.writeString(dir.resolve("lob.csv"), "pk,c\n1,abc\n");
+            var args = new HashMap<String, Object>();
+            args.put(ImportFileTool.TABLE_NAME, "mcp_import_lob");
+            args.put(ImportFileTool.FILE_NAME, "lob.csv");
+            var e = assertThrows(IllegalArgumentException.class, () -> target.action(null, args));
+            assertTrue(e.getMessage().contains("BLOB and CLOB columns cannot be imported"), e.getMessage());
+            assertEquals(0, pool.getMetrics().leased());
+        }
+    }
+
+    @Test
+    void action_parallelism() throws Exception {
+        var sb = new StringBuilder("pk\n");
+        for (int i = 0; i < SIZE; i++) {
+            sb.append(i).append('\n');
+        }
+        Files.writeString(dir.resolve("parallel.csv"), sb, StandardCharsets.UTF_8);
+
+        var arguments = createTestArguments();
+        arguments.setImportDir(dir.toString());
+        arguments.setPoolMaxSize(2);
+        arguments.setPoolAcquireTimeout(1);
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            var target = new ImportFileTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            // parallelism is capped at the free session
+            try (var session = pool.getSession()) {
+                var args = new HashMap<String, Object>();
+                args.put(ImportFileTool.TABLE_NAME, "mcp_import");
+                args.put(ImportFileTool.FILE_NAME, "parallel.csv");
+                args.put(ImportFileTool.BATCH_SIZE, "100");
+                args.put(ImportFileTool.PARALLELISM, "4");
+                var result = target.action(null, args);
+                assertEquals((long) SIZE, result.get("inserted_rows"));
+            }
+            assertEquals(0, pool.getMetrics().leased());
+        }
+    }
+
+    private static Map<Integer, TsurugiResultEntity> select(SessionPool pool) throws Exception {
+        try (var session = pool.getSession()) {
+            var tm = session.createTransactionManager(TgTxOption.ofRTX());
+            var list = tm.executeAndGetList("select * from mcp_import");
+            var map = new HashMap<Integer, TsurugiResultEntity>();
+            for (var entity : list) {
+                map.put(entity.getInt("pk"), entity);
+            }
+            return map;
+        }
+    }
+}
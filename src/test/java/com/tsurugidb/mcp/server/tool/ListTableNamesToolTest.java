@@ -22,8 +22,8 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
 import com.tsurugidb.mcp.server.TsurugiMcpTester;
-import com.tsurugidb.mcp.server.dao.SessionPool;
 import com.tsurugidb.mcp.server.tool.TableNamesTool.TableName;
 
 class ListTableNamesToolTest extends TsurugiMcpTester {
@@ -31,7 +31,8 @@ class ListTableNamesToolTest extends TsurugiMcpTester {
     @Test
     void action() throws Exception {
         var arguments = createTestArguments();
-        try (var pool = SessionPool.create(arguments)) {
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
             try (var session = pool.getSession()) {
                 var tm = session.createTransactionManager();
                 tm.executeDdl("drop table if exists mcp_test");
@@ -39,7 +40,7 @@ class ListTableNamesToolTest extends TsurugiMcpTester {
             }
 
             var target = new TableNamesTool();
-            target.initialize(createJsonMapper(), arguments, pool);
+            target.initialize(createJsonMapper(), arguments, context);
 
             var args = new HashMap<String, Object>();
             List<TableName> result = target.action(null, args);
@@ -17,13 +17,18 @@ package com.tsurugidb.mcp.server.tool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeAll;
@@ -33,9 +38,15 @@ import com.tsurugidb.iceaxe.sql.parameter.TgBindParameters;
 import com.tsurugidb.iceaxe.sql.parameter.TgBindVariables;
 import com.tsurugidb.iceaxe.sql.parameter.TgParameterMapping;
 import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
-import com.tsurugidb.mcp.server.dao.QueryUtil.QueryResult;
+import com.tsurugidb.iceaxe.util.InterruptedRuntimeException;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
 import com.tsurugidb.mcp.server.TsurugiMcpTester;
+import com.tsurugidb.mcp.server.dao.ProgressListener;
+import com.tsurugidb.mcp.server.dao.QueryUtil;
+import com.tsurugidb.mcp.server.dao.QueryUtil.QueryResult;
+import com.tsurugidb.mcp.server.dao.QueryUtil.RowFormat;
 import com.tsurugidb.mcp.server.dao.SessionPool;
+import com.tsurugidb.mcp.server.util.JsonUtil;
 
 class QueryToolTest extends TsurugiMcpTester {
 
@@ -93,9 +104,9 @@ class QueryToolTest extends TsurugiMcpTester {
 
     private void action(String transactionType) throws Exception {
         var arguments = createTestArguments();
-        try (var pool = SessionPool.create(arguments)) {
+        try (var context = TsurugiMcpContext.create(arguments)) {
             var target = new QueryTool();
-            target.initialize(createJsonMapper(), arguments, pool);
+            target.initialize(createJsonMapper(), arguments, context);
 
             String cursor;
             var list = new ArrayList<Map<String, Object>>(SIZE);
@@ -107,7 +118,7 @@ class QueryToolTest extends TsurugiMcpTester {
                 }
                 QueryResult result = target.action(null, args);
 
-                list.addAll(result.rows());
+                list.addAll(rows(result));
                 assertNull(result.serializationFailureMessage());
                 assertTrue(result.hasMoreRecord());
                 cursor = result.nextCursor();
@@ -119,7 +130,7 @@ class QueryToolTest extends TsurugiMcpTester {
                 args.put(QueryTool.CURSOR, cursor);
                 QueryResult result = target.action(null, args);
 
-                list.addAll(result.rows());
+                list.addAll(rows(result));
                 assertNull(result.serializationFailureMessage());
                 cursor = result.nextCursor();
                 if (result.hasMoreRecord()) {
@@ -132,25 +143,81 @@ class QueryToolTest extends TsurugiMcpTester {
             assertEquals(SIZE, list.size());
             int i = 1;
             for (var map : list) {
-                assertEquals((long) i, map.get("c_id"));
+                assertEquals((long) i, ((Number) map.get("c_id")).longValue());
                 assertEquals("name" + i, map.get("c_name"));
-                assertEquals(i % 100 + 1, map.get("c_age"));
+                assertEquals(i % 100 + 1, ((Number) map.get("c_age")).intValue());
+                i++;
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void action_columnar() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new QueryTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var objectMapper = JsonUtil.createObjectMapper();
+            var list = new ArrayList<List<Object>>(SIZE);
+            String cursor = null;
+            do {
+                var args = new HashMap<String, Object>();
+                if (cursor == null) {
+                    args.put(QueryTool.SQL, "select c_id, c_name from customer order by c_id");
+                    args.put(QueryTool.FORMAT, "columnar");
+                } else {
+                    args.put(QueryTool.CURSOR, cursor);
+                }
+                QueryResult result = target.action(null, args);
+
+                var map = objectMapper.readValue(result.text(), Map.class);
+                var columns = (List<Map<String, Object>>) map.get("columns");
+                assertEquals(2, columns.size());
+                assertEquals("c_id", columns.get(0).get("name"));
+                assertEquals("BIGINT", columns.get(0).get("type"));
+                assertEquals("c_name", columns.get(1).get("name"));
+                assertEquals("VARCHAR(20)", columns.get(1).get("type"));
+
+                var rows = (List<List<Object>>) map.get("rows");
+                assertEquals(result.rowCount(), rows.size());
+                list.addAll(rows);
+                cursor = result.nextCursor();
+            } while (cursor != null);
+
+            assertEquals(SIZE, list.size());
+            int i = 1;
+            for (var row : list) {
+                assertEquals((long) i, ((Number) row.get(0)).longValue());
+                assertEquals("name" + i, row.get(1));
                 i++;
             }
         }
     }
 
+    @SuppressWarnings("unchecked")
+    static List<Map<String, Object>> rows(QueryResult result) throws IOException {
+        var map = JsonUtil.createObjectMapper().readValue(result.text(), Map.class);
+        var rows = (List<Map<String, Object>>) map.get("rows");
+        assertEquals(result.rowCount(), rows.size());
+        assertEquals(result.hasMoreRecord(), map.get("hasMoreRecord"));
+        assertEquals(result.nextCursor(), map.get("nextCursor"));
+        return rows;
+    }
+
     @Test
     void action_serializationFailure() throws Exception {
         var arguments = createTestArguments();
-        try (var pool = SessionPool.create(arguments)) {
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
             try (var session = pool.getSession(); //
                     var ltx = session.createTransaction(TgTxOption.ofLTX("customer"))) {
                 ltx.getLowTransaction();
 
                 try {
                     var target = new QueryTool();
-                    target.initialize(createJsonMapper(), arguments, pool);
+                    target.initialize(createJsonMapper(), arguments, context);
 
                     var args = new HashMap<String, Object>();
                     args.put(QueryTool.SQL, "select * from customer order by c_id");
@@ -167,4 +234,319 @@ class QueryToolTest extends TsurugiMcpTester {
             }
         }
     }
+
+    @Test
+    void action_cursorMaxOpen() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setCursorMaxOpen(1);
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new QueryTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(QueryTool.SQL, "select * from customer order by c_id");
+            QueryResult result1 = target.action(null, args);
+            String cursor1 = result1.nextCursor();
+            assertNotNull(cursor1);
+
+            QueryResult result2 = target.action(null, args);
+            String cursor2 = result2.nextCursor();
+            assertNotNull(cursor2);
+
+            // cursor1 is closed by LRU eviction
+            var args1 = new HashMap<String, Object>();
+            args1.put(QueryTool.CURSOR, cursor1);
+            var e = assertThrows(RuntimeException.class, () -> target.action(null, args1));
+            assertTrue(e.getMessage().contains("not found ongoing query"), e.getMessage());
+
+            var args2 = new HashMap<String, Object>();
+            args2.put(QueryTool.CURSOR, cursor2);
+            QueryResult result = target.action(null, args2);
+            assertTrue(result.rowCount() > 0);
+        }
+    }
+
+    @Test
+    void action_prefetch() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setQueryPrefetch(true);
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new QueryTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var list = new ArrayList<Map<String, Object>>(SIZE);
+            var args = new HashMap<String, Object>();
+            args.put(QueryTool.SQL, "select * from customer order by c_id");
+            QueryResult result = target.action(null, args);
+            list.addAll(rows(result));
+            int pageCount = 1;
+            while (result.nextCursor() != null) {
+                var nextArgs = new HashMap<String, Object>();
+                nextArgs.put(QueryTool.CURSOR, result.nextCursor());
+                result = target.action(null, nextArgs);
+                list.addAll(rows(result));
+                pageCount++;
+            }
+            assertFalse(result.hasMoreRecord());
+            assertTrue(pageCount > 1);
+
+            assertEquals(SIZE, list.size());
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(i + 1, ((Number) list.get(i).get("c_id")).intValue());
+            }
+        }
+    }
+
+    @Test
+    void action_parameters() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new QueryTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            for (int id = 1; id <= 3; id++) {
+                var args = new HashMap<String, Object>();
+                args.put(QueryTool.SQL, "select * from customer where c_id = :id");
+                args.put(QueryTool.PARAMETER_TYPES, Map.of("id", "BIGINT"));
+                args.put(QueryTool.PARAMETERS, Map.of("id", id));
+                QueryResult result = target.action(null, args);
+
+                var rows = rows(result);
+                assertEquals(1, rows.size());
+                assertEquals("name" + id, rows.get(0).get("c_name"));
+            }
+
+            // JSON text
+            var args = new HashMap<String, Object>();
+            args.put(QueryTool.SQL, "select * from customer where c_id = :id");
+            args.put(QueryTool.PARAMETER_TYPES, "{\"id\": \"BIGINT\"}");
+            args.put(QueryTool.PARAMETERS, "{\"id\": 4}");
+            assertEquals("name4", rows(target.action(null, args)).get(0).get("c_name"));
+
+            var args2 = new HashMap<String, Object>();
+            args2.put(QueryTool.SQL, "select * from customer where c_id = :id");
+            args2.put(QueryTool.PARAMETERS, Map.of("id", 1));
+            assertThrows(IllegalArgumentException.class, () -> target.action(null, args2));
+        }
+    }
+
+    @Test
+    void action_parameters_statementCache() throws Exception {
+        for (int cacheSize : List.of(0, 1)) {
+            var arguments = createTestArguments();
+            arguments.setStatementCacheSize(cacheSize);
+            try (var context = TsurugiMcpContext.create(arguments)) {
+                var target = new QueryTool();
+                target.initialize(createJsonMapper(), arguments, context);
+
+                var list = new ArrayList<Map<String, Object>>(SIZE);
+                var args = new HashMap<String, Object>();
+                args.put(QueryTool.SQL, "select * from customer where c_id > :id order by c_id");
+                args.put(QueryTool.PARAMETER_TYPES, Map.of("id", "BIGINT"));
+                args.put(QueryTool.PARAMETERS, Map.of("id", 0));
+                QueryResult result = target.action(null, args);
+                list.addAll(rows(result));
+                assertTrue(result.hasMoreRecord());
+
+                // the statement of the open cursor must not be closed by another query
+                var otherArgs = new HashMap<String, Object>();
+                otherArgs.put(QueryTool.SQL, "select * from customer where c_id = :id");
+                otherArgs.put(QueryTool.PARAMETER_TYPES, Map.of("id", "BIGINT"));
+                otherArgs.put(QueryTool.PARAMETERS, Map.of("id", 1));
+                assertEquals(1, rows(target.action(null, otherArgs)).size());
+
+                String cursor = result.nextCursor();
+                while (cursor != null) {
+                    var cursorArgs = new HashMap<String, Object>();
+                    cursorArgs.put(QueryTool.CURSOR, cursor);
+                    result = target.action(null, cursorArgs);
+                    list.addAll(rows(result));
+                    cursor = result.nextCursor();
+                }
+                assertEquals(SIZE, list.size(), "cacheSize=" + cacheSize);
+            }
+        }
+    }
+
+    @Test
+    void progress() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setResponseLimitSize(1024 * 1024);
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            var target = new QueryUtil(arguments, pool, context.getLobStore(), context.getScheduler());
+
+            var phaseList = new ArrayList<String>();
+            var rowCountList = new ArrayList<Long>();
+            var listener = new ProgressListener() {
+                @Override
+                public void phase(String phase) {
+                    phaseList.add(phase);
+                }
+
+                @Override
+                public void rows(long rowCount, long byteSize) {
+                    rowCountList.add(rowCount);
+                    assertTrue(byteSize > 0);
+                }
+            };
+            QueryResult result = target.execute("select * from customer order by c_id", null, null, TgTxOption.ofRTX(), null, RowFormat.OBJECT, null, listener);
+
+            assertEquals(SIZE, result.rowCount());
+            assertEquals(List.of("executing", "reading", "committing"), phaseList);
+            assertEquals(List.of(256L), rowCountList);
+        }
+    }
+
+    @Test
+    void timeout() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setResponseLimitSize(1024 * 1024);
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            var target = new QueryUtil(arguments, pool, context.getLobStore(), context.getScheduler());
+
+            var listener = new ProgressListener() {
+                @Override
+                public void phase(String phase) {
+                    // do nothing
+                }
+
+                @Override
+                public void rows(long rowCount, long byteSize) {
+                    try {
+                        Thread.sleep(10_000); // interrupted by timeout while reading
+                    } catch (InterruptedException e) {
+                        throw new InterruptedRuntimeException(e);
+                    }
+                }
+            };
+            for (var format : List.of(RowFormat.OBJECT, RowFormat.SUMMARY)) {
+                try (var call = context.getCallRegistry().start(null, 1)) {
+                    assertThrows(InterruptedRuntimeException.class,
+                            () -> target.execute("select * from customer order by c_id", null, null, TgTxOption.ofOCC(), null, format, null, listener));
+                    assertTrue(call.isAborted());
+                }
+                assertEquals(0, pool.getMetrics().leased(), format.name());
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void action_summary() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new QueryTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(QueryTool.SQL, "select c_id, c_age, c_date from customer");
+            args.put(QueryTool.FORMAT, "summary");
+            QueryResult result = target.action(null, args);
+            assertFalse(result.hasMoreRecord());
+            assertNull(result.nextCursor());
+
+            var map = JsonUtil.createObjectMapper().readValue(result.text(), Map.class);
+            assertEquals(SIZE, ((Number) map.get("rowCount")).intValue());
+            var columns = (List<Map<String, Object>>) map.get("columns");
+            assertEquals(3, columns.size());
+
+            var id = columns.get(0);
+            assertEquals("c_id", id.get("name"));
+            assertEquals(SIZE, ((Number) id.get("count")).intValue());
+            assertEquals(0, ((Number) id.get("nulls")).intValue());
+            assertEquals(1, ((Number) id.get("min")).intValue());
+            assertEquals(SIZE, ((Number) id.get("max")).intValue());
+            long distinct = ((Number) id.get("distinct")).longValue();
+            assertTrue(Math.abs(distinct - SIZE) <= SIZE / 20, Long.toString(distinct));
+            var histogram = (List<Map<String, Object>>) id.get("histogram");
+            assertEquals(10, histogram.size());
+            assertEquals(SIZE, histogram.stream().mapToInt(bin -> ((Number) bin.get("count")).intValue()).sum());
+
+            var age = columns.get(1);
+            assertEquals(1, ((Number) age.get("min")).intValue());
+            assertEquals(100, ((Number) age.get("max")).intValue());
+            var top = (List<Map<String, Object>>) age.get("top");
+            assertEquals(10, top.size());
+
+            var date = columns.get(2);
+            assertEquals(1L, ((Number) date.get("distinct")).longValue());
+            var dateTop = (List<Map<String, Object>>) date.get("top");
+            assertEquals(List.of(Map.of("value", LocalDate.now().toString(), "count", SIZE)), dateTop);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void action_summary_limitSize() throws Exception {
+        for (int limitSize : List.of(800, 300)) {
+            var arguments = createTestArguments();
+            arguments.setResponseLimitSize(limitSize);
+            try (var context = TsurugiMcpContext.create(arguments)) {
+                var target = new QueryTool();
+                target.initialize(createJsonMapper(), arguments, context);
+
+                var args = new HashMap<String, Object>();
+                args.put(QueryTool.SQL, "select c_id, c_age, c_date from customer");
+                args.put(QueryTool.FORMAT, "summary");
+                QueryResult result = target.action(null, args);
+                assertTrue(result.text().length() < limitSize, result.text());
+
+                var map = JsonUtil.createObjectMapper().readValue(result.text(), Map.class);
+                assertEquals(SIZE, ((Number) map.get("rowCount")).intValue());
+                var columns = (List<Map<String, Object>>) map.get("columns");
+                assertFalse(columns.isEmpty());
+                for (var column : columns) {
+                    assertEquals(true, column.get("detailOmitted"));
+                    assertNull(column.get("histogram"));
+                    assertNull(column.get("top"));
+                }
+                var omitted = (Number) map.get("omittedColumns");
+                if (limitSize == 800) {
+                    assertEquals(3, columns.size());
+                    assertNull(omitted);
+                } else {
+                    assertTrue(columns.size() < 3);
+                    assertEquals(3, columns.size() + omitted.intValue());
+                }
+            }
+        }
+    }
+
+    @Test
+    void coalesceKey() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new QueryTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args1 = new HashMap<String, Object>();
+            args1.put(QueryTool.SQL, "select * from customer where c_id = :id and c_name = :name");
+            args1.put(QueryTool.PARAMETER_TYPES, new LinkedHashMap<>(Map.of("id", "INT")));
+            args1.put(QueryTool.PARAMETERS, new LinkedHashMap<>(Map.of("id", 1)));
+            args1.put(AbstractTool.TIMEOUT, "10");
+            String key1 = target.coalesceKey(args1);
+            assertNotNull(key1);
+
+            var args2 = new LinkedHashMap<String, Object>();
+            args2.put(QueryTool.PARAMETERS, Map.of("id", 1));
+            args2.put(QueryTool.PARAMETER_TYPES, Map.of("id", "INT"));
+            args2.put(QueryTool.SQL, "select * from customer where c_id = :id and c_name = :name");
+            args2.put(QueryTool.TRANSACTION_TYPE, "rtx");
+            assertNotEquals(key1, target.coalesceKey(args2));
+            args2.remove(QueryTool.TRANSACTION_TYPE);
+            assertEquals(key1, target.coalesceKey(args2));
+
+            args2.put(QueryTool.TRANSACTION_TYPE, "OCC");
+            assertNull(target.coalesceKey(args2));
+            args2.remove(QueryTool.TRANSACTION_TYPE);
+            args2.put(QueryTool.CURSOR, "query1");
+            assertNull(target.coalesceKey(args2));
+
+            assertTrue(target.isShareable(new QueryResult("{}", 0, false, null, null, 0, false)));
+            assertFalse(target.isShareable(new QueryResult("{}", 1, true, "query1", null, 0, false)));
+            assertFalse(target.isShareable(new QueryResult("{}", 1, false, null, null, 0, true)));
+        }
+    }
 }
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.TsurugiMcpTester;
+import com.tsurugidb.mcp.server.dao.LobStore;
+import com.tsurugidb.mcp.server.dao.LobStore.LobChunk;
+import com.tsurugidb.mcp.server.dao.QueryUtil.QueryResult;
+import com.tsurugidb.mcp.server.dao.SessionPool;
+import com.tsurugidb.mcp.server.util.JsonUtil;
+
+class ReadLobToolTest extends TsurugiMcpTester {
+
+    private static final String TEXT = "abcあいうえお123かきくけこ";
+    /** 2 bytes per character when escaped as a JSON string */
+    private static final String QUOTED_TEXT = "\"".repeat(1000);
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                tm.executeDdl("drop table if exists lob_example");
+                tm.executeDdl("""
+                        create table lob_example (
+                          pk int primary key,
+                          c clob
+                        )
+                        """);
+                tm.executeAndGetCount("insert into lob_example values(1, cast('" + TEXT + "' as clob))");
+                tm.executeAndGetCount("insert into lob_example values(2, cast('' as clob))");
+                tm.executeAndGetCount("insert into lob_example values(3, cast('" + QUOTED_TEXT + "' as clob))");
+            }
+        }
+    }
+
+    @Test
+    void action() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var queryTool = new QueryTool();
+            queryTool.initialize(createJsonMapper(), arguments, context);
+            var target = new ReadLobTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var queryArgs = new HashMap<String, Object>();
+            queryArgs.put(QueryTool.SQL, "select c from lob_example where pk=1");
+            QueryResult result = queryTool.action(null, queryArgs);
+            var lob = lobHandle(result);
+            assertEquals(LobStore.TYPE_CLOB, lob.get("type"));
+            String handle = (String) lob.get("lobHandle");
+
+            // small chunks must not split a character
+            for (int length = 1; length <= 4; length++) {
+                var sb = new StringBuilder();
+                long offset = 0;
+                for (;;) {
+                    var args = new HashMap<String, Object>();
+                    args.put(ReadLobTool.LOB_HANDLE, handle);
+                    args.put(ReadLobTool.OFFSET, Long.toString(offset));
+                    args.put(ReadLobTool.LENGTH, Integer.toString(length));
+                    var chunk = (LobChunk) target.action(null, args);
+                    assertTrue(chunk.length() > 0);
+                    assertFalse(chunk.data().contains("\uFFFD"), chunk.data());
+                    sb.append(chunk.data());
+                    offset = chunk.nextOffset();
+                    if (!chunk.hasMore()) {
+                        break;
+                    }
+                }
+                assertEquals(TEXT, sb.toString(), "length=" + length);
+
+                // read at the end
+                var args = new HashMap<String, Object>();
+                args.put(ReadLobTool.LOB_HANDLE, handle);
+                args.put(ReadLobTool.OFFSET, Long.toString(offset));
+                args.put(ReadLobTool.LENGTH, Integer.toString(length));
+                var chunk = (LobChunk) target.action(null, args);
+                assertEquals("", chunk.data());
+                assertEquals(0, chunk.length());
+                assertFalse(chunk.hasMore());
+                assertEquals(offset, chunk.nextOffset());
+            }
+
+            // offset in the middle of a character
+            {
+                var args = new HashMap<String, Object>();
+                args.put(ReadLobTool.LOB_HANDLE, handle);
+                args.put(ReadLobTool.OFFSET, "4"); // the second byte of "あ"
+                var e = assertThrows(IllegalArgumentException.class, () -> target.action(null, args));
+                assertTrue(e.getMessage().contains("middle of a character"), e.getMessage());
+            }
+
+            var args = new HashMap<String, Object>();
+            args.put(ReadLobTool.LOB_HANDLE, handle);
+            args.put(ReadLobTool.RELEASE, "true");
+            var chunk = (LobChunk) target.action(null, args);
+            assertEquals(TEXT, chunk.data());
+            assertFalse(chunk.hasMore());
+
+            var e = assertThrows(IllegalArgumentException.class, () -> target.action(null, args));
+            assertTrue(e.getMessage().contains("not found LOB"), e.getMessage());
+        }
+    }
+
+    @Test
+    void action_empty() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var queryTool = new QueryTool();
+            queryTool.initialize(createJsonMapper(), arguments, context);
+            var target = new ReadLobTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var queryArgs = new HashMap<String, Object>();
+            queryArgs.put(QueryTool.SQL, "select c from lob_example where pk=2");
+            QueryResult result = queryTool.action(null, queryArgs);
+            var lob = lobHandle(result);
+            assertEquals(0, ((Number) lob.get("size")).intValue());
+
+            var args = new HashMap<String, Object>();
+            args.put(ReadLobTool.LOB_HANDLE, lob.get("lobHandle"));
+            var chunk = (LobChunk) target.action(null, args);
+            assertEquals("", chunk.data());
+            assertEquals(0, chunk.length());
+            assertFalse(chunk.hasMore());
+            assertEquals(0, chunk.nextOffset());
+        }
+    }
+
+    @Test
+    void action_escaped() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setResponseLimitSize(1024);
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var queryTool = new QueryTool();
+            queryTool.initialize(createJsonMapper(), arguments, context);
+            var target = new ReadLobTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var queryArgs = new HashMap<String, Object>();
+            queryArgs.put(QueryTool.SQL, "select c from lob_example where pk=3");
+            QueryResult result = queryTool.action(null, queryArgs);
+            var lob = lobHandle(result);
+
+            var objectMapper = JsonUtil.createObjectMapper();
+            var sb = new StringBuilder();
+            long offset = 0;
+            for (;;) {
+                var args = new HashMap<String, Object>();
+                args.put(ReadLobTool.LOB_HANDLE, lob.get("lobHandle"));
+                args.put(ReadLobTool.OFFSET, Long.toString(offset));
+                var chunk = (LobChunk) target.action(null, args);
+                String escaped = objectMapper.writeValueAsString(chunk.data());
+                assertTrue(escaped.length() - 2 <= 1024, "length=" + escaped.length());
+                sb.append(chunk.data());
+                offset = chunk.nextOffset();
+                if (!chunk.hasMore()) {
+                    break;
+                }
+            }
+            assertEquals(QUOTED_TEXT, sb.toString());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> lobHandle(QueryResult result) throws Exception {
+        var map = JsonUtil.createObjectMapper().readValue(result.text(), Map.class);
+        var rows = (List<Map<String, Object>>) map.get("rows");
+        assertEquals(1, rows.size());
+        return (Map<String, Object>) rows.get(0).get("c");
+    }
+}
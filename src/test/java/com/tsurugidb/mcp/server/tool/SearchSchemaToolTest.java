@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.TsurugiMcpTester;
+import com.tsurugidb.mcp.server.dao.SessionPool;
+
+class SearchSchemaToolTest extends TsurugiMcpTester {
+
+    @BeforeAll
+    static void beforeAll() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                tm.executeDdl("drop table if exists mcp_search_customer");
+                tm.executeDdl("""
+                        /** customer master */
+                        create table mcp_search_customer (
+                          c_id bigint primary key,
+                          /** customer name */
+                          c_name varchar(20),
+                          /** mailing address */
+                          c_address varchar(100)
+                        )
+                        """);
+                tm.executeDdl("drop table if exists mcp_search_orders");
+                tm.executeDdl("""
+                        create table mcp_search_orders (
+                          o_id bigint primary key,
+                          /** ordering customer */
+                          o_customer_id bigint,
+                          shipAddress varchar(100)
+                        )
+                        """);
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void action() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new SearchSchemaTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(SearchSchemaTool.QUERY, "custmer adress"); // typo
+            var result = target.action(null, args);
+
+            var tables = (List<Map<String, Object>>) result.get("tables");
+            assertEquals("mcp_search_customer", tables.get(0).get("tableName"));
+            assertEquals("customer master", tables.get(0).get("tableDescription"));
+            var columns = (List<Map<String, Object>>) tables.get(0).get("matchedColumns");
+            assertEquals(List.of("c_name", "c_address"), columns.stream().map(c -> c.get("columnName")).toList());
+            assertEquals("mcp_search_orders", tables.get(1).get("tableName"));
+
+            args.put(SearchSchemaTool.QUERY, "SHIPADDRESS");
+            args.put(SearchSchemaTool.LIMIT, "1");
+            result = target.action(null, args);
+            tables = (List<Map<String, Object>>) result.get("tables");
+            assertEquals(1, tables.size());
+            assertEquals("mcp_search_orders", tables.get(0).get("tableName"));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refresh() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new SearchSchemaTool();
+            target.initialize(createJsonMapper(), arguments, context);
+            var ddl = new DdlTool();
+            ddl.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(SearchSchemaTool.QUERY, "mcp_search_new");
+            var result = target.action(null, args);
+            var tables = (List<Map<String, Object>>) result.get("tables");
+            assertTrue(tables.stream().noneMatch(t -> t.get("tableName").equals("mcp_search_new")));
+
+            var ddlArgs = new HashMap<String, Object>();
+            ddlArgs.put(DdlTool.SQL, "drop table if exists mcp_search_new");
+            ddl.action(null, ddlArgs);
+            ddlArgs.put(DdlTool.SQL, "create table mcp_search_new (pk int primary key)");
+            ddl.action(null, ddlArgs);
+            try {
+                // rebuilt in background
+                long deadline = System.nanoTime() + 10_000_000_000L;
+                do {
+                    Thread.sleep(50);
+                    result = target.action(null, args);
+                    tables = (List<Map<String, Object>>) result.get("tables");
+                } while (tables.stream().noneMatch(t -> t.get("tableName").equals("mcp_search_new")) && System.nanoTime() < deadline);
+                assertEquals("mcp_search_new", tables.get(0).get("tableName"));
+
+                // recreated with different columns
+                ddlArgs.put(DdlTool.SQL, "drop table mcp_search_new");
+                ddl.action(null, ddlArgs);
+                ddlArgs.put(DdlTool.SQL, "create table mcp_search_new (pk int primary key, mcp_recreated_value int)");
+                ddl.action(null, ddlArgs);
+                var recreatedArgs = new HashMap<String, Object>();
+                recreatedArgs.put(SearchSchemaTool.QUERY, "mcp_recreated_value");
+                deadline = System.nanoTime() + 10_000_000_000L;
+                do {
+                    Thread.sleep(50);
+                    result = target.action(null, recreatedArgs);
+                    tables = (List<Map<String, Object>>) result.get("tables");
+                } while (tables.stream().noneMatch(t -> t.get("tableName").equals("mcp_search_new")) && System.nanoTime() < deadline);
+                assertEquals("mcp_search_new", tables.get(0).get("tableName"));
+            } finally {
+                ddlArgs.put(DdlTool.SQL, "drop table mcp_search_new");
+                ddl.action(null, ddlArgs);
+            }
+        }
+    }
+
+    @Test
+    void illegalArguments() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new SearchSchemaTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            assertThrows(IllegalArgumentException.class, () -> target.action(null, Map.of()));
+            assertThrows(IllegalArgumentException.class, () -> target.action(null, Map.of(SearchSchemaTool.QUERY, "a", SearchSchemaTool.LIMIT, "0")));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.tool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.Arguments;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
+import com.tsurugidb.mcp.server.TsurugiMcpTester;
+import com.tsurugidb.mcp.server.dao.QueryUtil.QueryResult;
+import com.tsurugidb.mcp.server.dao.SessionPool;
+
+class TransactionToolTest extends TsurugiMcpTester {
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                tm.executeDdl("drop table if exists mcp_tx");
+                tm.executeDdl("""
+                        create table mcp_tx (
+                          pk int primary key,
+                          value bigint
+                        )
+                        """);
+                tm.executeAndGetCount("insert into mcp_tx values(1, 10)");
+            }
+        }
+    }
+
+    @Test
+    void commit() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            String handle = begin(arguments, context);
+
+            // read-modify-write in one transaction
+            var query = new QueryTool();
+            query.initialize(createJsonMapper(), arguments, context);
+            var queryArgs = new HashMap<String, Object>();
+            queryArgs.put(QueryTool.SQL, "select value from mcp_tx where pk=1");
+            queryArgs.put(QueryTool.TRANSACTION_HANDLE, handle);
+            QueryResult result = query.action(null, queryArgs);
+            var rows = QueryToolTest.rows(result);
+            assertEquals(10, ((Number) rows.get(0).get("value")).intValue());
+
+            update(arguments, context, handle, "update mcp_tx set value=value+1 where pk=1");
+            update(arguments, context, handle, "insert into mcp_tx values(2, 20)");
+
+            var target = new CommitTool();
+            target.initialize(createJsonMapper(), arguments, context);
+            assertEquals("succeeded", target.action(null, Map.of(CommitTool.TRANSACTION_HANDLE, handle)));
+
+            assertEquals(Map.of(1, 11L, 2, 20L), select());
+            assertEquals(0, pool.getMetrics().leased()); // the session is returned to the pool
+
+            // ended
+            var e = assertThrows(IllegalArgumentException.class, () -> target.action(null, Map.of(CommitTool.TRANSACTION_HANDLE, handle)));
+            assertTrue(e.getMessage().contains("not found transaction"), e.getMessage());
+        }
+    }
+
+    @Test
+    void rollback() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            String handle = begin(arguments, context);
+            update(arguments, context, handle, "update mcp_tx set value=99 where pk=1");
+
+            var target = new RollbackTool();
+            target.initialize(createJsonMapper(), arguments, context);
+            assertEquals("succeeded", target.action(null, Map.of(RollbackTool.TRANSACTION_HANDLE, handle)));
+
+            assertEquals(Map.of(1, 10L), select());
+        }
+    }
+
+    @Test
+    void idleTimeout() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setTransactionIdleTimeout(1);
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            String handle = begin(arguments, context);
+            update(arguments, context, handle, "update mcp_tx set value=99 where pk=1");
+
+            Thread.sleep(3000);
+
+            var target = new CommitTool();
+            target.initialize(createJsonMapper(), arguments, context);
+            var e = assertThrows(IllegalArgumentException.class, () -> target.action(null, Map.of(CommitTool.TRANSACTION_HANDLE, handle)));
+            assertTrue(e.getMessage().contains("not found transaction"), e.getMessage());
+
+            assertEquals(Map.of(1, 10L), select());
+        }
+    }
+
+    @Test
+    void commit_cursor() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setResponseLimitSize(160); // one row per page
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var pool = context.getPool();
+            String handle = begin(arguments, context);
+            for (int i = 2; i <= 5; i++) {
+                update(arguments, context, handle, "insert into mcp_tx values(" + i + ", " + i * 10 + ")");
+            }
+
+            var query = new QueryTool();
+            query.initialize(createJsonMapper(), arguments, context);
+            var queryArgs = new HashMap<String, Object>();
+            queryArgs.put(QueryTool.SQL, "select * from mcp_tx order by pk");
+            queryArgs.put(QueryTool.TRANSACTION_HANDLE, handle);
+            QueryResult result = query.action(null, queryArgs);
+            assertTrue(result.hasMoreRecord());
+
+            // the ongoing query is closed by commit
+            var target = new CommitTool();
+            target.initialize(createJsonMapper(), arguments, context);
+            assertEquals("succeeded", target.action(null, Map.of(CommitTool.TRANSACTION_HANDLE, handle)));
+            assertEquals(0, pool.getMetrics().leased());
+
+            var e = assertThrows(IllegalArgumentException.class, () -> query.action(null, Map.of(QueryTool.CURSOR, result.nextCursor())));
+            assertTrue(e.getMessage().contains("not found transaction"), e.getMessage());
+            assertEquals(5, select().size());
+        }
+    }
+
+    @Test
+    void idleTimeout_inUse() throws Exception {
+        var arguments = createTestArguments();
+        arguments.setTransactionIdleTimeout(1);
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            String handle = begin(arguments, context);
+
+            // a transaction used by a long call is not rolled back
+            var pinned = context.getTransactionRegistry().get(handle);
+            pinned.acquire();
+            try {
+                Thread.sleep(3000);
+                update(arguments, context, handle, "update mcp_tx set value=99 where pk=1");
+            } finally {
+                pinned.release();
+            }
+
+            var target = new CommitTool();
+            target.initialize(createJsonMapper(), arguments, context);
+            assertEquals("succeeded", target.action(null, Map.of(CommitTool.TRANSACTION_HANDLE, handle)));
+
+            assertEquals(Map.of(1, 99L), select());
+        }
+    }
+
+    private static String begin(Arguments arguments, TsurugiMcpContext context) throws Exception {
+        var target = new BeginTransactionTool();
+        target.initialize(createJsonMapper(), arguments, context);
+        var result = target.action(null, Map.of());
+        String handle = result.get(BeginTransactionTool.TRANSACTION_HANDLE);
+        assertNotNull(handle);
+        return handle;
+    }
+
+    private static void update(Arguments arguments, TsurugiMcpContext context, String handle, String sql) throws Exception {
+        var target = new UpdateTool();
+        target.initialize(createJsonMapper(), arguments, context);
+        var args = new HashMap<String, Object>();
+        args.put(UpdateTool.SQL, sql);
+        args.put(UpdateTool.TRANSACTION_HANDLE, handle);
+        var result = target.action(null, args);
+        assertEquals(1L, result.values().iterator().next());
+    }
+
+    private static Map<Integer, Long> select() throws Exception {
+        var arguments = createTestArguments();
+        try (var pool = SessionPool.create(arguments)) {
+            try (var session = pool.getSession()) {
+                var tm = session.createTransactionManager(TgTxOption.ofOCC());
+                var map = new HashMap<Integer, Long>();
+                for (var entity : tm.executeAndGetList("select * from mcp_tx")) {
+                    map.put(entity.getInt("pk"), entity.getLong("value"));
+                }
+                return map;
+            }
+        }
+    }
+}
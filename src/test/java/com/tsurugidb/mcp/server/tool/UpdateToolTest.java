@@ -24,6 +24,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import com.tsurugidb.iceaxe.transaction.option.TgTxOption;
+import com.tsurugidb.mcp.server.TsurugiMcpContext;
 import com.tsurugidb.mcp.server.TsurugiMcpTester;
 import com.tsurugidb.mcp.server.dao.SessionPool;
 
@@ -52,9 +53,9 @@ class UpdateToolTest extends TsurugiMcpTester {
     @Test
     void action() throws Exception {
         var arguments = createTestArguments();
-        try (var pool = SessionPool.create(arguments)) {
+        try (var context = TsurugiMcpContext.create(arguments)) {
             var target = new UpdateTool();
-            target.initialize(createJsonMapper(), arguments, pool);
+            target.initialize(createJsonMapper(), arguments, context);
 
             var args = new HashMap<String, Object>();
             args.put(UpdateTool.SQL, "update mcp_example set value=111 where pk=1");
@@ -68,9 +69,9 @@ class UpdateToolTest extends TsurugiMcpTester {
     @Test
     void action_OCC() throws Exception {
         var arguments = createTestArguments();
-        try (var pool = SessionPool.create(arguments)) {
+        try (var context = TsurugiMcpContext.create(arguments)) {
             var target = new UpdateTool();
-            target.initialize(createJsonMapper(), arguments, pool);
+            target.initialize(createJsonMapper(), arguments, context);
 
             var args = new HashMap<String, Object>();
             args.put(UpdateTool.SQL, "update mcp_example set value=222 where pk=2");
@@ -85,9 +86,9 @@ class UpdateToolTest extends TsurugiMcpTester {
     @Test
     void action_LTX() throws Exception {
         var arguments = createTestArguments();
-        try (var pool = SessionPool.create(arguments)) {
+        try (var context = TsurugiMcpContext.create(arguments)) {
             var target = new UpdateTool();
-            target.initialize(createJsonMapper(), arguments, pool);
+            target.initialize(createJsonMapper(), arguments, context);
 
             var args = new HashMap<String, Object>();
             args.put(UpdateTool.SQL, "update mcp_example set value=333 where pk=3");
@@ -100,6 +101,29 @@ class UpdateToolTest extends TsurugiMcpTester {
         }
     }
 
+    @Test
+    void action_parameters() throws Exception {
+        var arguments = createTestArguments();
+        try (var context = TsurugiMcpContext.create(arguments)) {
+            var target = new UpdateTool();
+            target.initialize(createJsonMapper(), arguments, context);
+
+            var args = new HashMap<String, Object>();
+            args.put(UpdateTool.SQL, "update mcp_example set value=:value where pk=:pk");
+            args.put(UpdateTool.PARAMETER_TYPES, Map.of("pk", "INT", "value", "BIGINT"));
+            args.put(UpdateTool.PARAMETERS, Map.of("pk", 1, "value", 1111));
+            Map<String, Long> result = target.action(null, args);
+
+            assertEquals(Map.of("updated_rows", 1L), result);
+            assertSelect(1, 1111);
+
+            args.put(UpdateTool.PARAMETERS, Map.of("pk", 1, "value", 11));
+            result = target.action(null, args);
+            assertEquals(Map.of("updated_rows", 1L), result);
+            assertSelect(1, 11);
+        }
+    }
+
     private static void assertSelect(int pk, int value) throws Exception {
         var arguments = createTestArguments();
         try (var pool = SessionPool.create(arguments)) {
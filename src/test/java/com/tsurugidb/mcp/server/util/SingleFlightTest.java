@@ -0,0 +1,157 @@
+/*
+ * Copyright 2025-2026 Project Tsurugi.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.tsurugidb.mcp.server.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    void shared() throws Exception {
+        var target = new SingleFlight<String, Object>();
+        var counter = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var futureList = new ArrayList<Future<Object>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            futureList.add(executor.submit(() -> target.execute("key", () -> {
+                counter.incrementAndGet();
+                started.countDown();
+                release.await();
+                return new Object();
+            }, result -> true)));
+            started.await();
+            for (int i = 1; i < THREADS; i++) {
+                futureList.add(executor.submit(() -> target.execute("key", () -> {
+                    counter.incrementAndGet();
+                    return new Object();
+                }, result -> true)));
+            }
+            waitForWaiters();
+            release.countDown();
+
+            Object first = futureList.get(0).get();
+            for (var future : futureList) {
+                assertSame(first, future.get());
+            }
+        }
+        assertEquals(1, counter.get());
+        assertEquals(0, target.size());
+
+        // not in flight
+        assertEquals("next", target.execute("key", () -> "next", result -> true));
+    }
+
+    @Test
+    void notShareable() throws Exception {
+        var target = new SingleFlight<String, Integer>();
+        var counter = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var futureList = new ArrayList<Future<Integer>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            futureList.add(executor.submit(() -> target.execute("key", () -> {
+                started.countDown();
+                release.await();
+                return counter.incrementAndGet();
+            }, result -> false)));
+            started.await();
+            for (int i = 1; i < THREADS; i++) {
+                futureList.add(executor.submit(() -> target.execute("key", counter::incrementAndGet, result -> false)));
+            }
+            waitForWaiters();
+            release.countDown();
+
+            for (var future : futureList) {
+                future.get();
+            }
+        }
+        assertEquals(THREADS, counter.get());
+    }
+
+    @Test
+    void error() throws Exception {
+        var target = new SingleFlight<String, Object>();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var futureList = new ArrayList<Future<Object>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            futureList.add(executor.submit(() -> target.execute("key", () -> {
+                started.countDown();
+                release.await();
+                throw new IllegalArgumentException("test error");
+            }, result -> true)));
+            started.await();
+            for (int i = 1; i < THREADS; i++) {
+                futureList.add(executor.submit(() -> target.execute("key", () -> "not shared", result -> true)));
+            }
+            waitForWaiters();
+            release.countDown();
+
+            for (var future : futureList) {
+                var e = assertThrows(ExecutionException.class, () -> future.get());
+                assertEquals("test error", e.getCause().getMessage());
+            }
+        }
+    }
+
+    @Test
+    void interrupted() throws Exception {
+        var target = new SingleFlight<String, Object>();
+        var started = new CountDownLatch(1);
+
+        var futureList = new ArrayList<Future<Object>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var leader = executor.submit(() -> target.execute("key", () -> {
+                started.countDown();
+                TimeUnit.MINUTES.sleep(1);
+                return "leader";
+            }, result -> true));
+            started.await();
+            for (int i = 1; i < THREADS; i++) {
+                futureList.add(executor.submit(() -> target.execute("key", () -> "follower", result -> true)));
+            }
+            waitForWaiters();
+            leader.cancel(true);
+
+            for (var future : futureList) {
+                assertEquals("follower", future.get());
+            }
+        }
+    }
+
+    private static void waitForWaiters() throws InterruptedException {
+        // the followers are blocked in SingleFlight.execute()
+        Thread.sleep(200);
+    }
+}